@@ -0,0 +1,30 @@
+package br.com.memelandia.categoria_service.config;
+
+import br.com.memelandia.comum.resposta.RespostasSerializadas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Cache das páginas da listagem de categorias já serializadas. A chave inclui a versão do
+ * VersaoCategorias, então toda criação ou remoção passa a usar chaves novas e as páginas
+ * antigas saem pelo limite de bytes ou pela validade.
+ *
+ * @author rramirez
+ */
+
+@Configuration
+public class RespostasConfig {
+
+    @Bean
+    public RespostasSerializadas<String> respostasSerializadas(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                                               @Value("${memelandia.resposta.cache.tamanho-maximo:16MB}") DataSize tamanhoMaximo,
+                                                               @Value("${memelandia.resposta.cache.validade:10m}") Duration validade) {
+        return new RespostasSerializadas<>(objectMapper, meterRegistry, "categoria.resposta.cache", tamanhoMaximo, validade);
+    }
+}
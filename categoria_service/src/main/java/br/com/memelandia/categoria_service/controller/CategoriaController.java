@@ -1,15 +1,36 @@
 package br.com.memelandia.categoria_service.controller;
 
-import br.com.memelandia.categoria_service.domain.Categoria;
 import br.com.memelandia.categoria_service.dto.CategoriaDTO;
+import br.com.memelandia.categoria_service.dto.CategoriaRespostaDTO;
+import br.com.memelandia.categoria_service.dto.ItemLoteDTO;
 import br.com.memelandia.categoria_service.service.CategoriaService;
+import br.com.memelandia.categoria_service.service.VersaoCategorias;
+import br.com.memelandia.comum.paginacao.Pagina;
+import br.com.memelandia.comum.resposta.RespostasSerializadas;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -21,21 +42,67 @@ import java.util.UUID;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final VersaoCategorias versaoCategorias;
+    private final RespostasSerializadas<String> respostasSerializadas;
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheListagem;
 
-    public CategoriaController(CategoriaService categoriaService){
+    public CategoriaController(CategoriaService categoriaService, VersaoCategorias versaoCategorias,
+                               RespostasSerializadas<String> respostasSerializadas, ContentNegotiationManager contentNegotiationManager,
+                               ObjectMapper objectMapper,
+                               @Value("${memelandia.http.cache.max-age:10s}") Duration maxAge){
         this.categoriaService = categoriaService;
+        this.versaoCategorias = versaoCategorias;
+        this.respostasSerializadas = respostasSerializadas;
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.objectMapper = objectMapper;
+        this.cacheListagem = CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
     }
 
-    @Operation(summary = "Listar", description = "Listar todas as categorias")
+    /**
+     * A versão é lida antes da página, então a ETag nunca é mais nova que o conteúdo. Com
+     * If-None-Match igual à versão atual, no mesmo formato, a resposta é 304, sem consultar a
+     * tabela categoria; sem ele, a página da mesma versão sai do cache de páginas já
+     * serializadas no formato pedido pelo Accept (JSON, Smile ou CBOR).
+     */
+    @Operation(summary = "Listar", description = "Listar categorias, paginadas por cursor, com ETag e Cache-Control")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Pagina.class)))
     @GetMapping
-    public ResponseEntity<List<Categoria>> ListarTodaCategoria(){
-        return ResponseEntity.ok(categoriaService.listarTodasCategorias());
+    public ResponseEntity<?> ListarTodaCategoria(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "50") int limite,
+                                                 NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        MediaType formato = RespostasSerializadas.formato(request, contentNegotiationManager);
+        String versao = versaoCategorias.atual();
+        String etag = RespostasSerializadas.etag(versao, formato);
+        if (request.checkNotModified(etag)) {
+            // checkNotModified já gravou a ETag na resposta.
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheListagem)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        try {
+            // Limites acima do máximo devolvem a mesma página; a chave usa o limite efetivo.
+            int limiteEfetivo = CategoriaService.limiteDaPagina(limite);
+            byte[] pagina = respostasSerializadas.obter(versao + "|" + cursor + "|" + limiteEfetivo, formato,
+                    () -> categoriaService.listarTodasCategorias(cursor, limiteEfetivo));
+            return ResponseEntity.ok().eTag(etag).cacheControl(cacheListagem).varyBy(HttpHeaders.ACCEPT)
+                    .contentType(formato).body(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Transmitir", description = "Transmitir todas as categorias em NDJSON, uma por linha")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirTodasCategorias(){
+        StreamingResponseBody corpo = saida -> categoriaService.transmitirTodasCategorias(item -> escreverLinha(saida, item));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
     }
 
     @Operation(summary = "Criar", description = "Criar categoria de meme")
     @PostMapping
     public ResponseEntity<?> criarCategoria(@RequestBody CategoriaDTO categoriaDTO){
-        Optional<Categoria> novoCategoria = categoriaService.criarCategoria(categoriaDTO);
+        Optional<CategoriaRespostaDTO> novoCategoria = categoriaService.criarCategoria(categoriaDTO);
         if (novoCategoria.isPresent()){
             return ResponseEntity.status(HttpStatus.CREATED).body(novoCategoria.get());
         } else {
@@ -43,10 +110,32 @@ public class CategoriaController {
         }
     }
 
+    @Operation(summary = "Criar em lote", description = "Criar várias categorias de meme, com um resultado por item")
+    @PostMapping("/batch")
+    public ResponseEntity<?> criarCategoriasEmLote(@RequestBody List<CategoriaDTO> categoriasDTO){
+        try {
+            List<ItemLoteDTO> resultados = categoriaService.criarCategoriasEmLote(categoriasDTO);
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Verificar existência", description = "Recebe uma lista de nomes e devolve apenas os que existem")
+    @PostMapping("/exists")
+    public ResponseEntity<?> verificarCategoriasExistentes(@RequestBody List<String> nomes){
+        try {
+            Set<String> existentes = categoriaService.verificarCategoriasExistentes(nomes);
+            return ResponseEntity.ok(existentes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @Operation(summary = "Buscar por Id", description = "Buscar categoria por Id")
     @GetMapping("/{id}")
-    public ResponseEntity<Categoria> buscarCategoriaPorId(@PathVariable UUID id){
-        Optional<Categoria> categoria = categoriaService.buscarCategoriaPorID(id);
+    public ResponseEntity<CategoriaRespostaDTO> buscarCategoriaPorId(@PathVariable UUID id){
+        Optional<CategoriaRespostaDTO> categoria = categoriaService.buscarCategoriaPorID(id);
 
         if(categoria.isPresent()){
             return ResponseEntity.ok(categoria.get());
@@ -57,8 +146,8 @@ public class CategoriaController {
 
     @Operation(summary = "Buscar por Nome", description = "Buscar categoria por nome")
     @GetMapping("/nome/{nome}")
-    public ResponseEntity<Categoria> buscarCategoriaPorNome(@PathVariable String nome){
-        Optional<Categoria> categoria = categoriaService.buscarCategoriaPorNome(nome);
+    public ResponseEntity<CategoriaRespostaDTO> buscarCategoriaPorNome(@PathVariable String nome){
+        Optional<CategoriaRespostaDTO> categoria = categoriaService.buscarCategoriaPorNome(nome);
 
         if(categoria.isPresent()){
             return ResponseEntity.ok(categoria.get());
@@ -90,4 +179,13 @@ public class CategoriaController {
                     .body("Categoria não encontrada para exclusão");
         }
     }
+
+    private void escreverLinha(OutputStream saida, Object item) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(item));
+            saida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
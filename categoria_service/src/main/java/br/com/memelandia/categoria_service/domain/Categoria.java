@@ -15,7 +15,7 @@ import java.util.UUID;
  */
 
 @Entity
-@Table(name = "categoria")
+@Table(name = "categoria", indexes = @Index(name = "idx_categoria_data_cadastro_id", columnList = "data_categoria, id"))
 public class Categoria {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -23,7 +23,7 @@ public class Categoria {
     private UUID id;
 
     @NotBlank(message = "Nome da Categória é obrigatório")
-    @Column(name = "nome", nullable = false)
+    @Column(name = "nome", nullable = false, unique = true)
     private String nome;
 
     @NotBlank(message = "Descrição é obrigatório")
@@ -0,0 +1,47 @@
+package br.com.memelandia.categoria_service.domain;
+
+import jakarta.persistence.*;
+
+/**
+ *
+ * Contador de alterações de uma tabela, incrementado na mesma transação que a altera.
+ * Serve de versão para as respostas HTTP condicionais (ETag) de todas as instâncias.
+ * A época é o instante em que a linha foi criada e muda quando o banco é recriado,
+ * o que recomeça o contador.
+ *
+ * @author rramirez
+ */
+
+@Entity
+@Table(name = "versao_tabela")
+public class VersaoTabela {
+    @Id
+    @Column(name = "nome", nullable = false)
+    private String nome;
+
+    @Column(name = "versao", nullable = false)
+    private long versao;
+
+    @Column(name = "epoca", nullable = false)
+    private long epoca;
+
+    public VersaoTabela(){}
+
+    public VersaoTabela(String nome, long versao, long epoca) {
+        this.nome = nome;
+        this.versao = versao;
+        this.epoca = epoca;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public long getEpoca() {
+        return epoca;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.memelandia.categoria_service.dto;
+
+import br.com.memelandia.categoria_service.domain.Categoria;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Evento publicado quando uma categoria é criada ou removida.
+ *
+ * @author rramirez
+ */
+
+public class CategoriaEvento {
+    private TipoEvento tipo;
+    private UUID id;
+    private String nome;
+    private String descricao;
+    private LocalDate dataCadastro;
+
+    public CategoriaEvento(){}
+
+    public CategoriaEvento(TipoEvento tipo, Categoria categoria) {
+        this.tipo = tipo;
+        this.id = categoria.getId();
+        this.nome = categoria.getNome();
+        this.descricao = categoria.getDescricao();
+        this.dataCadastro = categoria.getDataCadastro();
+    }
+
+    public static CategoriaEvento criacao(Categoria categoria) {
+        return new CategoriaEvento(TipoEvento.CRIACAO, categoria);
+    }
+
+    public static CategoriaEvento remocao(Categoria categoria) {
+        return new CategoriaEvento(TipoEvento.REMOCAO, categoria);
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoEvento tipo) {
+        this.tipo = tipo;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public LocalDate getDataCadastro() {
+        return dataCadastro;
+    }
+
+    public void setDataCadastro(LocalDate dataCadastro) {
+        this.dataCadastro = dataCadastro;
+    }
+}
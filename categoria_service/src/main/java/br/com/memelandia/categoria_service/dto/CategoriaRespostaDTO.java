@@ -0,0 +1,47 @@
+package br.com.memelandia.categoria_service.dto;
+
+import br.com.memelandia.categoria_service.domain.Categoria;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Representação de uma categoria devolvida pela API. As listagens a montam direto na consulta,
+ * sem carregar a entidade no contexto de persistência.
+ *
+ * @author rramirez
+ */
+
+public class CategoriaRespostaDTO {
+    private final UUID id;
+    private final String nome;
+    private final String descricao;
+    private final LocalDate dataCadastro;
+
+    public CategoriaRespostaDTO(UUID id, String nome, String descricao, LocalDate dataCadastro) {
+        this.id = id;
+        this.nome = nome;
+        this.descricao = descricao;
+        this.dataCadastro = dataCadastro;
+    }
+
+    public static CategoriaRespostaDTO de(Categoria categoria) {
+        return new CategoriaRespostaDTO(categoria.getId(), categoria.getNome(), categoria.getDescricao(), categoria.getDataCadastro());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public LocalDate getDataCadastro() {
+        return dataCadastro;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.memelandia.categoria_service.dto;
+
+/**
+ * Operação que originou um evento publicado pelo categoria_service.
+ *
+ * @author rramirez
+ */
+
+public enum TipoEvento {
+    CRIACAO,
+    REMOCAO
+}
@@ -0,0 +1,19 @@
+package br.com.memelandia.categoria_service.respositories;
+
+import br.com.memelandia.categoria_service.domain.Categoria;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Remoções que devolvem as linhas apagadas, para montar o evento de remoção sem consultar
+ * antes; a lista vazia indica que não havia linha.
+ *
+ * @author rramirez
+ */
+
+public interface CategoriaRemocaoRepository {
+    List<Categoria> removerPorId(UUID id);
+
+    List<Categoria> removerPorNome(String nome);
+}
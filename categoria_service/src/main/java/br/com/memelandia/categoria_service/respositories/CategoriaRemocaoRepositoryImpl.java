@@ -0,0 +1,37 @@
+package br.com.memelandia.categoria_service.respositories;
+
+import br.com.memelandia.comum.persistencia.RemocaoComRetorno;
+import br.com.memelandia.categoria_service.domain.Categoria;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cada remoção é um único DELETE; o RemocaoComRetorno o completa conforme o dialeto para
+ * devolver as linhas apagadas.
+ *
+ * @author rramirez
+ */
+
+@Transactional
+public class CategoriaRemocaoRepositoryImpl implements CategoriaRemocaoRepository {
+
+    private final RemocaoComRetorno remocao;
+
+    public CategoriaRemocaoRepositoryImpl(EntityManager entityManager) {
+        this.remocao = new RemocaoComRetorno(entityManager);
+    }
+
+    @Override
+    public List<Categoria> removerPorId(UUID id) {
+        return remocao.apagar(Categoria.class, "DELETE FROM categoria WHERE id = :id", Map.of("id", id));
+    }
+
+    @Override
+    public List<Categoria> removerPorNome(String nome) {
+        return remocao.apagar(Categoria.class, "DELETE FROM categoria WHERE nome = :nome", Map.of("nome", nome));
+    }
+}
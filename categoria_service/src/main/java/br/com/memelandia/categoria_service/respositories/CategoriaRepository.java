@@ -1,15 +1,39 @@
 package br.com.memelandia.categoria_service.respositories;
 
 import br.com.memelandia.categoria_service.domain.Categoria;
+import br.com.memelandia.categoria_service.dto.CategoriaRespostaDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * @author rramirez
  */
 
-public interface CategoriaRepository extends JpaRepository<Categoria, UUID> {
-    Optional<Categoria> findByNome (String nome);
+public interface CategoriaRepository extends JpaRepository<Categoria, UUID>, CategoriaRemocaoRepository {
+    Optional<Categoria> findByNome(String nome);
+
+    @Query("SELECT c.nome FROM Categoria c WHERE c.nome IN :nomes")
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    @Query("SELECT new br.com.memelandia.categoria_service.dto.CategoriaRespostaDTO(c.id, c.nome, c.descricao, c.dataCadastro) FROM Categoria c ORDER BY c.dataCadastro, c.id")
+    List<CategoriaRespostaDTO> findPagina(Limit limite);
+
+    @Query("SELECT new br.com.memelandia.categoria_service.dto.CategoriaRespostaDTO(c.id, c.nome, c.descricao, c.dataCadastro) FROM Categoria c WHERE c.dataCadastro > :data OR (c.dataCadastro = :data AND c.id > :id) ORDER BY c.dataCadastro, c.id")
+    List<CategoriaRespostaDTO> findPaginaApos(@Param("data") LocalDate data, @Param("id") UUID id, Limit limite);
+
+    @Query("SELECT new br.com.memelandia.categoria_service.dto.CategoriaRespostaDTO(c.id, c.nome, c.descricao, c.dataCadastro) FROM Categoria c ORDER BY c.dataCadastro, c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CategoriaRespostaDTO> streamTodos();
 }
@@ -0,0 +1,21 @@
+package br.com.memelandia.categoria_service.respositories;
+
+import br.com.memelandia.categoria_service.domain.VersaoTabela;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * @author rramirez
+ */
+
+public interface VersaoTabelaRepository extends JpaRepository<VersaoTabela, String> {
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("UPDATE VersaoTabela v SET v.versao = v.versao + 1 WHERE v.nome = :nome")
+    int incrementar(@Param("nome") String nome);
+}
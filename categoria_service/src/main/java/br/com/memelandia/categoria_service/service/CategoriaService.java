@@ -2,66 +2,207 @@ package br.com.memelandia.categoria_service.service;
 
 import br.com.memelandia.categoria_service.domain.Categoria;
 import br.com.memelandia.categoria_service.dto.CategoriaDTO;
+import br.com.memelandia.categoria_service.dto.CategoriaEvento;
+import br.com.memelandia.categoria_service.dto.CategoriaRespostaDTO;
+import br.com.memelandia.categoria_service.dto.ItemLoteDTO;
 import br.com.memelandia.categoria_service.respositories.CategoriaRepository;
+import br.com.memelandia.comum.outbox.OutboxEventos;
+import br.com.memelandia.comum.paginacao.Cursor;
+import br.com.memelandia.comum.paginacao.Pagina;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class CategoriaService {
     private static final Logger logger = LoggerFactory.getLogger(CategoriaService.class);
+    private static final String DESTINO_EVENTOS = "categoriaEventos-out-0";
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
+    private static final int LIMITE_MAXIMO_LOTE = 5000;
+    private static final int TAMANHO_MAXIMO_IN = 1000;
 
-    private final StreamBridge streamBridge;
     private final CategoriaRepository categoriaRepository;
     private final MeterRegistry meterRegistry;
-
-    public CategoriaService(StreamBridge streamBridge, CategoriaRepository categoriaRepository, MeterRegistry meterRegistry) {
-        this.streamBridge = streamBridge;
+    private final OutboxEventos outboxEventos;
+    private final VersaoCategorias versaoCategorias;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache categoriaPorId;
+    private final Cache categoriaPorNome;
+
+    private final Counter listarTodasChamadas;
+    private final Timer listarTodasTempo;
+    private final Counter listarTodasVazio;
+    private final Counter listarTodasSucesso;
+    private final DistributionSummary listarTodasQuantidade;
+    private final Counter transmitirChamadas;
+    private final Timer transmitirTempo;
+    private final Counter criarChamadas;
+    private final Counter criarExistente;
+    private final Counter criarSucesso;
+    private final Timer criarTempo;
+    private final Counter criarLoteChamadas;
+    private final DistributionSummary criarLoteQuantidade;
+    private final Counter criarLoteCriadas;
+    private final Counter criarLoteDuplicadas;
+    private final Counter criarLoteInvalidas;
+    private final Counter criarLoteConflito;
+    private final Timer criarLoteTempo;
+    private final Counter existeChamadas;
+    private final DistributionSummary existeQuantidade;
+    private final Timer existeTempo;
+    private final Counter buscarIdChamadas;
+    private final Timer buscarIdTempo;
+    private final Counter buscarIdSucesso;
+    private final Counter buscarIdNaoEncontrada;
+    private final Counter buscarNomeChamadas;
+    private final Timer buscarNomeTempo;
+    private final Counter buscarNomeSucesso;
+    private final Counter buscarNomeNaoEncontrada;
+    private final Counter deletarIdChamadas;
+    private final Counter deletarIdSucesso;
+    private final Timer deletarIdTempo;
+    private final Counter deletarIdNaoEncontrada;
+    private final Counter deletarNomeChamadas;
+    private final Counter deletarNomeSucesso;
+    private final Timer deletarNomeTempo;
+    private final Counter deletarNomeNaoEncontrada;
+
+    public CategoriaService(CategoriaRepository categoriaRepository, MeterRegistry meterRegistry,
+                            OutboxEventos outboxEventos, VersaoCategorias versaoCategorias,
+                            TransactionTemplate transactionTemplate, CacheManager cacheManager) {
         this.categoriaRepository = categoriaRepository;
         this.meterRegistry = meterRegistry;
+        this.outboxEventos = outboxEventos;
+        this.versaoCategorias = versaoCategorias;
+        this.transactionTemplate = transactionTemplate;
+        // Descartes feitos dentro de uma transação só chegam ao cache depois do commit.
+        this.categoriaPorId = new TransactionAwareCacheDecorator(cacheManager.getCache("categoriaPorId"));
+        this.categoriaPorNome = new TransactionAwareCacheDecorator(cacheManager.getCache("categoriaPorNome"));
+
+        this.listarTodasChamadas = meterRegistry.counter("categoria.listar.todas.chamadas");
+        this.listarTodasTempo = meterRegistry.timer("categoria.listar.todas.tempo");
+        this.listarTodasVazio = meterRegistry.counter("categoria.listar.todas.vazio");
+        this.listarTodasSucesso = meterRegistry.counter("categoria.listar.todas.sucesso");
+        this.listarTodasQuantidade = meterRegistry.summary("categoria.listar.todas.quantidade");
+        this.transmitirChamadas = meterRegistry.counter("categoria.transmitir.chamadas");
+        this.transmitirTempo = meterRegistry.timer("categoria.transmitir.tempo");
+        this.criarChamadas = meterRegistry.counter("categoria.criar.chamadas");
+        this.criarExistente = meterRegistry.counter("categoria.criar.existente");
+        this.criarSucesso = meterRegistry.counter("categoria.criar.sucesso");
+        this.criarTempo = meterRegistry.timer("categoria.criar.tempo");
+        this.criarLoteChamadas = meterRegistry.counter("categoria.criar.lote.chamadas");
+        this.criarLoteQuantidade = meterRegistry.summary("categoria.criar.lote.quantidade");
+        this.criarLoteCriadas = meterRegistry.counter("categoria.criar.lote.criadas");
+        this.criarLoteDuplicadas = meterRegistry.counter("categoria.criar.lote.duplicadas");
+        this.criarLoteInvalidas = meterRegistry.counter("categoria.criar.lote.invalidas");
+        this.criarLoteConflito = meterRegistry.counter("categoria.criar.lote.conflito");
+        this.criarLoteTempo = meterRegistry.timer("categoria.criar.lote.tempo");
+        this.existeChamadas = meterRegistry.counter("categoria.existe.chamadas");
+        this.existeQuantidade = meterRegistry.summary("categoria.existe.quantidade");
+        this.existeTempo = meterRegistry.timer("categoria.existe.tempo");
+        this.buscarIdChamadas = meterRegistry.counter("categoria.buscar.id.chamadas");
+        this.buscarIdTempo = meterRegistry.timer("categoria.buscar.id.tempo");
+        this.buscarIdSucesso = meterRegistry.counter("categoria.buscar.id.sucesso");
+        this.buscarIdNaoEncontrada = meterRegistry.counter("categoria.buscar.id.naoencontrada");
+        this.buscarNomeChamadas = meterRegistry.counter("categoria.buscar.nome.chamadas");
+        this.buscarNomeTempo = meterRegistry.timer("categoria.buscar.nome.tempo");
+        this.buscarNomeSucesso = meterRegistry.counter("categoria.buscar.nome.sucesso");
+        this.buscarNomeNaoEncontrada = meterRegistry.counter("categoria.buscar.nome.naoencontrada");
+        this.deletarIdChamadas = meterRegistry.counter("categoria.deletar.Id.chamadas");
+        this.deletarIdSucesso = meterRegistry.counter("categoria.deletar.id.sucesso");
+        this.deletarIdTempo = meterRegistry.timer("categoria.deletar.id.tempo");
+        this.deletarIdNaoEncontrada = meterRegistry.counter("categoria.deletar.id.naoencontrada");
+        this.deletarNomeChamadas = meterRegistry.counter("categoria.deletar.nome.chamadas");
+        this.deletarNomeSucesso = meterRegistry.counter("categoria.deletar.nome.sucesso");
+        this.deletarNomeTempo = meterRegistry.timer("categoria.deletar.nome.tempo");
+        this.deletarNomeNaoEncontrada = meterRegistry.counter("categoria.deletar.nome.naoencontrada");
     }
 
 
 
-    public List<Categoria> listarTodasCategorias() {
-        logger.info("Recebida requisição para listar todas as categorias.");
-        meterRegistry.counter("categoria.listar.todas.chamadas").increment();
+    @Transactional(readOnly = true)
+    public Pagina<CategoriaRespostaDTO> listarTodasCategorias(String cursor, int limite) {
+        logger.info("Recebida requisição para listar categorias (cursor: {}, limite: {}).", cursor, limite);
+        listarTodasChamadas.increment();
+
+        int tamanho = limiteDaPagina(limite);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        List<CategoriaRespostaDTO> categorias = buscarPagina(cursor, tamanho + 1);
+        amostra.stop(listarTodasTempo);
 
-        long start = System.currentTimeMillis();
-        List<Categoria> categorias = categoriaRepository.findAll();
-        long end = System.currentTimeMillis();
-        meterRegistry.timer("categoria.listar.todas.tempo").record(end - start, TimeUnit.MILLISECONDS);
+        String proximoCursor = null;
+        if (categorias.size() > tamanho) {
+            categorias = categorias.subList(0, tamanho);
+            CategoriaRespostaDTO ultima = categorias.get(tamanho - 1);
+            proximoCursor = new Cursor(ultima.getDataCadastro(), ultima.getId()).codificar();
+        }
 
         if (categorias.isEmpty()) {
             logger.warn("Lista de categorias retornou vazia.");
-            meterRegistry.counter("categoria.listar.todas.vazio").increment();
+            listarTodasVazio.increment();
         } else {
             logger.info("Total de categorias encontradas: {}", categorias.size());
-            meterRegistry.counter("categoria.listar.todas.sucesso").increment();
-            meterRegistry.gauge("categoria.listar.todas.quantidade", categorias, List::size);
+            listarTodasSucesso.increment();
+            listarTodasQuantidade.record(categorias.size());
+        }
+
+        return new Pagina<>(categorias, proximoCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void transmitirTodasCategorias(Consumer<CategoriaRespostaDTO> consumidor) {
+        logger.info("Recebida requisição para transmitir todas as categorias.");
+        transmitirChamadas.increment();
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try (Stream<CategoriaRespostaDTO> categorias = categoriaRepository.streamTodos()) {
+            categorias.forEach(consumidor);
         }
+        amostra.stop(transmitirTempo);
+    }
 
-        return categorias;
+    private List<CategoriaRespostaDTO> buscarPagina(String cursor, int quantidade) {
+        if (cursor == null) {
+            return categoriaRepository.findPagina(Limit.of(quantidade));
+        }
+        Cursor posicao = Cursor.decodificar(cursor);
+        return categoriaRepository.findPaginaApos(posicao.getDataCadastro(), posicao.getId(), Limit.of(quantidade));
     }
 
-    public Optional<Categoria> criarCategoria(CategoriaDTO dto) {
+    public Optional<CategoriaRespostaDTO> criarCategoria(CategoriaDTO dto) {
         logger.info("Recebida requisição para criar nova categoria: {}", dto);
-        meterRegistry.counter("categoria.criar.chamadas").increment();
+        criarChamadas.increment();
 
-        long start = System.currentTimeMillis();
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        Optional<Categoria> existente = categoriaRepository.findByNome(dto.getNome());
-        if (existente.isPresent()) {
+        if (consultar(categoriaPorNome, dto.getNome(), () -> categoriaRepository.findByNome(dto.getNome())).isPresent()) {
             logger.warn("Categoria com nome '{}' já existe.", dto.getNome());
-            meterRegistry.counter("categoria.criar.existente").increment();
+            criarExistente.increment();
             return Optional.empty();
         }
 
@@ -69,106 +210,232 @@ public class CategoriaService {
         categoria.setNome(dto.getNome());
         categoria.setDescricao(dto.getDescricao());
         categoria.setDataCadastro(LocalDate.now());
-        Categoria salva = categoriaRepository.save(categoria);
-        meterRegistry.counter("categoria.criar.sucesso").increment();
+        Categoria salva;
+        try {
+            salva = transactionTemplate.execute(status -> {
+                Categoria nova = categoriaRepository.save(categoria);
+                categoriaRepository.flush();
+                outboxEventos.registrar(DESTINO_EVENTOS, nova.getNome(), CategoriaEvento.criacao(nova));
+                versaoCategorias.incrementar();
+                // Consultas sem resultado também ficam em cache, então gravar um nome descarta a entrada dele.
+                categoriaPorNome.evict(nova.getNome());
+                return nova;
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Categoria com nome '{}' criada por outra requisição.", dto.getNome());
+            criarExistente.increment();
+            return Optional.empty();
+        }
+        criarSucesso.increment();
         logger.info("Categoria criada com sucesso: {}", salva);
 
+        amostra.stop(criarTempo);
+
+        return Optional.of(CategoriaRespostaDTO.de(salva));
+    }
+
+    public List<ItemLoteDTO> criarCategoriasEmLote(List<CategoriaDTO> dtos) {
+        logger.info("Recebida requisição para criar {} categorias em lote.", dtos.size());
+        if (dtos.size() > LIMITE_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Lote excede o limite de " + LIMITE_MAXIMO_LOTE + " itens.");
+        }
+        criarLoteChamadas.increment();
+        criarLoteQuantidade.record(dtos.size());
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+
+        Set<String> nomesExistentes = buscarNomesExistentes(dtos.stream()
+                .filter(dto -> dto != null && dto.getNome() != null)
+                .map(CategoriaDTO::getNome)
+                .toList());
+
+        ItemLoteDTO[] resultados = new ItemLoteDTO[dtos.size()];
+        Map<Integer, Categoria> novas = new LinkedHashMap<>();
+        Set<String> nomesDoLote = new HashSet<>();
+        LocalDate hoje = LocalDate.now();
+        for (int i = 0; i < dtos.size(); i++) {
+            CategoriaDTO dto = dtos.get(i);
+            if (dto == null || isBlank(dto.getNome()) || isBlank(dto.getDescricao())) {
+                resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.INVALIDO, null, "Nome e descrição são obrigatórios");
+                criarLoteInvalidas.increment();
+            } else if (nomesExistentes.contains(dto.getNome()) || !nomesDoLote.add(dto.getNome())) {
+                resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.DUPLICADO, null, "Categoria com este nome já criada");
+                criarLoteDuplicadas.increment();
+            } else {
+                novas.put(i, new Categoria(null, dto.getNome(), dto.getDescricao(), hoje));
+            }
+        }
+
         try {
-            streamBridge.send("categoriaEventos-out-0", salva);
-            logger.info("Evento de criação de categoria enviado com sucesso via StreamBridge.");
-        } catch (Exception e) {
-            logger.error("Erro ao enviar evento de criação via StreamBridge: {}", e.getMessage());
-            meterRegistry.counter("categoria.criar.evento.falha").increment();
+            transactionTemplate.executeWithoutResult(status -> {
+                categoriaRepository.saveAll(novas.values());
+                categoriaRepository.flush();
+                outboxEventos.registrarTodos(DESTINO_EVENTOS, novas.values().stream().map(CategoriaEvento::criacao).toList(),
+                        CategoriaEvento::getNome);
+                if (!novas.isEmpty()) {
+                    versaoCategorias.incrementar();
+                }
+                novas.values().forEach(categoria -> categoriaPorNome.evict(categoria.getNome()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Lote de categorias conflitou com uma criação concorrente; nenhuma categoria do lote foi salva.");
+            criarLoteConflito.increment();
+            novas.keySet().forEach(i -> resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.ERRO, null, "Conflito com criação concorrente, reenvie o item"));
+            amostra.stop(criarLoteTempo);
+            return Arrays.asList(resultados);
         }
+        novas.forEach((i, categoria) -> resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.CRIADO, categoria.getId(), null));
+        criarLoteCriadas.increment(novas.size());
+        logger.info("Lote processado: {} categorias criadas de {} recebidas.", novas.size(), dtos.size());
 
-        long end = System.currentTimeMillis();
-        meterRegistry.timer("categoria.criar.tempo").record(end - start, TimeUnit.MILLISECONDS);
+        amostra.stop(criarLoteTempo);
 
-        return Optional.of(salva);
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Responde quais dos nomes informados já existem, sem carregar as entidades.
+     */
+    public Set<String> verificarCategoriasExistentes(Collection<String> nomes) {
+        if (nomes.size() > LIMITE_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Consulta excede o limite de " + LIMITE_MAXIMO_LOTE + " nomes.");
+        }
+        existeChamadas.increment();
+        existeQuantidade.record(nomes.size());
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Set<String> existentes = buscarNomesExistentes(nomes.stream().filter(nome -> nome != null).toList());
+        amostra.stop(existeTempo);
+
+        logger.debug("{} de {} categorias consultadas existem.", existentes.size(), nomes.size());
+        return existentes;
+    }
+
+    private Set<String> buscarNomesExistentes(Collection<String> nomes) {
+        List<String> distintos = nomes.stream().distinct().toList();
+        Set<String> existentes = new HashSet<>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_MAXIMO_IN) {
+            int fim = Math.min(inicio + TAMANHO_MAXIMO_IN, distintos.size());
+            existentes.addAll(categoriaRepository.findNomesExistentes(distintos.subList(inicio, fim)));
+        }
+        return existentes;
+    }
+
+    /**
+     * Tamanho de página efetivamente usado pela listagem para o limite pedido.
+     */
+    public static int limiteDaPagina(int limite) {
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+    }
+
+    private static boolean isBlank(String valor) {
+        return valor == null || valor.isBlank();
     }
 
 
 
-    public Optional<Categoria> buscarCategoriaPorID(UUID id) {
+    public Optional<CategoriaRespostaDTO> buscarCategoriaPorID(UUID id) {
         logger.info("Recebida requisição para buscar categoria com ID: {}", id);
-        meterRegistry.counter("categoria.buscar.id.chamadas").increment();
+        buscarIdChamadas.increment();
 
-        long start = System.currentTimeMillis();
-        Optional<Categoria> categoria = categoriaRepository.findById(id);
-        long end = System.currentTimeMillis();
-        meterRegistry.timer("categoria.buscar.id.tempo").record(end - start, TimeUnit.MILLISECONDS);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Optional<CategoriaRespostaDTO> categoria = consultar(categoriaPorId, id, () -> categoriaRepository.findById(id));
+        amostra.stop(buscarIdTempo);
 
         if (categoria.isPresent()) {
             logger.info("Categoria encontrada: {}", categoria.get());
-            meterRegistry.counter("categoria.buscar.id.sucesso").increment();
+            buscarIdSucesso.increment();
         } else {
             logger.warn("Categoria com ID {} não encontrada.", id);
-            meterRegistry.counter("categoria.buscar.id.naoencontrada").increment();
+            buscarIdNaoEncontrada.increment();
         }
 
         return categoria;
     }
 
 
-    public Optional<Categoria> buscarCategoriaPorNome(String nome) {
+    public Optional<CategoriaRespostaDTO> buscarCategoriaPorNome(String nome) {
         logger.info("Recebida requisição para buscar categoria com Nome: {}", nome);
-        meterRegistry.counter("categoria.buscar.nome.chamadas").increment();
+        buscarNomeChamadas.increment();
 
-        long start = System.currentTimeMillis();
-        Optional<Categoria> categoria = categoriaRepository.findByNome(nome);
-        long end = System.currentTimeMillis();
-        meterRegistry.timer("categoria.buscar.nome.tempo").record(end - start, TimeUnit.MILLISECONDS);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Optional<CategoriaRespostaDTO> categoria = consultar(categoriaPorNome, nome, () -> categoriaRepository.findByNome(nome));
+        amostra.stop(buscarNomeTempo);
 
         if (categoria.isPresent()) {
             logger.info("Categoria encontrada: {}", categoria.get());
-            meterRegistry.counter("categoria.buscar.nome.sucesso").increment();
+            buscarNomeSucesso.increment();
         } else {
             logger.warn("Categoria com nome {} não encontrada.", nome);
-            meterRegistry.counter("categoria.buscar.nome.naoencontrada").increment();
+            buscarNomeNaoEncontrada.increment();
         }
 
         return categoria;
     }
 
+    /**
+     * Lê do cache local ou, na falta, do banco. O cache guarda o DTO, nunca a entidade, e a
+     * ausência também fica guardada. A carga de uma chave segura o descarte da mesma chave até
+     * terminar, então um descarte feito depois do commit nunca é sobrescrito por uma leitura
+     * anterior a ele.
+     */
+    private static Optional<CategoriaRespostaDTO> consultar(Cache cache, Object chave, Supplier<Optional<Categoria>> carregar) {
+        return Optional.ofNullable(cache.get(chave, () -> carregar.get().map(CategoriaRespostaDTO::de).orElse(null)));
+    }
+
     public boolean deletarCategoriaPorId(UUID id) {
         logger.info("Recebida requisição para deletar categoria com ID: {}", id);
-        meterRegistry.counter("categoria.deletar.Id.chamadas").increment();
+        deletarIdChamadas.increment();
 
-        long start = System.currentTimeMillis();
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        Optional<Categoria> categoriaExistente = categoriaRepository.findById(id);
-        if (categoriaExistente.isPresent()) {
-            categoriaRepository.deleteById(id);
+        int removidas = transactionTemplate.execute(status -> remover(categoriaRepository.removerPorId(id)));
+        if (removidas > 0) {
             logger.info("Categoria com ID {} deletada com sucesso.", id);
-            meterRegistry.counter("categoria.deletar.id.sucesso").increment();
-            meterRegistry.timer("categoria.deletar.id.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarIdSucesso.increment();
+            amostra.stop(deletarIdTempo);
             return true;
         } else {
             logger.warn("Categoria com ID {} não encontrada para exclusão.", id);
-            meterRegistry.counter("categoria.deletar.id.naoencontrada").increment();
-            meterRegistry.timer("categoria.deletar.id.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarIdNaoEncontrada.increment();
+            amostra.stop(deletarIdTempo);
             return false;
         }
     }
 
     public boolean deletarCategoriaPorNome(String nome) {
         logger.info("Recebida requisição para deletar categoria com nome: {}", nome);
-        meterRegistry.counter("categoria.deletar.nome.chamadas").increment();
+        deletarNomeChamadas.increment();
 
-        long start = System.currentTimeMillis();
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        Optional<Categoria> categoriaExistente = categoriaRepository.findByNome(nome);
-        if (categoriaExistente.isPresent()) {
-            categoriaRepository.delete(categoriaExistente.get());
+        int removidas = transactionTemplate.execute(status -> remover(categoriaRepository.removerPorNome(nome)));
+        if (removidas > 0) {
             logger.info("Categoria com nome {} deletada com sucesso.", nome);
-            meterRegistry.counter("categoria.deletar.nome.sucesso").increment();
-            meterRegistry.timer("categoria.deletar.nome.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarNomeSucesso.increment();
+            amostra.stop(deletarNomeTempo);
             return true;
         } else {
             logger.warn("Categoria com nome {} não encontrada para exclusão.", nome);
-            meterRegistry.counter("categoria.deletar.nome.naoencontrada").increment();
-            meterRegistry.timer("categoria.deletar.nome.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarNomeNaoEncontrada.increment();
+            amostra.stop(deletarNomeTempo);
             return false;
         }
     }
+
+    /**
+     * Recebe as linhas devolvidas pelo próprio DELETE: cada uma gera o evento de remoção e sai
+     * dos caches depois do commit, e a quantidade decide entre 204 e 404.
+     */
+    private int remover(List<Categoria> removidas) {
+        for (Categoria categoria : removidas) {
+            outboxEventos.registrar(DESTINO_EVENTOS, categoria.getNome(), CategoriaEvento.remocao(categoria));
+            categoriaPorId.evict(categoria.getId());
+            categoriaPorNome.evict(categoria.getNome());
+        }
+        if (!removidas.isEmpty()) {
+            versaoCategorias.incrementar();
+        }
+        return removidas.size();
+    }
 }
@@ -0,0 +1,110 @@
+package br.com.memelandia.categoria_service.service;
+
+import br.com.memelandia.categoria_service.domain.VersaoTabela;
+import br.com.memelandia.categoria_service.respositories.VersaoTabelaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ *
+ * Versão da tabela categoria, usada como ETag da listagem. O contador fica no banco e é
+ * incrementado na transação de cada criação ou remoção, então todas as instâncias enxergam
+ * a mesma versão. A versão tem a forma "época-contador": com o banco recriado o contador
+ * volta a zero, e sem a época uma ETag guardada por um cliente voltaria a casar com uma
+ * listagem diferente. A leitura é guardada em memória pela validade configurada: dentro dela as
+ * requisições condicionais são respondidas sem consultar o banco, e uma alteração feita por
+ * outra instância só aparece aqui depois dela. Alterações feitas por esta instância
+ * descartam a leitura guardada assim que a transação termina.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class VersaoCategorias implements SmartInitializingSingleton {
+
+    private static final String TABELA = "categoria";
+
+    private final VersaoTabelaRepository versaoTabelaRepository;
+    private final long validadeNanos;
+    private final Counter leituras;
+
+    // Cada alteração local troca o estado por um da geração seguinte, sem leitura. A leitura do
+    // banco só é guardada por compareAndSet sobre o estado visto antes dela, então uma leitura
+    // iniciada antes de uma alteração local nunca é guardada depois dela.
+    private final AtomicReference<Estado> estado = new AtomicReference<>(new Estado(0, null));
+
+    public VersaoCategorias(VersaoTabelaRepository versaoTabelaRepository, MeterRegistry meterRegistry,
+                            @Value("${memelandia.versao.validade:1s}") Duration validade) {
+        this.versaoTabelaRepository = versaoTabelaRepository;
+        this.validadeNanos = validade.toNanos();
+        this.leituras = meterRegistry.counter("categoria.versao.leituras");
+    }
+
+    public String atual() {
+        Estado visto = estado.get();
+        Leitura leitura = visto.leitura;
+        if (leitura != null && System.nanoTime() - leitura.lidaEm < validadeNanos) {
+            return leitura.versao;
+        }
+        leituras.increment();
+        String versao = versaoTabelaRepository.findById(TABELA)
+                .map(tabela -> tabela.getEpoca() + "-" + tabela.getVersao())
+                .orElse("0-0");
+        estado.compareAndSet(visto, new Estado(visto.geracao, new Leitura(versao, System.nanoTime())));
+        return versao;
+    }
+
+    /**
+     * Deve ser chamado dentro da transação que altera a tabela categoria.
+     */
+    public void incrementar() {
+        versaoTabelaRepository.incrementar(TABELA);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                estado.updateAndGet(atual -> new Estado(atual.geracao + 1, null));
+            }
+        });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (versaoTabelaRepository.existsById(TABELA)) {
+            return;
+        }
+        try {
+            versaoTabelaRepository.save(new VersaoTabela(TABELA, 0, System.currentTimeMillis()));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou a linha ao mesmo tempo.
+        }
+    }
+
+    private static final class Estado {
+        private final long geracao;
+        private final Leitura leitura;
+
+        private Estado(long geracao, Leitura leitura) {
+            this.geracao = geracao;
+            this.leitura = leitura;
+        }
+    }
+
+    private static final class Leitura {
+        private final String versao;
+        private final long lidaEm;
+
+        private Leitura(String versao, long lidaEm) {
+            this.versao = versao;
+            this.lidaEm = lidaEm;
+        }
+    }
+}
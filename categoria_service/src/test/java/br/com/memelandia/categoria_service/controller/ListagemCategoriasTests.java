@@ -0,0 +1,157 @@
+package br.com.memelandia.categoria_service.controller;
+
+import br.com.memelandia.categoria_service.domain.Categoria;
+import br.com.memelandia.categoria_service.respositories.CategoriaRepository;
+import br.com.memelandia.categoria_service.service.VersaoCategorias;
+import br.com.memelandia.comum.resposta.RespostasSerializadas;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "memelandia.outbox.intervalo=1h")
+@AutoConfigureMockMvc
+class ListagemCategoriasTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private VersaoCategorias versaoCategorias;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void limpar() {
+		// A limpeza também muda a versão, para nenhuma página em cache de outro teste ser reaproveitada.
+		transactionTemplate.executeWithoutResult(status -> {
+			categoriaRepository.deleteAllInBatch();
+			versaoCategorias.incrementar();
+		});
+		cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+	}
+
+	@Test
+	void etagLevaAEpocaDaTabelaAlemDoContador() {
+		assertThat(versaoCategorias.atual()).matches("[1-9]\\d*-\\d+");
+	}
+
+	@Test
+	void respostaCondicionalVolta304AteAProximaEscrita() throws Exception {
+		String etag = mockMvc.perform(get("/categoria"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/categoria").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+
+		mockMvc.perform(post("/categoria").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"nome\":\"humor\",\"descricao\":\"piadas\"}"))
+				.andExpect(status().isCreated());
+
+		String novaEtag = mockMvc.perform(get("/categoria").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("\"humor\"")))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(novaEtag).isNotEqualTo(etag);
+
+		mockMvc.perform(get("/categoria").header(HttpHeaders.IF_NONE_MATCH, novaEtag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void etagDeUmFormatoNaoValidaOutro() throws Exception {
+		String json = mockMvc.perform(get("/categoria").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(json).endsWith("-json\"");
+		mockMvc.perform(get("/categoria").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, json))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andExpect(header().string(HttpHeaders.ETAG, json.replace("-json\"", "-cbor\"")));
+	}
+
+	@Test
+	void paginaEmCacheSaiNoFormatoPedidoPeloAccept() throws Exception {
+		categoriaRepository.save(new Categoria(null, "humor", "piadas", LocalDate.now()));
+
+		for (MediaType formato : RespostasSerializadas.FORMATOS) {
+			ObjectMapper leitor = leitor(formato);
+			JsonNode pagina = leitor.readTree(ler("/categoria", formato));
+			JsonNode doCache = leitor.readTree(ler("/categoria", formato));
+			// A busca por nome passa pelo conversor do Spring MVC no mesmo formato.
+			JsonNode doConversor = leitor.readTree(ler("/categoria/nome/humor", formato));
+
+			assertThat(doCache).isEqualTo(pagina);
+			assertThat(pagina.get("itens")).singleElement().isEqualTo(doConversor);
+		}
+		mockMvc.perform(get("/categoria").accept(MediaType.APPLICATION_XML))
+				.andExpect(status().isNotAcceptable());
+	}
+
+	@Test
+	void limitesAcimaDoMaximoCompartilhamAMesmaPaginaEmCache() throws Exception {
+		categoriaRepository.save(new Categoria(null, "humor", "piadas", LocalDate.now()));
+		double acertos = meterRegistry.get("categoria.resposta.cache.acerto").counter().count();
+
+		byte[] pagina = ler("/categoria?limite=500", MediaType.APPLICATION_JSON);
+		assertThat(ler("/categoria?limite=1000", MediaType.APPLICATION_JSON)).isEqualTo(pagina);
+		assertThat(ler("/categoria?limite=99999", MediaType.APPLICATION_JSON)).isEqualTo(pagina);
+
+		assertThat(meterRegistry.get("categoria.resposta.cache.acerto").counter().count()).isEqualTo(acertos + 2);
+	}
+
+	private ObjectMapper leitor(MediaType formato) {
+		if (formato.equals(RespostasSerializadas.APPLICATION_SMILE)) {
+			return Jackson2ObjectMapperBuilder.smile().build();
+		}
+		if (formato.equals(MediaType.APPLICATION_CBOR)) {
+			return Jackson2ObjectMapperBuilder.cbor().build();
+		}
+		return objectMapper;
+	}
+
+	private byte[] ler(String caminho, MediaType formato) throws Exception {
+		return mockMvc.perform(get(caminho).accept(formato))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(formato))
+				.andReturn().getResponse().getContentAsByteArray();
+	}
+
+}
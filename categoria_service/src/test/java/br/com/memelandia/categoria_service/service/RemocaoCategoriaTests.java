@@ -0,0 +1,50 @@
+package br.com.memelandia.categoria_service.service;
+
+import br.com.memelandia.categoria_service.domain.Categoria;
+import br.com.memelandia.categoria_service.respositories.CategoriaRepository;
+import br.com.memelandia.comum.outbox.EventoPendenteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "memelandia.outbox.intervalo=1h")
+class RemocaoCategoriaTests {
+
+	@Autowired
+	private CategoriaService categoriaService;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private EventoPendenteRepository eventoPendenteRepository;
+
+	@BeforeEach
+	void limpar() {
+		categoriaRepository.deleteAllInBatch();
+		eventoPendenteRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void remocaoPorIdApagaALinhaEGravaOEventoComOsDados() {
+		UUID id = categoriaRepository.save(new Categoria(null, "humor", "piadas", LocalDate.now())).getId();
+		categoriaService.buscarCategoriaPorID(id);
+
+		assertThat(categoriaService.deletarCategoriaPorId(id)).isTrue();
+
+		assertThat(categoriaRepository.count()).isZero();
+		assertThat(categoriaService.buscarCategoriaPorID(id)).isEmpty();
+		assertThat(eventoPendenteRepository.findAll()).singleElement().satisfies(evento -> {
+			assertThat(evento.getChave()).isEqualTo("humor");
+			assertThat(evento.getPayload()).contains("\"REMOCAO\"", "\"piadas\"", id.toString());
+		});
+		assertThat(categoriaService.deletarCategoriaPorId(id)).isFalse();
+	}
+
+}
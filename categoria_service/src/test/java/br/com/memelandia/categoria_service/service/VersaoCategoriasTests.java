@@ -0,0 +1,61 @@
+package br.com.memelandia.categoria_service.service;
+
+import br.com.memelandia.categoria_service.domain.VersaoTabela;
+import br.com.memelandia.categoria_service.respositories.VersaoTabelaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VersaoCategoriasTests {
+
+	private final VersaoTabelaRepository versaoTabelaRepository = mock(VersaoTabelaRepository.class);
+	private final VersaoCategorias versaoCategorias =
+			new VersaoCategorias(versaoTabelaRepository, new SimpleMeterRegistry(), Duration.ofMinutes(1));
+
+	@Test
+	void leituraIniciadaAntesDeUmaAlteracaoLocalNaoEhGuardada() {
+		List<TransactionSynchronization> fimDaAlteracao = alterar();
+		// A leitura vê a versão anterior, e a transação da alteração termina antes de ela voltar.
+		when(versaoTabelaRepository.findById("categoria"))
+				.thenAnswer(chamada -> {
+					fimDaAlteracao.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+					return Optional.of(new VersaoTabela("categoria", 1, 7));
+				})
+				.thenReturn(Optional.of(new VersaoTabela("categoria", 2, 7)));
+
+		assertThat(versaoCategorias.atual()).isEqualTo("7-1");
+		assertThat(versaoCategorias.atual()).isEqualTo("7-2");
+		assertThat(versaoCategorias.atual()).isEqualTo("7-2");
+	}
+
+	@Test
+	void leituraGuardadaEhDescartadaAoFimDaAlteracaoLocal() {
+		when(versaoTabelaRepository.findById("categoria"))
+				.thenReturn(Optional.of(new VersaoTabela("categoria", 1, 7)), Optional.of(new VersaoTabela("categoria", 2, 7)));
+		assertThat(versaoCategorias.atual()).isEqualTo("7-1");
+		assertThat(versaoCategorias.atual()).isEqualTo("7-1");
+
+		alterar().forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+		assertThat(versaoCategorias.atual()).isEqualTo("7-2");
+	}
+
+	private List<TransactionSynchronization> alterar() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			versaoCategorias.incrementar();
+			return TransactionSynchronizationManager.getSynchronizations();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+}
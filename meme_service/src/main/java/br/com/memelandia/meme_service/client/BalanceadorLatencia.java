@@ -0,0 +1,77 @@
+package br.com.memelandia.meme_service.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ *
+ * Escolhe a instância pelo menor custo do EstatisticasInstancias (latência média vezes
+ * requisições em andamento) entre duas sorteadas. Comparar só duas evita que todas as
+ * escolhas simultâneas caiam na mesma instância antes de as estatísticas mudarem.
+ * A lista de instâncias vem do Eureka, com o cache do Spring Cloud LoadBalancer, e cada
+ * escolha conta em meme.balanceamento.escolhas por serviço e instância. O contador de cada
+ * instância é resolvido na primeira vez que ela é escolhida e guardado pelo endereço dela.
+ *
+ * @author rramirez
+ */
+
+public class BalanceadorLatencia implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> instancias;
+    private final EstatisticasInstancias estatisticas;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> escolhas = new ConcurrentHashMap<>();
+
+    public BalanceadorLatencia(ObjectProvider<ServiceInstanceListSupplier> instancias, EstatisticasInstancias estatisticas,
+                               MeterRegistry meterRegistry) {
+        this.instancias = instancias;
+        this.estatisticas = estatisticas;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier fornecedor = instancias.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return fornecedor.get(request).next().map(this::escolher);
+    }
+
+    private Response<ServiceInstance> escolher(List<ServiceInstance> disponiveis) {
+        if (disponiveis.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (disponiveis.size() == 1) {
+            return escolhida(disponiveis.get(0));
+        }
+        ThreadLocalRandom sorteio = ThreadLocalRandom.current();
+        int primeira = sorteio.nextInt(disponiveis.size());
+        int segunda = sorteio.nextInt(disponiveis.size() - 1);
+        if (segunda >= primeira) {
+            segunda++;
+        }
+        ServiceInstance a = disponiveis.get(primeira);
+        ServiceInstance b = disponiveis.get(segunda);
+        return escolhida(estatisticas.custo(a) <= estatisticas.custo(b) ? a : b);
+    }
+
+    private Response<ServiceInstance> escolhida(ServiceInstance instancia) {
+        escolhas.computeIfAbsent(instancia.getServiceId() + "@" + instancia.getHost() + ":" + instancia.getPort(),
+                chave -> meterRegistry.counter("meme.balanceamento.escolhas", "servico", instancia.getServiceId(),
+                        "instancia", instancia.getHost() + ":" + instancia.getPort())).increment();
+        return new DefaultResponse(instancia);
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.memelandia.meme_service.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuração de cada cliente do Spring Cloud LoadBalancer. Fica fora da varredura de
+ * componentes (sem @Configuration) porque é carregada no contexto filho de cada serviço.
+ * Com memelandia.balanceamento.latencia.habilitado=false vale o rodízio padrão.
+ *
+ * @author rramirez
+ */
+
+public class BalanceadorLatenciaConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "memelandia.balanceamento.latencia.habilitado", matchIfMissing = true)
+    public ReactorLoadBalancer<ServiceInstance> balanceadorLatencia(Environment environment, LoadBalancerClientFactory fabrica,
+                                                                    EstatisticasInstancias estatisticas, MeterRegistry meterRegistry) {
+        String servico = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new BalanceadorLatencia(fabrica.getLazyProvider(servico, ServiceInstanceListSupplier.class), estatisticas, meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.memelandia.meme_service.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ *
+ * Pool de conexões HTTP reaproveitadas nas chamadas ao usuario_service e ao categoria_service.
+ * Além das métricas do pool (httpcomponents.httpclient.pool.*: conexões livres, em uso,
+ * pedidos aguardando conexão), mede quanto tempo cada chamada esperou por uma conexão
+ * (meme.downstream.conexao.espera) e por quanto tempo a manteve (meme.downstream.conexao.uso).
+ *
+ * @author rramirez
+ */
+
+public class ConexoesDownstream extends PoolingHttpClientConnectionManager {
+
+    private final Map<ConnectionEndpoint, Long> emprestadas = new ConcurrentHashMap<>();
+    private final Timer espera;
+    private final Timer uso;
+
+    public ConexoesDownstream(MeterRegistry meterRegistry) {
+        this.espera = meterRegistry.timer("meme.downstream.conexao.espera");
+        this.uso = meterRegistry.timer("meme.downstream.conexao.uso");
+        new PoolingHttpClientConnectionManagerMetricsBinder(this, "downstream").bindTo(meterRegistry);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest pedido = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout) throws InterruptedException, ExecutionException, TimeoutException {
+                long inicio = System.nanoTime();
+                try {
+                    ConnectionEndpoint conexao = pedido.get(timeout);
+                    emprestadas.put(conexao, System.nanoTime());
+                    return conexao;
+                } finally {
+                    espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return pedido.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void release(ConnectionEndpoint conexao, Object state, TimeValue keepAlive) {
+        Long emprestadaEm = emprestadas.remove(conexao);
+        if (emprestadaEm != null) {
+            uso.record(System.nanoTime() - emprestadaEm, TimeUnit.NANOSECONDS);
+        }
+        super.release(conexao, state, keepAlive);
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.memelandia.meme_service.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * Tempo de resposta observado e requisições em andamento de cada instância do usuario_service
+ * e do categoria_service, usados pelo BalanceadorLatencia. O tempo é uma média móvel
+ * exponencial com decaimento pelo tempo decorrido (meia-vida configurável) que sobe de
+ * imediato quando uma resposta demora mais que a média, para que uma instância que ficou lenta
+ * perca tráfego logo. Enquanto uma instância não recebe requisições a média cai pela mesma
+ * meia-vida, até ela voltar a ser escolhida e ser medida de novo. A primeira resposta
+ * substitui a latência inicial, e falhas contam como uma resposta que levou o tempo de penalidade.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class EstatisticasInstancias {
+
+    private final Map<String, Estatistica> estatisticas = new ConcurrentHashMap<>();
+    private final long latenciaInicialNanos;
+    private final double meiaVidaNanos;
+    private final long penalidadeFalhaNanos;
+
+    public EstatisticasInstancias(@Value("${memelandia.balanceamento.latencia-inicial:10ms}") Duration latenciaInicial,
+                                  @Value("${memelandia.balanceamento.meia-vida:1s}") Duration meiaVida,
+                                  @Value("${memelandia.downstream.read-timeout:2s}") Duration penalidadeFalha) {
+        this.latenciaInicialNanos = latenciaInicial.toNanos();
+        this.meiaVidaNanos = meiaVida.toNanos();
+        this.penalidadeFalhaNanos = penalidadeFalha.toNanos();
+    }
+
+    /**
+     * Custo de mandar mais uma requisição para a instância: a latência média multiplicada
+     * pela quantidade de requisições que ela teria em andamento.
+     */
+    public double custo(ServiceInstance instancia) {
+        Estatistica estatistica = estatisticas.get(chave(instancia));
+        if (estatistica == null) {
+            return latenciaInicialNanos;
+        }
+        return estatistica.latencia(meiaVidaNanos) * (estatistica.pendentes.get() + 1);
+    }
+
+    public void iniciar(ServiceInstance instancia) {
+        estatistica(instancia).pendentes.incrementAndGet();
+    }
+
+    public void concluir(ServiceInstance instancia, long duracaoNanos, boolean falhou) {
+        Estatistica estatistica = estatistica(instancia);
+        estatistica.pendentes.decrementAndGet();
+        estatistica.registrar(falhou ? Math.max(duracaoNanos, penalidadeFalhaNanos) : duracaoNanos, meiaVidaNanos);
+    }
+
+    private Estatistica estatistica(ServiceInstance instancia) {
+        return estatisticas.computeIfAbsent(chave(instancia), chave -> new Estatistica(latenciaInicialNanos));
+    }
+
+    private static String chave(ServiceInstance instancia) {
+        return instancia.getServiceId() + "@" + instancia.getHost() + ":" + instancia.getPort();
+    }
+
+    private static final class Estatistica {
+        private final AtomicInteger pendentes = new AtomicInteger();
+        private double latencia;
+        private long atualizadaEm;
+        private boolean medida;
+
+        private Estatistica(long latenciaInicial) {
+            this.latencia = latenciaInicial;
+            this.atualizadaEm = System.nanoTime();
+        }
+
+        private synchronized double latencia(double meiaVida) {
+            return latencia * Math.pow(0.5, (System.nanoTime() - atualizadaEm) / meiaVida);
+        }
+
+        private synchronized void registrar(long duracao, double meiaVida) {
+            long agora = System.nanoTime();
+            if (!medida || duracao > latencia) {
+                latencia = duracao;
+            } else {
+                double peso = Math.pow(0.5, (agora - atualizadaEm) / meiaVida);
+                latencia = latencia * peso + duracao * (1 - peso);
+            }
+            atualizadaEm = agora;
+            medida = true;
+        }
+    }
+}
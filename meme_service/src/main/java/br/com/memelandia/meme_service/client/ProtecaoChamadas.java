@@ -0,0 +1,123 @@
+package br.com.memelandia.meme_service.client;
+
+import br.com.memelandia.comum.cliente.ReferenciaRecusadaException;
+import br.com.memelandia.comum.cliente.ServicoIndisponivelException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ *
+ * Circuit breaker e bulkhead (Resilience4j) por serviço chamado pelo ReferenciaClient.
+ * O bulkhead limita as chamadas simultâneas a cada serviço, para que um serviço lento não
+ * prenda todas as threads de validação, e não espera por vaga. O circuito abre quando a
+ * proporção de falhas ou de chamadas lentas passa do limite e, enquanto aberto, as chamadas
+ * são recusadas sem acessar a rede. Respostas 4xx, que chegam como ReferenciaRecusadaException,
+ * não contam como falha do serviço e são repassadas como estão.
+ * Recusas e falhas viram ServicoIndisponivelException, e as mudanças de estado do circuito
+ * e as recusas ficam em meme.protecao.transicoes e meme.protecao.rejeicoes, com os contadores
+ * de cada serviço resolvidos quando o circuito dele é criado.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class ProtecaoChamadas {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProtecaoChamadas.class);
+
+    private final CircuitBreakerRegistry circuitos;
+    private final BulkheadRegistry bulkheads;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Rejeicoes> rejeicoes = new ConcurrentHashMap<>();
+
+    public ProtecaoChamadas(MeterRegistry meterRegistry,
+                            @Value("${memelandia.protecao.circuito.janela:20}") int janela,
+                            @Value("${memelandia.protecao.circuito.minimo-chamadas:10}") int minimoChamadas,
+                            @Value("${memelandia.protecao.circuito.limite-falhas:50}") float limiteFalhas,
+                            @Value("${memelandia.protecao.circuito.chamada-lenta:1s}") Duration chamadaLenta,
+                            @Value("${memelandia.protecao.circuito.limite-lentas:80}") float limiteLentas,
+                            @Value("${memelandia.protecao.circuito.espera-aberto:10s}") Duration esperaAberto,
+                            @Value("${memelandia.protecao.circuito.chamadas-meio-aberto:3}") int chamadasMeioAberto,
+                            @Value("${memelandia.protecao.bulkhead.maximo-simultaneas:16}") int maximoSimultaneas) {
+        this.meterRegistry = meterRegistry;
+        this.circuitos = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(janela)
+                .minimumNumberOfCalls(minimoChamadas)
+                .failureRateThreshold(limiteFalhas)
+                .slowCallDurationThreshold(chamadaLenta)
+                .slowCallRateThreshold(limiteLentas)
+                .waitDurationInOpenState(esperaAberto)
+                .permittedNumberOfCallsInHalfOpenState(chamadasMeioAberto)
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .ignoreExceptions(ReferenciaRecusadaException.class, BulkheadFullException.class)
+                .build());
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maximoSimultaneas)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        circuitos.getEventPublisher().onEntryAdded(evento -> registrar(evento.getAddedEntry()));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitos).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    public <T> T executar(String servico, Supplier<T> chamada) {
+        CircuitBreaker circuito = circuitos.circuitBreaker(servico);
+        Bulkhead bulkhead = bulkheads.bulkhead(servico);
+        try {
+            return circuito.executeSupplier(Bulkhead.decorateSupplier(bulkhead, chamada));
+        } catch (CallNotPermittedException e) {
+            throw rejeitar(servico, rejeicoes.get(servico).circuito(), "Circuito aberto para " + servico + ".", e);
+        } catch (BulkheadFullException e) {
+            throw rejeitar(servico, rejeicoes.get(servico).bulkhead(), "Limite de chamadas simultâneas a " + servico + " atingido.", e);
+        } catch (RestClientException | IllegalStateException e) {
+            throw rejeitar(servico, rejeicoes.get(servico).falha(), "Falha ao consultar " + servico + ": " + e.getMessage(), e);
+        }
+    }
+
+    private ServicoIndisponivelException rejeitar(String servico, Counter rejeicao, String mensagem, Exception causa) {
+        rejeicao.increment();
+        return new ServicoIndisponivelException(servico, mensagem, causa);
+    }
+
+    private void registrar(CircuitBreaker circuito) {
+        String servico = circuito.getName();
+        rejeicoes.put(servico, new Rejeicoes(rejeicao(servico, "circuito"), rejeicao(servico, "bulkhead"), rejeicao(servico, "falha")));
+        // As transições possíveis são poucas; cada uma resolve o seu contador na primeira vez que acontece.
+        Map<CircuitBreaker.StateTransition, Counter> transicoes = new ConcurrentHashMap<>();
+        circuito.getEventPublisher().onStateTransition(evento -> {
+            CircuitBreaker.StateTransition transicao = evento.getStateTransition();
+            logger.warn("Circuito de {} passou de {} para {}.", servico, transicao.getFromState(), transicao.getToState());
+            transicoes.computeIfAbsent(transicao, t -> meterRegistry.counter("meme.protecao.transicoes", "servico", servico,
+                    "de", t.getFromState().name(), "para", t.getToState().name())).increment();
+        });
+    }
+
+    private Counter rejeicao(String servico, String motivo) {
+        return meterRegistry.counter("meme.protecao.rejeicoes", "servico", servico, "motivo", motivo);
+    }
+
+    private record Rejeicoes(Counter circuito, Counter bulkhead, Counter falha) {
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.memelandia.meme_service.client;
+
+import br.com.memelandia.comum.cliente.ReferenciaRecusadaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consultas de existência ao usuario_service e ao categoria_service.
+ * Os nomes são enviados em uma única requisição e a resposta traz apenas os que existem.
+ * Corpo e resposta usam o formato de memelandia.downstream.formato: JSON, Smile
+ * (application/x-jackson-smile) ou CBOR (application/cbor), que os dois serviços aceitam.
+ * A instância de cada chamada é escolhida pelo BalanceadorLatencia entre as registradas no
+ * Eureka, e o tempo de cada resposta volta para o EstatisticasInstancias. Cada serviço tem
+ * seu circuit breaker e bulkhead no ProtecaoChamadas. Uma resposta 4xx vira
+ * ReferenciaRecusadaException e não conta como falha da instância.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class ReferenciaClient {
+
+    private final String servicoUsuario;
+    private final String caminhoUsuario;
+    private final String servicoCategoria;
+    private final String caminhoCategoria;
+    private final MediaType formato;
+    private final RestTemplate restTemplate;
+    private final LoadBalancerClient balanceador;
+    private final EstatisticasInstancias estatisticas;
+    private final ProtecaoChamadas protecao;
+    private final MeterRegistry meterRegistry;
+    private final Timer categoriaTempo;
+    private final Timer usuarioTempo;
+
+    public ReferenciaClient(RestTemplate restTemplate, LoadBalancerClient balanceador, EstatisticasInstancias estatisticas,
+                            ProtecaoChamadas protecao, MeterRegistry meterRegistry,
+                            @Value("${memelandia.downstream.usuario-servico:usuario_service}") String servicoUsuario,
+                            @Value("${memelandia.downstream.usuario-caminho:/usuario_service/}") String caminhoUsuario,
+                            @Value("${memelandia.downstream.categoria-servico:categoria_service}") String servicoCategoria,
+                            @Value("${memelandia.downstream.categoria-caminho:/categoria/}") String caminhoCategoria,
+                            @Value("${memelandia.downstream.formato:application/json}") String formato) {
+        this.servicoUsuario = servicoUsuario;
+        this.caminhoUsuario = caminhoUsuario;
+        this.servicoCategoria = servicoCategoria;
+        this.caminhoCategoria = caminhoCategoria;
+        this.formato = MediaType.parseMediaType(formato);
+        this.restTemplate = restTemplate;
+        this.balanceador = balanceador;
+        this.estatisticas = estatisticas;
+        this.protecao = protecao;
+        this.meterRegistry = meterRegistry;
+        this.categoriaTempo = meterRegistry.timer("meme.criar.categoria.tempo");
+        this.usuarioTempo = meterRegistry.timer("meme.criar.usuario.tempo");
+    }
+
+    public boolean categoriaExiste(String nome) {
+        return categoriasExistentes(List.of(nome)).contains(nome);
+    }
+
+    public boolean usuarioExiste(String nome) {
+        return usuariosExistentes(List.of(nome)).contains(nome);
+    }
+
+    public Set<String> categoriasExistentes(Collection<String> nomes) {
+        return existentes(servicoCategoria, caminhoCategoria, nomes, categoriaTempo);
+    }
+
+    public Set<String> usuariosExistentes(Collection<String> nomes) {
+        return existentes(servicoUsuario, caminhoUsuario, nomes, usuarioTempo);
+    }
+
+    private Set<String> existentes(String servico, String caminho, Collection<String> nomes, Timer timer) {
+        if (nomes.isEmpty()) {
+            return new HashSet<>();
+        }
+        return protecao.executar(servico, () -> consultar(servico, caminho, nomes, timer));
+    }
+
+    private Set<String> consultar(String servico, String caminho, Collection<String> nomes, Timer timer) {
+        // O id no Eureka tem sublinhado, que não é válido como host; por isso a instância é
+        // escolhida aqui e não por um RestTemplate com @LoadBalanced.
+        ServiceInstance instancia = balanceador.choose(servico);
+        if (instancia == null) {
+            throw new IllegalStateException("Nenhuma instância de " + servico + " disponível no Eureka.");
+        }
+        RequestEntity<Collection<String>> requisicao = RequestEntity
+                .post(UriComponentsBuilder.fromUri(instancia.getUri()).path(caminho).path("exists").build().toUri())
+                .contentType(formato)
+                .accept(formato)
+                .body(nomes);
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        long inicio = System.nanoTime();
+        boolean falhou = true;
+        estatisticas.iniciar(instancia);
+        try {
+            String[] existentes = restTemplate.exchange(requisicao, String[].class).getBody();
+            falhou = false;
+            return existentes == null ? new HashSet<>() : new HashSet<>(Arrays.asList(existentes));
+        } catch (HttpClientErrorException e) {
+            falhou = false;
+            throw new ReferenciaRecusadaException(servico, e.getStatusCode(),
+                    servico + " recusou a consulta: " + e.getStatusCode().value() + " " + e.getStatusText(), e);
+        } finally {
+            estatisticas.concluir(instancia, System.nanoTime() - inicio, falhou);
+            amostra.stop(timer);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.memelandia.meme_service.config;
+
+import br.com.memelandia.meme_service.client.BalanceadorLatenciaConfig;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Usa o BalanceadorLatencia em todas as chamadas resolvidas pelo Eureka.
+ * A validade da lista de instâncias em cache fica em spring.cloud.loadbalancer.cache.ttl.
+ *
+ * @author rramirez
+ */
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = BalanceadorLatenciaConfig.class)
+public class BalanceamentoConfig {
+}
@@ -0,0 +1,43 @@
+package br.com.memelandia.meme_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Habilita o cache local das consultas por id e por nome. O serviço lê e descarta os caches
+ * diretamente, guardando os DTOs de resposta; os caches, seu tamanho e validade são definidos
+ * em spring.cache.* no application.properties.
+ *
+ * @author rramirez
+ */
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * O Spring Boot já exporta acertos, faltas e remoções de cada cache; o tempo de carga
+     * só é publicado pelo Micrometer para LoadingCache, por isso é registrado aqui.
+     */
+    @Bean
+    public MeterBinder cacheCargaMetricas(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(nome -> {
+            if (cacheManager.getCache(nome) instanceof CaffeineCache caffeineCache) {
+                Cache<Object, Object> cache = caffeineCache.getNativeCache();
+                FunctionTimer.builder("cache.load.duration", cache,
+                                c -> c.stats().loadCount(), c -> c.stats().totalLoadTime(), TimeUnit.NANOSECONDS)
+                        .tag("cache", nome)
+                        .description("Tempo gasto carregando valores ausentes do banco")
+                        .register(registry);
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.memelandia.meme_service.config;
+
+import br.com.memelandia.meme_service.domain.StatusReferencia;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import br.com.memelandia.meme_service.dto.CategoriaEvento;
+import br.com.memelandia.meme_service.dto.UsuarioEvento;
+import br.com.memelandia.meme_service.service.ExpurgoMemes;
+import br.com.memelandia.meme_service.service.ProjecaoReferencias;
+import br.com.memelandia.meme_service.service.ReferenciaCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Consumidores dos bindings usuarioEventos-in-0 e categoriaEventos-in-0.
+ * As mensagens chegam em lotes (batch-mode); cada lote atualiza a projeção local em uma
+ * única transação e só então alimenta o cache de referências. Dentro de um lote vale o
+ * último evento de cada nome: criações registram o nome e cancelam um expurgo ainda
+ * pendente, e remoções agendam o expurgo dos memes dele.
+ *
+ * @author rramirez
+ */
+
+@Configuration
+public class EventosConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventosConfig.class);
+
+    @Bean
+    public Consumer<List<UsuarioEvento>> usuarioEventos(ReferenciaCache referenciaCache, ProjecaoReferencias projecaoReferencias,
+                                                        ExpurgoMemes expurgoMemes, TransactionTemplate transactionTemplate,
+                                                        MeterRegistry meterRegistry) {
+        DistributionSummary tamanhoLote = meterRegistry.summary("meme.eventos.lote.tamanho", "tipo", "usuario");
+        return eventos -> {
+            logger.debug("Lote com {} eventos de usuário recebido.", eventos.size());
+            tamanhoLote.record(eventos.size());
+            Map<Boolean, List<String>> nomes = nomesPorTipo(eventos, UsuarioEvento::getNome, UsuarioEvento::isRemocao);
+            transactionTemplate.executeWithoutResult(status -> {
+                projecaoReferencias.registrar(TipoReferencia.USUARIO, nomes.get(false), StatusReferencia.ATIVO);
+                expurgoMemes.cancelar(TipoReferencia.USUARIO, nomes.get(false));
+                expurgoMemes.agendar(TipoReferencia.USUARIO, nomes.get(true));
+            });
+            nomes.get(false).forEach(referenciaCache::registrarUsuario);
+            nomes.get(true).forEach(referenciaCache::descartarUsuario);
+        };
+    }
+
+    @Bean
+    public Consumer<List<CategoriaEvento>> categoriaEventos(ReferenciaCache referenciaCache, ProjecaoReferencias projecaoReferencias,
+                                                            ExpurgoMemes expurgoMemes, TransactionTemplate transactionTemplate,
+                                                            MeterRegistry meterRegistry) {
+        DistributionSummary tamanhoLote = meterRegistry.summary("meme.eventos.lote.tamanho", "tipo", "categoria");
+        return eventos -> {
+            logger.debug("Lote com {} eventos de categoria recebido.", eventos.size());
+            tamanhoLote.record(eventos.size());
+            Map<Boolean, List<String>> nomes = nomesPorTipo(eventos, CategoriaEvento::getNome, CategoriaEvento::isRemocao);
+            transactionTemplate.executeWithoutResult(status -> {
+                projecaoReferencias.registrar(TipoReferencia.CATEGORIA, nomes.get(false), StatusReferencia.ATIVO);
+                expurgoMemes.cancelar(TipoReferencia.CATEGORIA, nomes.get(false));
+                expurgoMemes.agendar(TipoReferencia.CATEGORIA, nomes.get(true));
+            });
+            nomes.get(false).forEach(referenciaCache::registrarCategoria);
+            nomes.get(true).forEach(referenciaCache::descartarCategoria);
+        };
+    }
+
+    /**
+     * Separa os nomes distintos do lote em criados (false) e removidos (true), pelo último evento de cada um.
+     */
+    private static <E> Map<Boolean, List<String>> nomesPorTipo(List<E> eventos, Function<E, String> nome, Predicate<E> remocao) {
+        Map<String, Boolean> ultimoEvento = new LinkedHashMap<>();
+        for (E evento : eventos) {
+            if (nome.apply(evento) != null) {
+                ultimoEvento.put(nome.apply(evento), remocao.test(evento));
+            }
+        }
+        return Map.of(
+                false, ultimoEvento.keySet().stream().filter(chave -> !ultimoEvento.get(chave)).toList(),
+                true, ultimoEvento.keySet().stream().filter(ultimoEvento::get).toList());
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.memelandia.meme_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita o agendamento do ExpurgoMemes, que drena a tabela expurgo_pendente, e da
+ * renovação do leitor do BuscaMemes. Intervalo e tamanho do lote ficam em memelandia.expurgo.*
+ * e memelandia.busca.* no application.properties.
+ *
+ * @author rramirez
+ */
+
+@Configuration
+@EnableScheduling
+public class ExpurgoConfig {
+}
@@ -0,0 +1,136 @@
+package br.com.memelandia.meme_service.config;
+
+import br.com.memelandia.meme_service.client.ConexoesDownstream;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente HTTP e executor usados nas chamadas ao usuario_service e ao categoria_service.
+ * Por padrão o RestTemplate usa o Apache HttpClient com pool de conexões persistentes;
+ * com memelandia.downstream.protocolo=h2c usa o HttpClient do JDK negociando HTTP/2 sem TLS,
+ * que multiplexa as chamadas em uma conexão por instância (os serviços chamados precisam de
+ * server.http2.enabled=true). Só os beans do modo escolhido são criados, então com h2c não
+ * existem o pool nem as métricas dele.
+ *
+ * @author rramirez
+ */
+
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "memelandia.downstream.protocolo", havingValue = "http1", matchIfMissing = true)
+    public ConexoesDownstream conexoesDownstream(MeterRegistry meterRegistry,
+                                                 @Value("${memelandia.downstream.connect-timeout:500ms}") Duration connectTimeout,
+                                                 @Value("${memelandia.downstream.read-timeout:2s}") Duration readTimeout,
+                                                 @Value("${memelandia.downstream.pool.maximo:64}") int maximo,
+                                                 @Value("${memelandia.downstream.pool.maximo-por-rota:32}") int maximoPorRota,
+                                                 @Value("${memelandia.downstream.pool.validade:5m}") Duration validade) {
+        ConexoesDownstream conexoes = new ConexoesDownstream(meterRegistry);
+        conexoes.setMaxTotal(maximo);
+        conexoes.setDefaultMaxPerRoute(maximoPorRota);
+        conexoes.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setTimeToLive(TimeValue.of(validade))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        return conexoes;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "memelandia.downstream.protocolo", havingValue = "http1", matchIfMissing = true)
+    public CloseableHttpClient httpClientDownstream(ConexoesDownstream conexoesDownstream,
+                                                    @Value("${memelandia.downstream.pool.espera-maxima:500ms}") Duration esperaMaxima,
+                                                    @Value("${memelandia.downstream.pool.keep-alive:30s}") Duration keepAlive,
+                                                    @Value("${memelandia.downstream.pool.ociosa:30s}") Duration ociosa) {
+        return HttpClients.custom()
+                .setConnectionManager(conexoesDownstream)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(esperaMaxima))
+                        .setDefaultKeepAlive(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(ociosa))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "memelandia.downstream.protocolo", havingValue = "http1", matchIfMissing = true)
+    public ClientHttpRequestFactory requestFactoryHttp1(CloseableHttpClient httpClientDownstream) {
+        return new HttpComponentsClientHttpRequestFactory(httpClientDownstream);
+    }
+
+    /**
+     * O close() espera as chamadas em andamento e encerra a conexão e a thread do seletor.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "memelandia.downstream.protocolo", havingValue = "h2c")
+    public HttpClient httpClientH2c(@Value("${memelandia.downstream.connect-timeout:500ms}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "memelandia.downstream.protocolo", havingValue = "h2c")
+    public ClientHttpRequestFactory requestFactoryH2c(HttpClient httpClientH2c,
+                                                      @Value("${memelandia.downstream.read-timeout:2s}") Duration readTimeout) {
+        JdkClientHttpRequestFactory h2c = new JdkClientHttpRequestFactory(httpClientH2c);
+        h2c.setReadTimeout(readTimeout);
+        return h2c;
+    }
+
+    @Bean
+    public RestTemplate restTemplate(ClientHttpRequestFactory requestFactory) {
+        return new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Com spring.threads.virtual.enabled=true cada validação roda em uma thread virtual própria,
+     * sem fila nem limite além do bulkhead de cada serviço; no modo padrão usa um pool fixo de
+     * memelandia.downstream.threads threads de plataforma.
+     */
+    @Bean
+    public TaskExecutor validacaoExecutor(Environment environment,
+                                          @Value("${memelandia.downstream.threads:32}") int threads) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("validacao-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 8);
+        executor.setThreadNamePrefix("validacao-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+}
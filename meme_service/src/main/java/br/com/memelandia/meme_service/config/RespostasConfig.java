@@ -0,0 +1,30 @@
+package br.com.memelandia.meme_service.config;
+
+import br.com.memelandia.comum.resposta.RespostasSerializadas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cache dos memes mais lidos já serializados, por id. Atende GET /meme/{id} e o meme do dia,
+ * que devolve os mesmos bytes; o MemeService descarta o id em toda remoção, em todos os formatos.
+ *
+ * @author rramirez
+ */
+
+@Configuration
+public class RespostasConfig {
+
+    @Bean
+    public RespostasSerializadas<UUID> respostasSerializadas(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                                             @Value("${memelandia.resposta.cache.tamanho-maximo:32MB}") DataSize tamanhoMaximo,
+                                                             @Value("${memelandia.resposta.cache.validade:10m}") Duration validade) {
+        return new RespostasSerializadas<>(objectMapper, meterRegistry, "meme.resposta.cache", tamanhoMaximo, validade);
+    }
+}
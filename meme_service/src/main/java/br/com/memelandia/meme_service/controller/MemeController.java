@@ -1,14 +1,40 @@
 package br.com.memelandia.meme_service.controller;
 
-import br.com.memelandia.meme_service.domain.Meme;
-import br.com.memelandia.meme_service.dto.MemeDTO;
+import br.com.memelandia.comum.cliente.ReferenciaRecusadaException;
+import br.com.memelandia.comum.cliente.ServicoIndisponivelException;
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.resposta.RespostasSerializadas;
+import br.com.memelandia.meme_service.dto.ItemLoteDTO;
+import br.com.memelandia.meme_service.dto.ReferenciaMemesDTO;
+import br.com.memelandia.meme_service.service.BuscaMemes;
 import br.com.memelandia.meme_service.service.MemeService;
+import br.com.memelandia.meme_service.service.ProjecaoReferencias;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,35 +44,103 @@ import java.util.UUID;
 public class MemeController {
 
     private final MemeService memeService;
+    private final ProjecaoReferencias projecaoReferencias;
+    private final BuscaMemes buscaMemes;
+    private final RespostasSerializadas<UUID> respostasSerializadas;
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheMemeDoDia;
+    private final Duration esperaServicoIndisponivel;
 
-    public MemeController(MemeService memeService) {
+    public MemeController(MemeService memeService, ProjecaoReferencias projecaoReferencias, BuscaMemes buscaMemes,
+                          RespostasSerializadas<UUID> respostasSerializadas, ContentNegotiationManager contentNegotiationManager,
+                          ObjectMapper objectMapper,
+                          @Value("${memelandia.http.cache.max-age:60s}") Duration maxAge,
+                          @Value("${memelandia.protecao.circuito.espera-aberto:10s}") Duration esperaServicoIndisponivel) {
         this.memeService = memeService;
+        this.projecaoReferencias = projecaoReferencias;
+        this.buscaMemes = buscaMemes;
+        this.respostasSerializadas = respostasSerializadas;
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.objectMapper = objectMapper;
+        this.cacheMemeDoDia = CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+        this.esperaServicoIndisponivel = esperaServicoIndisponivel;
     }
 
-    @Operation(summary = "Listar", description = "Listar todos os memes")
+    @Operation(summary = "Listar", description = "Listar memes, paginados por cursor, opcionalmente filtrados por categoria, usuário e intervalo de datas de cadastro")
     @GetMapping
-    public ResponseEntity<List<Meme>> listarTodosMemes() {
-        return ResponseEntity.ok(memeService.listarTodosMemes());
+    public ResponseEntity<?> listarTodosMemes(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int limite,
+                                              @RequestParam(required = false) String categoria,
+                                              @RequestParam(required = false) String usuario,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        try {
+            FiltroMemes filtro = new FiltroMemes(categoria, usuario, de, ate);
+            return ResponseEntity.ok(memeService.listarTodosMemes(filtro, cursor, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Transmitir", description = "Transmitir todos os memes em NDJSON, um por linha")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirTodosMemes() {
+        StreamingResponseBody corpo = saida -> memeService.transmitirTodosMemes(item -> escreverLinha(saida, item));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+
+    @Operation(summary = "Pesquisar", description = "Pesquisar memes por palavras do nome, da descrição e da categoria, em ordem de relevância")
+    @GetMapping("/search")
+    public ResponseEntity<?> pesquisarMemes(@RequestParam String q, @RequestParam(defaultValue = "20") int limite) {
+        try {
+            return ResponseEntity.ok(buscaMemes.buscar(q, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @Operation(summary = "Criar", description = "Criar um novo meme")
     @PostMapping
-    public ResponseEntity<Meme> criarMeme(@RequestBody MemeDTO dto) {
-        Meme novoMeme = memeService.criarMeme(dto).orElseThrow(() -> new RuntimeException("Erro ao criar meme."));
-        return ResponseEntity.status(HttpStatus.CREATED).body(novoMeme);
+    public ResponseEntity<MemeRespostaDTO> criarMeme(@RequestBody MemeDTO dto) {
+        try {
+            MemeRespostaDTO novoMeme = memeService.criarMeme(dto).orElseThrow(() -> new RuntimeException("Erro ao criar meme."));
+            return ResponseEntity.status(HttpStatus.CREATED).body(novoMeme);
+        } catch (ServicoIndisponivelException e) {
+            return servicoIndisponivel().build();
+        } catch (ReferenciaRecusadaException e) {
+            return ResponseEntity.status(e.getStatus()).build();
+        }
+    }
+
+    @Operation(summary = "Criar em lote", description = "Criar vários memes, com um resultado por item")
+    @PostMapping("/batch")
+    public ResponseEntity<?> criarMemesEmLote(@RequestBody List<MemeDTO> dtos) {
+        try {
+            List<ItemLoteDTO> resultados = memeService.criarMemesEmLote(dtos);
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ServicoIndisponivelException e) {
+            return servicoIndisponivel().body(e.getMessage());
+        } catch (ReferenciaRecusadaException e) {
+            return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+        }
     }
 
     @Operation(summary = "Buscar Por Id", description = "Buscar um meme pelo ID")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = MemeRespostaDTO.class)))
     @GetMapping("/{id}")
-    public ResponseEntity<Meme> buscarMemePorId(@PathVariable UUID id) {
-        return memeService.buscarMemePorId(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> buscarMemePorId(@PathVariable UUID id, NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        MediaType formato = RespostasSerializadas.formato(request, contentNegotiationManager);
+        return respostasSerializadas.buscar(id, formato, () -> memeService.buscarMemePorId(id))
+                .map(bytes -> ResponseEntity.ok().contentType(formato).varyBy(HttpHeaders.ACCEPT).body(bytes))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 
     @Operation(summary = "Buscar Por Nome", description = "Buscar um meme pelo ID")
     @GetMapping("/name/{name}")
-    public ResponseEntity<Meme> buscarMemePorNome(@PathVariable String name) {
+    public ResponseEntity<MemeRespostaDTO> buscarMemePorNome(@PathVariable String name) {
         return memeService.buscarMemePorNome(name)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
@@ -76,11 +170,65 @@ public class MemeController {
         }
     }
 
-    @Operation(summary = "Meme do Dia", description = "Selecionar um meme aleatório do banco de dados")
+    /**
+     * O meme do dia fica em memória, então a ETag sai dele mesmo e do formato: o id muda quando
+     * o dia vira ou quando o meme sorteado é removido, e o 304 não consulta o banco nem
+     * serializa nada.
+     */
+    @Operation(summary = "Meme do Dia", description = "Selecionar um meme aleatório do banco de dados, com ETag e Cache-Control")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = MemeRespostaDTO.class)))
     @GetMapping("/meme-do-dia")
-    public ResponseEntity<Meme> obterMemeDoDia() {
-        Meme meme = memeService.obterMemeDoDia();
-        return ResponseEntity.ok(meme);
+    public ResponseEntity<byte[]> obterMemeDoDia(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        MediaType formato = RespostasSerializadas.formato(request, contentNegotiationManager);
+        MemeRespostaDTO meme = memeService.obterMemeDoDia();
+        String etag = RespostasSerializadas.etag(meme.getId(), formato);
+        if (request.checkNotModified(etag)) {
+            // checkNotModified já gravou a ETag na resposta.
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheMemeDoDia).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheMemeDoDia).varyBy(HttpHeaders.ACCEPT).contentType(formato)
+                .body(respostasSerializadas.obter(meme.getId(), formato, () -> meme));
+    }
+
+    @Operation(summary = "Memes por Categoria", description = "Quantidade de memes de cada categoria, das mais usadas para as menos usadas")
+    @GetMapping("/por-categoria")
+    public ResponseEntity<List<ReferenciaMemesDTO>> listarMemesPorCategoria(@RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(projecaoReferencias.listarCategorias(limite));
     }
 
+    @Operation(summary = "Memes de uma Categoria", description = "Quantidade de memes de uma categoria pelo nome")
+    @GetMapping("/por-categoria/{nome}")
+    public ResponseEntity<ReferenciaMemesDTO> buscarMemesPorCategoria(@PathVariable String nome) {
+        return projecaoReferencias.buscarCategoria(nome)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @Operation(summary = "Memes por Usuário", description = "Quantidade de memes de cada usuário, dos que mais publicaram para os que menos publicaram")
+    @GetMapping("/por-usuario")
+    public ResponseEntity<List<ReferenciaMemesDTO>> listarMemesPorUsuario(@RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(projecaoReferencias.listarUsuarios(limite));
+    }
+
+    @Operation(summary = "Memes de um Usuário", description = "Quantidade de memes de um usuário pelo nome")
+    @GetMapping("/por-usuario/{nome}")
+    public ResponseEntity<ReferenciaMemesDTO> buscarMemesPorUsuario(@PathVariable String nome) {
+        return projecaoReferencias.buscarUsuario(nome)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    private ResponseEntity.BodyBuilder servicoIndisponivel() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(esperaServicoIndisponivel.toSeconds()));
+    }
+
+    private void escreverLinha(OutputStream saida, Object item) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(item));
+            saida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package br.com.memelandia.meme_service.domain;
+
+import jakarta.persistence.*;
+
+/**
+ *
+ * Projeção local de uma categoria, mantida a partir dos eventos recebidos e das
+ * gravações de memes. Guarda a situação do nome e quantos memes o referenciam.
+ *
+ * @author rramirez
+ */
+
+@Entity
+@Table(name = "categoria_projecao")
+public class CategoriaProjecao {
+    @Id
+    @Column(name = "nome", nullable = false)
+    private String nome;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusReferencia status;
+
+    @Column(name = "quantidade_memes", nullable = false)
+    private long quantidadeMemes;
+
+    public CategoriaProjecao(){
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public StatusReferencia getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusReferencia status) {
+        this.status = status;
+    }
+
+    public long getQuantidadeMemes() {
+        return quantidadeMemes;
+    }
+
+    public void setQuantidadeMemes(long quantidadeMemes) {
+        this.quantidadeMemes = quantidadeMemes;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.memelandia.meme_service.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ *
+ * Remoção pendente dos memes de uma categoria ou usuário que deixou de existir.
+ * Gravada ao receber o evento de remoção e apagada pelo ExpurgoMemes quando não
+ * restar nenhum meme com aquele nome cadastrado até dataRemocao, ou quando o nome
+ * volta a ser criado.
+ *
+ * @author rramirez
+ */
+
+@Entity
+@Table(name = "expurgo_pendente")
+public class ExpurgoPendente {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expurgo_pendente_seq")
+    @SequenceGenerator(name = "expurgo_pendente_seq", sequenceName = "expurgo_pendente_seq", allocationSize = 50)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 20)
+    private TipoReferencia tipo;
+
+    @Column(name = "nome", nullable = false)
+    private String nome;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "data_remocao", nullable = false)
+    private LocalDate dataRemocao;
+
+    @Column(name = "memes_removidos", nullable = false)
+    private long memesRemovidos;
+
+    public ExpurgoPendente(){}
+
+    public ExpurgoPendente(TipoReferencia tipo, String nome, Instant criadoEm, LocalDate dataRemocao) {
+        this.tipo = tipo;
+        this.nome = nome;
+        this.criadoEm = criadoEm;
+        this.dataRemocao = dataRemocao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public TipoReferencia getTipo() {
+        return tipo;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDate getDataRemocao() {
+        return dataRemocao;
+    }
+
+    public long getMemesRemovidos() {
+        return memesRemovidos;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.memelandia.meme_service.domain;
+
+/**
+ * Situação de um usuário ou categoria na projeção local do meme_service.
+ * DESCONHECIDO indica que há memes contabilizados para o nome, mas o evento de criação
+ * ainda não chegou.
+ *
+ * @author rramirez
+ */
+
+public enum StatusReferencia {
+    ATIVO,
+    REMOVIDO,
+    DESCONHECIDO
+}
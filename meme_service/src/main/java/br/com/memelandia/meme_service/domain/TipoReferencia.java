@@ -0,0 +1,12 @@
+package br.com.memelandia.meme_service.domain;
+
+/**
+ * Cadastro externo referenciado por um meme: a categoria ou o usuário que o publicou.
+ *
+ * @author rramirez
+ */
+
+public enum TipoReferencia {
+    CATEGORIA,
+    USUARIO
+}
@@ -0,0 +1,53 @@
+package br.com.memelandia.meme_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.UUID;
+
+/**
+ * Evento publicado pelo categoria_service ao criar ou remover uma categoria.
+ * Apenas os campos usados pelo meme_service são mapeados.
+ *
+ * @author rramirez
+ */
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CategoriaEvento {
+    private TipoEvento tipo;
+    private UUID id;
+    private String nome;
+
+    public CategoriaEvento(){}
+    public CategoriaEvento(UUID id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoEvento tipo) {
+        this.tipo = tipo;
+    }
+
+    public boolean isRemocao() {
+        return tipo == TipoEvento.REMOCAO;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.memelandia.meme_service.dto;
+
+import br.com.memelandia.meme_service.domain.StatusReferencia;
+
+/**
+ * Quantidade de memes de uma categoria ou de um usuário, montada direto na consulta às
+ * projeções, sem carregar a entidade no contexto de persistência.
+ *
+ * @author rramirez
+ */
+
+public record ReferenciaMemesDTO(String nome, StatusReferencia status, long quantidadeMemes) {
+}
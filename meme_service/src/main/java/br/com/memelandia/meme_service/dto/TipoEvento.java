@@ -0,0 +1,13 @@
+package br.com.memelandia.meme_service.dto;
+
+/**
+ * Operação que originou um evento de usuário ou categoria. Eventos sem tipo, publicados
+ * antes de o campo existir, são tratados como criação.
+ *
+ * @author rramirez
+ */
+
+public enum TipoEvento {
+    CRIACAO,
+    REMOCAO
+}
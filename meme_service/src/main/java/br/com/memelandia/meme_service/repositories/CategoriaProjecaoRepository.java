@@ -0,0 +1,24 @@
+package br.com.memelandia.meme_service.repositories;
+
+import br.com.memelandia.meme_service.domain.CategoriaProjecao;
+import br.com.memelandia.meme_service.dto.ReferenciaMemesDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author rramirez
+ */
+
+public interface CategoriaProjecaoRepository extends JpaRepository<CategoriaProjecao, String> {
+
+        @Query("SELECT new br.com.memelandia.meme_service.dto.ReferenciaMemesDTO(c.nome, c.status, c.quantidadeMemes) FROM CategoriaProjecao c ORDER BY c.quantidadeMemes DESC, c.nome")
+        List<ReferenciaMemesDTO> findResumos(Limit limite);
+
+        @Query("SELECT new br.com.memelandia.meme_service.dto.ReferenciaMemesDTO(c.nome, c.status, c.quantidadeMemes) FROM CategoriaProjecao c WHERE c.nome = :nome")
+        Optional<ReferenciaMemesDTO> findResumo(@Param("nome") String nome);
+}
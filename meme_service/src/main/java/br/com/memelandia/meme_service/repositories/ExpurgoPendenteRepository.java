@@ -0,0 +1,38 @@
+package br.com.memelandia.meme_service.repositories;
+
+import br.com.memelandia.meme_service.domain.ExpurgoPendente;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author rramirez
+ */
+
+public interface ExpurgoPendenteRepository extends JpaRepository<ExpurgoPendente, Long> {
+
+        @Query("SELECT e FROM ExpurgoPendente e ORDER BY e.id")
+        List<ExpurgoPendente> findPendentes(Limit limite);
+
+        @Transactional
+        @Modifying
+        @Query("UPDATE ExpurgoPendente e SET e.memesRemovidos = e.memesRemovidos + :quantidade WHERE e.id = :id")
+        int registrarProgresso(@Param("id") Long id, @Param("quantidade") long quantidade);
+
+        @Transactional
+        @Modifying
+        @Query("DELETE FROM ExpurgoPendente e WHERE e.id = :id")
+        int concluir(@Param("id") Long id);
+
+        @Transactional
+        @Modifying
+        @Query("DELETE FROM ExpurgoPendente e WHERE e.tipo = :tipo AND e.nome IN :nomes")
+        int cancelar(@Param("tipo") TipoReferencia tipo, @Param("nomes") Collection<String> nomes);
+}
@@ -0,0 +1,18 @@
+package br.com.memelandia.meme_service.repositories;
+
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Cursor;
+
+import java.util.List;
+
+/**
+ * Listagem filtrada de memes, montada conforme os filtros presentes.
+ *
+ * @author rramirez
+ */
+
+public interface MemeFiltroRepository {
+
+        List<MemeRespostaDTO> findPaginaFiltrada(FiltroMemes filtro, Cursor apos, int limite);
+}
@@ -0,0 +1,74 @@
+package br.com.memelandia.meme_service.repositories;
+
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Cursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * Monta um único SELECT só com as condições dos filtros informados, em vez de uma consulta
+ * fixa com "(:param IS NULL OR ...)", que impede o banco de usar os índices. O texto da
+ * consulta depende apenas de quais filtros estão presentes, então as poucas variações
+ * possíveis ficam no cache de planos do Hibernate. Com a categoria ou o usuário informado,
+ * o índice (categoria_nome, data_cadastro, id) ou (usuario_nome, data_cadastro, id) atende
+ * o filtro, o intervalo de datas, o cursor e a ordenação sem ordenar nada em memória. Para
+ * isso a coluna filtrada também entra no ORDER BY: o resultado é o mesmo, já que ela tem um
+ * único valor, mas sem ela o H2 não reconhece que o índice já entrega as linhas em ordem e
+ * ordena todas as linhas do nome antes de devolver a página.
+ *
+ * @author rramirez
+ */
+
+public class MemeFiltroRepositoryImpl implements MemeFiltroRepository {
+
+        private static final String SELECT = "SELECT new br.com.memelandia.comum.meme.MemeRespostaDTO(m.id, m.nome, m.descricao, m.url, m.dataCadastro, m.categoriaNome, m.usuarioNome) FROM Meme m";
+        private static final String ORDEM = " ORDER BY m.dataCadastro, m.id";
+        private static final String ORDEM_POR_CATEGORIA = " ORDER BY m.categoriaNome, m.dataCadastro, m.id";
+        private static final String ORDEM_POR_USUARIO = " ORDER BY m.usuarioNome, m.dataCadastro, m.id";
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Override
+        public List<MemeRespostaDTO> findPaginaFiltrada(FiltroMemes filtro, Cursor apos, int limite) {
+                List<String> condicoes = new ArrayList<>();
+                Map<String, Object> parametros = new LinkedHashMap<>();
+                if (filtro.getCategoriaNome() != null) {
+                        condicoes.add("m.categoriaNome = :categoria");
+                        parametros.put("categoria", filtro.getCategoriaNome());
+                }
+                if (filtro.getUsuarioNome() != null) {
+                        condicoes.add("m.usuarioNome = :usuario");
+                        parametros.put("usuario", filtro.getUsuarioNome());
+                }
+                if (filtro.getDe() != null) {
+                        condicoes.add("m.dataCadastro >= :de");
+                        parametros.put("de", filtro.getDe());
+                }
+                if (filtro.getAte() != null) {
+                        condicoes.add("m.dataCadastro <= :ate");
+                        parametros.put("ate", filtro.getAte());
+                }
+                if (apos != null) {
+                        condicoes.add("(m.dataCadastro > :cursorData OR (m.dataCadastro = :cursorData AND m.id > :cursorId))");
+                        parametros.put("cursorData", apos.getDataCadastro());
+                        parametros.put("cursorId", apos.getId());
+                }
+
+                String ordem = filtro.getCategoriaNome() != null ? ORDEM_POR_CATEGORIA
+                                : filtro.getUsuarioNome() != null ? ORDEM_POR_USUARIO
+                                : ORDEM;
+                String jpql = condicoes.isEmpty() ? SELECT + ordem : SELECT + " WHERE " + String.join(" AND ", condicoes) + ordem;
+                TypedQuery<MemeRespostaDTO> consulta = entityManager.createQuery(jpql, MemeRespostaDTO.class);
+                parametros.forEach(consulta::setParameter);
+                return consulta.setMaxResults(limite).getResultList();
+        }
+}
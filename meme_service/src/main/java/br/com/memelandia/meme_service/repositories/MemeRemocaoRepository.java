@@ -0,0 +1,32 @@
+package br.com.memelandia.meme_service.repositories;
+
+import br.com.memelandia.comum.meme.Meme;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Remoções de memes que devolvem as linhas apagadas, com a categoria e o usuário a descontar
+ * da projeção; a lista vazia indica que não havia linha.
+ *
+ * @author rramirez
+ */
+
+public interface MemeRemocaoRepository {
+
+        List<Meme> removerPorId(UUID id);
+
+        /**
+         * O nome não é único: como o findByNome, remove um só meme com o nome.
+         */
+        List<Meme> removerPorNome(String nome);
+
+        /**
+         * Apaga até {@code limite} memes da categoria cadastrados até a data e devolve só as
+         * linhas que este DELETE apagou; uma linha apagada antes por outra transação não volta.
+         */
+        List<Meme> removerPorCategoria(String nome, LocalDate ate, int limite);
+
+        List<Meme> removerPorUsuario(String nome, LocalDate ate, int limite);
+}
@@ -0,0 +1,53 @@
+package br.com.memelandia.meme_service.repositories;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.persistencia.RemocaoComRetorno;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cada remoção é um único DELETE; o RemocaoComRetorno o completa conforme o dialeto para
+ * devolver as linhas apagadas.
+ *
+ * @author rramirez
+ */
+
+@Transactional
+public class MemeRemocaoRepositoryImpl implements MemeRemocaoRepository {
+
+        private final RemocaoComRetorno remocao;
+
+        public MemeRemocaoRepositoryImpl(EntityManager entityManager) {
+                this.remocao = new RemocaoComRetorno(entityManager);
+        }
+
+        @Override
+        public List<Meme> removerPorId(UUID id) {
+                return remocao.apagar(Meme.class, "DELETE FROM meme WHERE id = :id", Map.of("id", id));
+        }
+
+        @Override
+        public List<Meme> removerPorNome(String nome) {
+                return remocao.apagar(Meme.class, "DELETE FROM meme WHERE id = "
+                        + "(SELECT id FROM meme WHERE nome = :nome FETCH FIRST 1 ROW ONLY)", Map.of("nome", nome));
+        }
+
+        @Override
+        public List<Meme> removerPorCategoria(String nome, LocalDate ate, int limite) {
+                return remocao.apagar(Meme.class, "DELETE FROM meme WHERE id IN (SELECT id FROM meme "
+                        + "WHERE categoria_nome = :nome AND data_cadastro <= :ate FETCH FIRST :limite ROWS ONLY)",
+                        Map.of("nome", nome, "ate", ate, "limite", limite));
+        }
+
+        @Override
+        public List<Meme> removerPorUsuario(String nome, LocalDate ate, int limite) {
+                return remocao.apagar(Meme.class, "DELETE FROM meme WHERE id IN (SELECT id FROM meme "
+                        + "WHERE usuario_nome = :nome AND data_cadastro <= :ate FETCH FIRST :limite ROWS ONLY)",
+                        Map.of("nome", nome, "ate", ate, "limite", limite));
+        }
+}
@@ -1,20 +1,40 @@
 package br.com.memelandia.meme_service.repositories;
 
-import br.com.memelandia.meme_service.domain.Meme;
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * @author rramirez
  */
 
-public interface MemeRepository extends JpaRepository<Meme, UUID> {
+public interface MemeRepository extends JpaRepository<Meme, UUID>, MemeFiltroRepository, MemeRemocaoRepository {
 
-        @Query(value = "SELECT * FROM Meme ORDER BY RANDOM() LIMIT 1", nativeQuery = true)
-        Meme findRandomMeme();
+        // Percorre o índice da chave primária até a posição, sem ordenar a tabela.
+        @Query(value = "SELECT * FROM meme ORDER BY id OFFSET :posicao ROWS FETCH NEXT 1 ROWS ONLY", nativeQuery = true)
+        Optional<Meme> findNaPosicao(@Param("posicao") long posicao);
 
         Optional<Meme> findByNome(String nome);
+
+        @Query("SELECT new br.com.memelandia.comum.meme.MemeRespostaDTO(m.id, m.nome, m.descricao, m.url, m.dataCadastro, m.categoriaNome, m.usuarioNome) FROM Meme m ORDER BY m.dataCadastro, m.id")
+        List<MemeRespostaDTO> findPagina(Limit limite);
+
+        @Query("SELECT new br.com.memelandia.comum.meme.MemeRespostaDTO(m.id, m.nome, m.descricao, m.url, m.dataCadastro, m.categoriaNome, m.usuarioNome) FROM Meme m WHERE m.dataCadastro > :data OR (m.dataCadastro = :data AND m.id > :id) ORDER BY m.dataCadastro, m.id")
+        List<MemeRespostaDTO> findPaginaApos(@Param("data") LocalDate data, @Param("id") UUID id, Limit limite);
+
+        @Query("SELECT new br.com.memelandia.comum.meme.MemeRespostaDTO(m.id, m.nome, m.descricao, m.url, m.dataCadastro, m.categoriaNome, m.usuarioNome) FROM Meme m ORDER BY m.dataCadastro, m.id")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+        Stream<MemeRespostaDTO> streamTodos();
 }
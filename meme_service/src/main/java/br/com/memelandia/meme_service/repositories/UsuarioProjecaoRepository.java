@@ -0,0 +1,24 @@
+package br.com.memelandia.meme_service.repositories;
+
+import br.com.memelandia.meme_service.domain.UsuarioProjecao;
+import br.com.memelandia.meme_service.dto.ReferenciaMemesDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author rramirez
+ */
+
+public interface UsuarioProjecaoRepository extends JpaRepository<UsuarioProjecao, String> {
+
+        @Query("SELECT new br.com.memelandia.meme_service.dto.ReferenciaMemesDTO(u.nome, u.status, u.quantidadeMemes) FROM UsuarioProjecao u ORDER BY u.quantidadeMemes DESC, u.nome")
+        List<ReferenciaMemesDTO> findResumos(Limit limite);
+
+        @Query("SELECT new br.com.memelandia.meme_service.dto.ReferenciaMemesDTO(u.nome, u.status, u.quantidadeMemes) FROM UsuarioProjecao u WHERE u.nome = :nome")
+        Optional<ReferenciaMemesDTO> findResumo(@Param("nome") String nome);
+}
@@ -0,0 +1,351 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ *
+ * Índice invertido em memória (Lucene) sobre o nome, a descrição e a categoria dos memes.
+ * É reconstruído em segundo plano na inicialização e atualizado pelo MemeService depois de
+ * cada gravação ou remoção confirmada; as buscas enxergam as alterações na próxima
+ * renovação do leitor, feita a cada memelandia.busca.atualizacao. Os documentos guardam
+ * todos os campos da resposta, então a busca não consulta o banco. Cada remoção deixa uma
+ * lápide por memelandia.busca.lapides-validade, e um meme com lápide não é indexado de novo.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class BuscaMemes implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuscaMemes.class);
+
+    private static final int LIMITE_MAXIMO_RESULTADOS = 100;
+    private static final int TERMOS_MAXIMOS_CONSULTA = 16;
+
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_NOME = "nome";
+    private static final String CAMPO_DESCRICAO = "descricao";
+    private static final String CAMPO_CATEGORIA = "categoriaNome";
+    private static final String CAMPO_URL = "url";
+    private static final String CAMPO_USUARIO = "usuarioNome";
+    private static final String CAMPO_DATA = "dataCadastro";
+
+    // Um termo no nome pesa mais que na categoria, que pesa mais que na descrição.
+    private static final Map<String, Float> PESOS = Map.of(CAMPO_NOME, 3f, CAMPO_CATEGORIA, 2f, CAMPO_DESCRICAO, 1f);
+
+    private final MemeRepository memeRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final boolean reconstruirNaInicializacao;
+    private final Analyzer analyzer;
+    private final ByteBuffersDirectory diretorio;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    // Ids removidos, com o System.nanoTime() da remoção. Um meme apagado entre o commit da
+    // criação e o indexar, ou lido pela reconstrução antes de ser apagado, não volta ao índice.
+    // Enquanto a reconstrução roda nenhuma lápide vence.
+    private final Map<UUID, Long> lapides = new HashMap<>();
+    private final long validadeLapides;
+    private volatile boolean reconstruindo;
+
+    // Toda escrita no índice confere e grava as lápides com esta trava, então nenhuma remoção
+    // cai entre a conferência e o updateDocument. Ela também evita que threads virtuais disputem
+    // os monitores do IndexWriter: no Java 21 uma thread virtual que espera por um deles prende
+    // a portadora, e com todas as portadoras presas quem segura o monitor não volta a rodar.
+    private final ReentrantLock travaEscrita = new ReentrantLock();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter consultaChamadas;
+    private final Timer consultaTempo;
+    private final DistributionSummary consultaResultados;
+    private final Counter consultaVazia;
+    private final Timer reconstrucaoTempo;
+    private final Timer atualizacaoTempo;
+
+    public BuscaMemes(MemeRepository memeRepository, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                      @Value("${memelandia.busca.reconstruir-na-inicializacao:true}") boolean reconstruirNaInicializacao,
+                      @Value("${memelandia.busca.lapides-validade:1m}") Duration validadeLapides) throws IOException {
+        this.memeRepository = memeRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transacaoLeitura.setReadOnly(true);
+        this.reconstruirNaInicializacao = reconstruirNaInicializacao;
+        this.validadeLapides = validadeLapides.toNanos();
+        this.meterRegistry = meterRegistry;
+
+        this.analyzer = new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String campo) {
+                StandardTokenizer tokenizer = new StandardTokenizer();
+                TokenStream filtros = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+                return new TokenStreamComponents(tokenizer, filtros);
+            }
+        };
+        this.diretorio = new ByteBuffersDirectory();
+        this.indexWriter = new IndexWriter(diretorio, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+
+        this.consultaChamadas = meterRegistry.counter("meme.busca.consulta.chamadas");
+        this.consultaTempo = meterRegistry.timer("meme.busca.consulta.tempo");
+        this.consultaResultados = meterRegistry.summary("meme.busca.consulta.resultados");
+        this.consultaVazia = meterRegistry.counter("meme.busca.consulta.vazia");
+        this.reconstrucaoTempo = meterRegistry.timer("meme.busca.reconstrucao.tempo");
+        this.atualizacaoTempo = meterRegistry.timer("meme.busca.atualizacao.tempo");
+        meterRegistry.gauge("meme.busca.documentos", indexWriter, writer -> writer.getDocStats().numDocs);
+    }
+
+    /**
+     * Devolve até {@code limite} memes em ordem de relevância. Cada termo da consulta é
+     * procurado no nome, na categoria e na descrição, sem diferenciar maiúsculas nem acentos.
+     */
+    public List<MemeRespostaDTO> buscar(String texto, int limite) {
+        consultaChamadas.increment();
+        List<String> termos = termos(texto);
+        if (termos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma palavra para a busca.");
+        }
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        List<MemeRespostaDTO> memes;
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs encontrados = searcher.search(consulta(termos), Math.max(1, Math.min(limite, LIMITE_MAXIMO_RESULTADOS)));
+                memes = new ArrayList<>(encontrados.scoreDocs.length);
+                for (ScoreDoc encontrado : encontrados.scoreDocs) {
+                    memes.add(meme(searcher.storedFields().document(encontrado.doc)));
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            amostra.stop(consultaTempo);
+        }
+
+        consultaResultados.record(memes.size());
+        if (memes.isEmpty()) {
+            consultaVazia.increment();
+        }
+        return memes;
+    }
+
+    public void indexar(Collection<MemeRespostaDTO> memes) {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            escrever(() -> {
+                for (MemeRespostaDTO meme : memes) {
+                    if (!lapides.containsKey(meme.getId())) {
+                        indexWriter.updateDocument(new Term(CAMPO_ID, meme.getId().toString()), documento(meme));
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            amostra.stop(atualizacaoTempo);
+        }
+    }
+
+    public void remover(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            Term[] termos = ids.stream().map(id -> new Term(CAMPO_ID, id.toString())).toArray(Term[]::new);
+            escrever(() -> {
+                long agora = System.nanoTime();
+                ids.forEach(id -> lapides.put(id, agora));
+                indexWriter.deleteDocuments(termos);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            amostra.stop(atualizacaoTempo);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${memelandia.busca.atualizacao:1s}")
+    public void renovarLeitor() {
+        try {
+            escrever(this::descartarLapidesVencidas);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.warn("Falha ao renovar o leitor do índice de busca.", e);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!reconstruirNaInicializacao) {
+            return;
+        }
+        reconstruindo = true;
+        Thread reconstrucao = new Thread(this::reconstruir, "busca-memes-reconstrucao");
+        reconstrucao.setDaemon(true);
+        reconstrucao.start();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        diretorio.close();
+    }
+
+    /**
+     * Lê a tabela meme em fluxo e indexa cada meme. Gravações feitas durante a leitura entram
+     * pelo {@link #indexar} e substituem o mesmo documento; um meme que o fluxo leu antes de
+     * ele ser apagado encontra a lápide e não é indexado.
+     */
+    private void reconstruir() {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        AtomicLong indexados = new AtomicLong();
+        try {
+            transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<MemeRespostaDTO> memes = memeRepository.streamTodos()) {
+                    memes.forEach(meme -> {
+                        indexar(List.of(meme));
+                        indexados.incrementAndGet();
+                    });
+                }
+            });
+            reconstruindo = false;
+            searcherManager.maybeRefresh();
+            long duracao = amostra.stop(reconstrucaoTempo);
+            logger.info("Índice de busca reconstruído com {} memes em {} ms.", indexados.get(), duracao / 1_000_000);
+        } catch (RuntimeException | IOException e) {
+            logger.error("Falha ao reconstruir o índice de busca após {} memes.", indexados.get(), e);
+            reconstruindo = false;
+        }
+    }
+
+    private void descartarLapidesVencidas() {
+        if (reconstruindo) {
+            return;
+        }
+        long agora = System.nanoTime();
+        lapides.values().removeIf(removidoEm -> agora - removidoEm > validadeLapides);
+    }
+
+    private void escrever(EscritaIndice escrita) throws IOException {
+        travaEscrita.lock();
+        try {
+            escrita.executar();
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    private List<String> termos(String texto) {
+        Set<String> termos = new LinkedHashSet<>();
+        if (texto == null) {
+            return List.of();
+        }
+        try (TokenStream tokens = analyzer.tokenStream(CAMPO_NOME, texto)) {
+            CharTermAttribute termo = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && termos.size() < TERMOS_MAXIMOS_CONSULTA) {
+                termos.add(termo.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return List.copyOf(termos);
+    }
+
+    private static Query consulta(List<String> termos) {
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder();
+        for (String termo : termos) {
+            PESOS.forEach((campo, peso) -> consulta.add(
+                    new BoostQuery(new TermQuery(new Term(campo, termo)), peso), BooleanClause.Occur.SHOULD));
+        }
+        return consulta.build();
+    }
+
+    private static Document documento(MemeRespostaDTO meme) {
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_ID, meme.getId().toString(), Field.Store.YES));
+        documento.add(new TextField(CAMPO_NOME, valor(meme.getNome()), Field.Store.YES));
+        documento.add(new TextField(CAMPO_DESCRICAO, valor(meme.getDescricao()), Field.Store.YES));
+        documento.add(new TextField(CAMPO_CATEGORIA, valor(meme.getCategoriaNome()), Field.Store.YES));
+        documento.add(new StoredField(CAMPO_URL, valor(meme.getUrl())));
+        documento.add(new StoredField(CAMPO_USUARIO, valor(meme.getUsuarioNome())));
+        if (meme.getDataCadastro() != null) {
+            documento.add(new StoredField(CAMPO_DATA, meme.getDataCadastro().toEpochDay()));
+        }
+        return documento;
+    }
+
+    private static MemeRespostaDTO meme(Document documento) {
+        Number data = documento.getField(CAMPO_DATA) == null ? null : documento.getField(CAMPO_DATA).numericValue();
+        return new MemeRespostaDTO(UUID.fromString(documento.get(CAMPO_ID)), documento.get(CAMPO_NOME),
+                documento.get(CAMPO_DESCRICAO), documento.get(CAMPO_URL),
+                data == null ? null : LocalDate.ofEpochDay(data.longValue()),
+                documento.get(CAMPO_CATEGORIA), documento.get(CAMPO_USUARIO));
+    }
+
+    private static String valor(String texto) {
+        return texto == null ? "" : texto;
+    }
+
+    @FunctionalInterface
+    private interface EscritaIndice {
+        void executar() throws IOException;
+    }
+}
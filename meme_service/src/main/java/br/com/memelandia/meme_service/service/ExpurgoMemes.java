@@ -0,0 +1,172 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.meme_service.domain.ExpurgoPendente;
+import br.com.memelandia.meme_service.domain.StatusReferencia;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import br.com.memelandia.meme_service.repositories.ExpurgoPendenteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * Remove os memes de categorias e usuários apagados nos outros serviços.
+ * O evento de remoção só grava um ExpurgoPendente; a remoção roda em segundo plano, em
+ * lotes de tamanho fixo, cada um na sua própria transação, até não restar nenhum meme
+ * com o nome. Assim nenhuma transação segura bloqueios por muito tempo e a memória usada
+ * não depende de quantos memes a categoria ou o usuário tinha. Só saem os memes cadastrados
+ * até o dia da remoção, e um evento de criação do mesmo nome cancela o expurgo pendente.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class ExpurgoMemes {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpurgoMemes.class);
+    private static final int PENDENTES_POR_CICLO = 100;
+
+    private final MemeService memeService;
+    private final ProjecaoReferencias projecaoReferencias;
+    private final ExpurgoPendenteRepository expurgoPendenteRepository;
+    private final MeterRegistry meterRegistry;
+    private final int tamanhoLote;
+
+    private final AtomicLong pendentes = new AtomicLong();
+    private final Map<TipoReferencia, Metricas> metricas = new EnumMap<>(TipoReferencia.class);
+
+    public ExpurgoMemes(MemeService memeService, ProjecaoReferencias projecaoReferencias,
+                        ExpurgoPendenteRepository expurgoPendenteRepository, MeterRegistry meterRegistry,
+                        @Value("${memelandia.expurgo.tamanho-lote:1000}") int tamanhoLote) {
+        this.memeService = memeService;
+        this.projecaoReferencias = projecaoReferencias;
+        this.expurgoPendenteRepository = expurgoPendenteRepository;
+        this.meterRegistry = meterRegistry;
+        this.tamanhoLote = tamanhoLote;
+
+        meterRegistry.gauge("meme.expurgo.pendentes", pendentes);
+        for (TipoReferencia tipo : TipoReferencia.values()) {
+            metricas.put(tipo, new Metricas(meterRegistry, tipo));
+        }
+    }
+
+    /**
+     * Marca os nomes como removidos na projeção e agenda a remoção dos memes deles,
+     * na mesma transação.
+     */
+    @Transactional
+    public void agendar(TipoReferencia tipo, Collection<String> nomes) {
+        if (nomes.isEmpty()) {
+            return;
+        }
+        projecaoReferencias.registrar(tipo, nomes, StatusReferencia.REMOVIDO);
+        Instant agora = Instant.now();
+        LocalDate hoje = LocalDate.now();
+        expurgoPendenteRepository.saveAll(nomes.stream()
+                .map(nome -> new ExpurgoPendente(tipo, nome, agora, hoje))
+                .toList());
+        contarAposCommit(nomes.size());
+        logger.info("Remoção de memes agendada para {} {}(s): {}", nomes.size(), tipo.name().toLowerCase(), nomes);
+    }
+
+    /**
+     * Cancela os expurgos ainda pendentes dos nomes, que voltaram a ser criados. Um expurgo
+     * em andamento para no próximo lote, ao não encontrar mais a linha.
+     */
+    @Transactional
+    public void cancelar(TipoReferencia tipo, Collection<String> nomes) {
+        if (nomes.isEmpty()) {
+            return;
+        }
+        int cancelados = expurgoPendenteRepository.cancelar(tipo, nomes);
+        if (cancelados > 0) {
+            contarAposCommit(-cancelados);
+            logger.info("{} expurgo(s) de {} cancelado(s) pela nova criação do nome.", cancelados, tipo.name().toLowerCase());
+        }
+    }
+
+    /**
+     * O medidor de pendentes é mantido em memória; a contagem na tabela só roda aqui, para
+     * corrigir o que outras instâncias agendaram ou concluíram.
+     */
+    @Scheduled(fixedDelayString = "${memelandia.expurgo.recontagem:1m}")
+    public void recontarPendentes() {
+        pendentes.set(expurgoPendenteRepository.count());
+    }
+
+    @Scheduled(fixedDelayString = "${memelandia.expurgo.intervalo:1s}")
+    public void processarPendentes() {
+        List<ExpurgoPendente> lote = expurgoPendenteRepository.findPendentes(Limit.of(PENDENTES_POR_CICLO));
+        for (ExpurgoPendente expurgo : lote) {
+            expurgar(expurgo);
+        }
+    }
+
+    private void expurgar(ExpurgoPendente expurgo) {
+        Metricas metricasDoTipo = metricas.get(expurgo.getTipo());
+        long total = expurgo.getMemesRemovidos();
+        int removidos;
+        do {
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            removidos = memeService.removerMemesPorReferencia(expurgo.getTipo(), expurgo.getNome(), expurgo.getDataRemocao(), tamanhoLote);
+            amostra.stop(metricasDoTipo.loteTempo);
+
+            if (removidos > 0) {
+                metricasDoTipo.removidos.increment(removidos);
+                if (expurgoPendenteRepository.registrarProgresso(expurgo.getId(), removidos) == 0) {
+                    logger.info("Expurgo de {} '{}' cancelado após {} memes removidos.", expurgo.getTipo(), expurgo.getNome(), total + removidos);
+                    return;
+                }
+                total += removidos;
+                logger.debug("Expurgo de {} '{}': {} memes removidos até agora.", expurgo.getTipo(), expurgo.getNome(), total);
+            }
+        } while (removidos == tamanhoLote);
+
+        pendentes.addAndGet(-expurgoPendenteRepository.concluir(expurgo.getId()));
+        metricasDoTipo.concluidos.increment();
+        metricasDoTipo.duracao.record(Duration.between(expurgo.getCriadoEm(), Instant.now()));
+        logger.info("Expurgo de {} '{}' concluído: {} memes removidos.", expurgo.getTipo(), expurgo.getNome(), total);
+    }
+
+    private void contarAposCommit(int quantidade) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pendentes.addAndGet(quantidade);
+            }
+        });
+    }
+
+    private static final class Metricas {
+        private final Timer loteTempo;
+        private final Timer duracao;
+        private final Counter removidos;
+        private final Counter concluidos;
+
+        private Metricas(MeterRegistry meterRegistry, TipoReferencia tipo) {
+            String tag = tipo.name().toLowerCase();
+            this.loteTempo = meterRegistry.timer("meme.expurgo.lote.tempo", "tipo", tag);
+            this.duracao = meterRegistry.timer("meme.expurgo.duracao", "tipo", tag);
+            this.removidos = meterRegistry.counter("meme.expurgo.removidos", "tipo", tag);
+            this.concluidos = meterRegistry.counter("meme.expurgo.concluidos", "tipo", tag);
+        }
+    }
+}
@@ -1,59 +1,198 @@
 package br.com.memelandia.meme_service.service;
 
-import br.com.memelandia.meme_service.domain.Meme;
-import br.com.memelandia.meme_service.dto.MemeDTO;
+import br.com.memelandia.comum.cliente.ServicoIndisponivelException;
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Cursor;
+import br.com.memelandia.comum.paginacao.Pagina;
+import br.com.memelandia.comum.resposta.RespostasSerializadas;
+import br.com.memelandia.meme_service.client.ReferenciaClient;
+import br.com.memelandia.meme_service.domain.StatusReferencia;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import br.com.memelandia.meme_service.dto.ItemLoteDTO;
 import br.com.memelandia.meme_service.repositories.MemeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MemeService {
 
     private static final Logger logger = LoggerFactory.getLogger(MemeService.class);
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
+    private static final int LIMITE_MAXIMO_LOTE = 5000;
 
     private final MeterRegistry meterRegistry;
     private final MemeRepository memeRepository;
-    private final RestTemplate restTemplate;
-
-    private static final String URL_USUARIO_SERVICE = "http://localhost:8080/usuario_service/";
-    private static final String URL_CATEGORIA_SERVICE = "http://localhost:8081/categoria_service/";
-
-    public MemeService(MeterRegistry meterRegistry, MemeRepository memeRepository) {
+    private final ReferenciaClient referenciaClient;
+    private final ReferenciaCache referenciaCache;
+    private final ProjecaoReferencias projecaoReferencias;
+    private final BuscaMemes buscaMemes;
+    private final RespostasSerializadas<UUID> respostasSerializadas;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache memePorId;
+    private final Cache memePorNome;
+    private final Executor validacaoExecutor;
+    private final Duration prazoValidacao;
+    private final boolean aceitarConhecidosSemServico;
+    private final AtomicReference<MemeDoDia> memeDoDia = new AtomicReference<>();
+    private final ReentrantLock sorteioMemeDoDia = new ReentrantLock();
+
+    private final Counter criarChamadas;
+    private final Counter criarSucesso;
+    private final Timer criarTempo;
+    private final Counter criarValidacaoTimeout;
+    private final Counter criarCategoriaNaoEncontrada;
+    private final Counter criarUsuarioNaoEncontrado;
+    private final Counter criarLoteChamadas;
+    private final DistributionSummary criarLoteQuantidade;
+    private final Counter criarLoteCriados;
+    private final Counter criarLoteInvalidos;
+    private final Timer criarLoteTempo;
+    private final Counter listarTodasChamadas;
+    private final Timer listarTodasTempo;
+    private final Counter listarTodasVazio;
+    private final Counter listarTodasSucesso;
+    private final DistributionSummary listarTodasQuantidade;
+    private final Counter listarFiltradaChamadas;
+    private final Timer listarFiltradaTempo;
+    private final Counter transmitirChamadas;
+    private final Timer transmitirTempo;
+    private final Counter buscarIdChamadas;
+    private final Timer buscarIdTempo;
+    private final Counter buscarIdSucesso;
+    private final Counter buscarIdNaoEncontrada;
+    private final Counter buscarNomeChamadas;
+    private final Timer buscarNomeTempo;
+    private final Counter buscarNomeSucesso;
+    private final Counter buscarNomeNaoEncontrada;
+    private final Counter deletarIdChamadas;
+    private final Counter deletarIdSucesso;
+    private final Timer deletarIdTempo;
+    private final Counter deletarIdNaoEncontrada;
+    private final Counter deletarNomeChamadas;
+    private final Counter deletarNomeSucesso;
+    private final Timer deletarNomeTempo;
+    private final Counter deletarNomeNaoEncontrada;
+    private final Timer dodiaRecalculoTempo;
+    private final Map<TipoReferencia, Counter> fallbackAceito = new EnumMap<>(TipoReferencia.class);
+    private final Map<TipoReferencia, Counter> fallbackRecusado = new EnumMap<>(TipoReferencia.class);
+
+    public MemeService(MeterRegistry meterRegistry, MemeRepository memeRepository,
+                       ReferenciaClient referenciaClient, ReferenciaCache referenciaCache,
+                       ProjecaoReferencias projecaoReferencias, BuscaMemes buscaMemes, RespostasSerializadas<UUID> respostasSerializadas,
+                       TransactionTemplate transactionTemplate, CacheManager cacheManager,
+                       @Qualifier("validacaoExecutor") Executor validacaoExecutor,
+                       @Value("${memelandia.downstream.prazo-total:3s}") Duration prazoValidacao,
+                       @Value("${memelandia.referencia.fallback.aceitar-conhecidos:true}") boolean aceitarConhecidosSemServico) {
         this.meterRegistry = meterRegistry;
         this.memeRepository = memeRepository;
-        this.restTemplate = new RestTemplate();
+        this.referenciaClient = referenciaClient;
+        this.referenciaCache = referenciaCache;
+        this.projecaoReferencias = projecaoReferencias;
+        this.buscaMemes = buscaMemes;
+        this.respostasSerializadas = respostasSerializadas;
+        this.transactionTemplate = transactionTemplate;
+        // Descartes feitos dentro de uma transação só chegam ao cache depois do commit.
+        this.memePorId = new TransactionAwareCacheDecorator(cacheManager.getCache("memePorId"));
+        this.memePorNome = new TransactionAwareCacheDecorator(cacheManager.getCache("memePorNome"));
+        this.validacaoExecutor = validacaoExecutor;
+        this.prazoValidacao = prazoValidacao;
+        this.aceitarConhecidosSemServico = aceitarConhecidosSemServico;
+
+        this.criarChamadas = meterRegistry.counter("meme.criar.chamadas");
+        this.criarSucesso = meterRegistry.counter("meme.criar.sucesso");
+        this.criarTempo = meterRegistry.timer("meme.criar.tempo");
+        this.criarValidacaoTimeout = meterRegistry.counter("meme.criar.validacao.timeout");
+        this.criarCategoriaNaoEncontrada = meterRegistry.counter("meme.criar.categoria.naoencontrada");
+        this.criarUsuarioNaoEncontrado = meterRegistry.counter("meme.criar.usuario.naoencontrado");
+        this.criarLoteChamadas = meterRegistry.counter("meme.criar.lote.chamadas");
+        this.criarLoteQuantidade = meterRegistry.summary("meme.criar.lote.quantidade");
+        this.criarLoteCriados = meterRegistry.counter("meme.criar.lote.criados");
+        this.criarLoteInvalidos = meterRegistry.counter("meme.criar.lote.invalidos");
+        this.criarLoteTempo = meterRegistry.timer("meme.criar.lote.tempo");
+        this.listarTodasChamadas = meterRegistry.counter("meme.listar.todas.chamadas");
+        this.listarTodasTempo = meterRegistry.timer("meme.listar.todas.tempo");
+        this.listarTodasVazio = meterRegistry.counter("meme.listar.todas.vazio");
+        this.listarTodasSucesso = meterRegistry.counter("meme.listar.todas.sucesso");
+        this.listarTodasQuantidade = meterRegistry.summary("meme.listar.todas.quantidade");
+        this.listarFiltradaChamadas = meterRegistry.counter("meme.listar.filtrada.chamadas");
+        this.listarFiltradaTempo = meterRegistry.timer("meme.listar.filtrada.tempo");
+        this.transmitirChamadas = meterRegistry.counter("meme.transmitir.chamadas");
+        this.transmitirTempo = meterRegistry.timer("meme.transmitir.tempo");
+        this.buscarIdChamadas = meterRegistry.counter("meme.buscar.id.chamadas");
+        this.buscarIdTempo = meterRegistry.timer("meme.buscar.id.tempo");
+        this.buscarIdSucesso = meterRegistry.counter("meme.buscar.id.sucesso");
+        this.buscarIdNaoEncontrada = meterRegistry.counter("meme.buscar.id.naoencontrada");
+        this.buscarNomeChamadas = meterRegistry.counter("meme.buscar.nome.chamadas");
+        this.buscarNomeTempo = meterRegistry.timer("meme.buscar.nome.tempo");
+        this.buscarNomeSucesso = meterRegistry.counter("meme.buscar.nome.sucesso");
+        this.buscarNomeNaoEncontrada = meterRegistry.counter("meme.buscar.nome.naoencontrada");
+        this.deletarIdChamadas = meterRegistry.counter("meme.deletar.id.chamadas");
+        this.deletarIdSucesso = meterRegistry.counter("meme.deletar.id.sucesso");
+        this.deletarIdTempo = meterRegistry.timer("meme.deletar.id.tempo");
+        this.deletarIdNaoEncontrada = meterRegistry.counter("meme.deletar.id.naoencontrada");
+        this.deletarNomeChamadas = meterRegistry.counter("meme.deletar.nome.chamadas");
+        this.deletarNomeSucesso = meterRegistry.counter("meme.deletar.nome.sucesso");
+        this.deletarNomeTempo = meterRegistry.timer("meme.deletar.nome.tempo");
+        this.deletarNomeNaoEncontrada = meterRegistry.counter("meme.deletar.nome.naoencontrada");
+        this.dodiaRecalculoTempo = meterRegistry.timer("meme.dodia.recalculo.tempo");
+        for (TipoReferencia tipo : TipoReferencia.values()) {
+            String tipoMetrica = tipo.name().toLowerCase();
+            fallbackAceito.put(tipo, meterRegistry.counter("meme.referencia.fallback", "tipo", tipoMetrica, "resultado", "aceito"));
+            fallbackRecusado.put(tipo, meterRegistry.counter("meme.referencia.fallback", "tipo", tipoMetrica, "resultado", "recusado"));
+        }
     }
-    public Optional<Meme> criarMeme(MemeDTO dto) {
+    public Optional<MemeRespostaDTO> criarMeme(MemeDTO dto) {
         logger.info("Recebida requisição para criar um novo meme.");
-        meterRegistry.counter("meme.criar.chamadas").increment();
+        criarChamadas.increment();
 
-        long start = System.currentTimeMillis();
-
-        try {
-            restTemplate.getForObject(URL_CATEGORIA_SERVICE + "nome/" + dto.getCategoriaNome(), Object.class);
-        } catch (HttpClientErrorException.NotFound e) {
-            logger.warn("Categoria '{}' não encontrada.", dto.getCategoriaNome());
-            meterRegistry.counter("meme.criar.categoria.naoencontrada").increment();
-            throw new RuntimeException("Categoria não encontrada: " + dto.getCategoriaNome());
-        }
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        try {
-            restTemplate.getForObject(URL_USUARIO_SERVICE + "nome/" + dto.getUsuarioNome(), Object.class);
-        } catch (HttpClientErrorException.NotFound e) {
-            logger.warn("Usuário '{}' não encontrado.", dto.getUsuarioNome());
-            meterRegistry.counter("meme.criar.usuario.naoencontrado").increment();
-            throw new RuntimeException("Usuário não encontrado: " + dto.getUsuarioNome());
-        }
+        aguardarValidacoes(validarCategoria(dto.getCategoriaNome()), validarUsuario(dto.getUsuarioNome()));
 
         Meme meme = new Meme();
         meme.setNome(dto.getNome());
@@ -62,120 +201,507 @@ public class MemeService {
         meme.setUsuarioNome(dto.getUsuarioNome());
         meme.setCategoriaNome(dto.getCategoriaNome());
         meme.setDataCadastro(LocalDate.now());
-        Meme salvo = memeRepository.save(meme);
+        Meme salvo = transactionTemplate.execute(status -> {
+            Meme novo = memeRepository.save(meme);
+            projecaoReferencias.somarMemes(List.of(novo));
+            // Consultas sem resultado também ficam em cache, então gravar um nome descarta a entrada dele.
+            memePorNome.evict(novo.getNome());
+            return novo;
+        });
+
+        MemeRespostaDTO criado = MemeRespostaDTO.de(salvo);
+        buscaMemes.indexar(List.of(criado));
 
         logger.info("Meme criado com sucesso: {}", salvo);
-        meterRegistry.counter("meme.criar.sucesso").increment();
-        meterRegistry.timer("meme.criar.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        criarSucesso.increment();
+        amostra.stop(criarTempo);
+
+        return Optional.of(criado);
+    }
+
+    /**
+     * Cria vários memes de uma vez. Cada categoria e usuário distinto do lote é validado uma
+     * única vez, em paralelo e dentro do prazo total; os memes válidos são gravados juntos.
+     */
+    public List<ItemLoteDTO> criarMemesEmLote(List<MemeDTO> dtos) {
+        logger.info("Recebida requisição para criar {} memes em lote.", dtos.size());
+        if (dtos.size() > LIMITE_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Lote excede o limite de " + LIMITE_MAXIMO_LOTE + " itens.");
+        }
+        criarLoteChamadas.increment();
+        criarLoteQuantidade.record(dtos.size());
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+
+        CompletableFuture<Set<String>> verificacaoCategorias = verificarReferencias(TipoReferencia.CATEGORIA, dtos, MemeDTO::getCategoriaNome,
+                referenciaCache::consultarCategoria, referenciaClient::categoriasExistentes);
+        CompletableFuture<Set<String>> verificacaoUsuarios = verificarReferencias(TipoReferencia.USUARIO, dtos, MemeDTO::getUsuarioNome,
+                referenciaCache::consultarUsuario, referenciaClient::usuariosExistentes);
+        aguardarVerificacoes(List.of(verificacaoCategorias, verificacaoUsuarios));
+        Set<String> categorias = verificacaoCategorias.join();
+        Set<String> usuarios = verificacaoUsuarios.join();
+
+        ItemLoteDTO[] resultados = new ItemLoteDTO[dtos.size()];
+        Map<Integer, Meme> novos = new LinkedHashMap<>();
+        LocalDate hoje = LocalDate.now();
+        for (int i = 0; i < dtos.size(); i++) {
+            MemeDTO dto = dtos.get(i);
+            String erro = validarItem(dto, categorias, usuarios);
+            if (erro != null) {
+                resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.INVALIDO, null, erro);
+                criarLoteInvalidos.increment();
+            } else {
+                novos.put(i, new Meme(null, dto.getNome(), dto.getDescricao(), dto.getUrl(), hoje,
+                        dto.getCategoriaNome(), dto.getUsuarioNome()));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            memeRepository.saveAll(novos.values());
+            projecaoReferencias.somarMemes(novos.values());
+            novos.values().forEach(meme -> memePorNome.evict(meme.getNome()));
+        });
+        novos.forEach((i, meme) -> resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.CRIADO, meme.getId(), null));
+        buscaMemes.indexar(novos.values().stream().map(MemeRespostaDTO::de).toList());
+        criarLoteCriados.increment(novos.size());
+        logger.info("Lote processado: {} memes criados de {} recebidos.", novos.size(), dtos.size());
+
+        amostra.stop(criarLoteTempo);
+
+        return List.of(resultados);
+    }
+
+    private String validarItem(MemeDTO dto, Set<String> categorias, Set<String> usuarios) {
+        if (dto == null || isBlank(dto.getNome()) || isBlank(dto.getDescricao()) || isBlank(dto.getUrl())
+                || isBlank(dto.getCategoriaNome()) || isBlank(dto.getUsuarioNome())) {
+            return "Nome, descrição, url, categoria e usuário são obrigatórios";
+        }
+        if (!categorias.contains(dto.getCategoriaNome())) {
+            return "Categoria não encontrada: " + dto.getCategoriaNome();
+        }
+        if (!usuarios.contains(dto.getUsuarioNome())) {
+            return "Usuário não encontrado: " + dto.getUsuarioNome();
+        }
+        return null;
+    }
 
-        return Optional.of(salvo);
+    /**
+     * Separa os nomes distintos do lote entre os já confirmados pelo cache e os desconhecidos;
+     * os desconhecidos são consultados em uma única requisição ao serviço dono do cadastro.
+     */
+    private CompletableFuture<Set<String>> verificarReferencias(TipoReferencia tipo, List<MemeDTO> dtos, Function<MemeDTO, String> campo,
+                                                                Function<String, ReferenciaCache.Situacao> cache,
+                                                                Function<Collection<String>, Set<String>> remoto) {
+        Set<String> existentes = new HashSet<>();
+        List<String> desconhecidos = new ArrayList<>();
+        dtos.stream()
+                .filter(Objects::nonNull)
+                .map(campo)
+                .filter(nome -> !isBlank(nome))
+                .distinct()
+                .forEach(nome -> {
+                    if (cache.apply(nome) == ReferenciaCache.Situacao.CONHECIDO) {
+                        existentes.add(nome);
+                    } else {
+                        desconhecidos.add(nome);
+                    }
+                });
+
+        if (desconhecidos.isEmpty()) {
+            return CompletableFuture.completedFuture(existentes);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            existentes.addAll(confirmar(tipo, desconhecidos, remoto));
+            return existentes;
+        }, validacaoExecutor);
+    }
+
+    /**
+     * Consulta o serviço dono do cadastro e guarda no cache os nomes confirmados, menos os que
+     * um evento removeu durante a consulta. Se o serviço estiver indisponível, recorre ao que o
+     * meme_service já sabe localmente.
+     */
+    private Set<String> confirmar(TipoReferencia tipo, Collection<String> nomes, Function<Collection<String>, Set<String>> remoto) {
+        long geracao = referenciaCache.geracao();
+        try {
+            Set<String> confirmados = remoto.apply(nomes);
+            confirmados.forEach(nome -> referenciaCache.registrar(tipo, nome, geracao));
+            return confirmados;
+        } catch (ServicoIndisponivelException e) {
+            return confirmarLocalmente(tipo, nomes, e);
+        }
     }
 
-    public List<Meme> listarTodosMemes() {
-        logger.info("Recebida requisição para listar todos os memes.");
-        meterRegistry.counter("meme.listar.todas.chamadas").increment();
+    /**
+     * Com memelandia.referencia.fallback.aceitar-conhecidos, aceita os nomes já confirmados
+     * alguma vez pelo cache, mesmo desatualizados, ou ativos na projeção alimentada pelos
+     * eventos. Se algum nome não for conhecido, a falha do serviço é repassada sem esperar.
+     */
+    private Set<String> confirmarLocalmente(TipoReferencia tipo, Collection<String> nomes, ServicoIndisponivelException falha) {
+        if (!aceitarConhecidosSemServico || !nomes.stream().allMatch(nome -> conhecidoLocalmente(tipo, nome))) {
+            fallbackRecusado.get(tipo).increment();
+            throw falha;
+        }
+        logger.warn("{} indisponível; {} aceitos pelo que é conhecido localmente.", falha.getServico(), nomes);
+        fallbackAceito.get(tipo).increment();
+        return new HashSet<>(nomes);
+    }
 
-        long start = System.currentTimeMillis();
-        List<Meme> memes = memeRepository.findAll();
-        meterRegistry.timer("meme.listar.todas.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+    private boolean conhecidoLocalmente(TipoReferencia tipo, String nome) {
+        if (tipo == TipoReferencia.CATEGORIA) {
+            return referenciaCache.contemCategoria(nome) || projecaoReferencias.buscarCategoria(nome)
+                    .map(categoria -> categoria.status() == StatusReferencia.ATIVO)
+                    .orElse(false);
+        }
+        return referenciaCache.contemUsuario(nome) || projecaoReferencias.buscarUsuario(nome)
+                .map(usuario -> usuario.status() == StatusReferencia.ATIVO)
+                .orElse(false);
+    }
+
+    private void aguardarVerificacoes(Collection<? extends CompletableFuture<?>> verificacoes) {
+        CompletableFuture<?>[] todas = verificacoes.toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(todas).get(prazoValidacao.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw causaDaFalha(e);
+        } catch (TimeoutException e) {
+            verificacoes.forEach(verificacao -> verificacao.cancel(true));
+            logger.warn("Tempo esgotado ao validar categorias e usuários do lote ({} ms).", prazoValidacao.toMillis());
+            criarValidacaoTimeout.increment();
+            throw new RuntimeException("Tempo esgotado ao validar categorias e usuários do lote.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Validação de categorias e usuários do lote interrompida.", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Pagina<MemeRespostaDTO> listarTodosMemes(String cursor, int limite) {
+        return listarTodosMemes(null, cursor, limite);
+    }
+
+    /**
+     * Os itens são montados direto na consulta, sem entidades gerenciadas; a transação somente
+     * leitura deixa a sessão do Hibernate em FlushMode.MANUAL. Com algum filtro informado, o
+     * tempo da consulta é registrado em meme.listar.filtrada.tempo em vez de meme.listar.todas.tempo.
+     */
+    @Transactional(readOnly = true)
+    public Pagina<MemeRespostaDTO> listarTodosMemes(FiltroMemes filtro, String cursor, int limite) {
+        logger.info("Recebida requisição para listar memes (cursor: {}, limite: {}).", cursor, limite);
+        listarTodasChamadas.increment();
+        boolean filtrada = filtro != null && !filtro.isVazio();
+        if (filtrada) {
+            listarFiltradaChamadas.increment();
+        }
+
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        List<MemeRespostaDTO> memes = filtrada
+                ? memeRepository.findPaginaFiltrada(filtro, cursor == null ? null : Cursor.decodificar(cursor), tamanho + 1)
+                : buscarPagina(cursor, tamanho + 1);
+        amostra.stop(filtrada ? listarFiltradaTempo : listarTodasTempo);
+
+        String proximoCursor = null;
+        if (memes.size() > tamanho) {
+            memes = memes.subList(0, tamanho);
+            MemeRespostaDTO ultimo = memes.get(tamanho - 1);
+            proximoCursor = new Cursor(ultimo.getDataCadastro(), ultimo.getId()).codificar();
+        }
 
         if (memes.isEmpty()) {
             logger.warn("A lista de memes está vazia.");
-            meterRegistry.counter("meme.listar.todas.vazio").increment();
+            listarTodasVazio.increment();
         } else {
             logger.info("Total de memes encontrados: {}", memes.size());
-            meterRegistry.counter("meme.listar.todas.sucesso").increment();
-            meterRegistry.gauge("meme.listar.todas.quantidade", memes, List::size);
+            listarTodasSucesso.increment();
+            listarTodasQuantidade.record(memes.size());
+        }
+
+        return new Pagina<>(memes, proximoCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void transmitirTodosMemes(Consumer<MemeRespostaDTO> consumidor) {
+        logger.info("Recebida requisição para transmitir todos os memes.");
+        transmitirChamadas.increment();
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try (Stream<MemeRespostaDTO> memes = memeRepository.streamTodos()) {
+            memes.forEach(consumidor);
         }
+        amostra.stop(transmitirTempo);
+    }
 
-        return memes;
+    private List<MemeRespostaDTO> buscarPagina(String cursor, int quantidade) {
+        if (cursor == null) {
+            return memeRepository.findPagina(Limit.of(quantidade));
+        }
+        Cursor posicao = Cursor.decodificar(cursor);
+        return memeRepository.findPaginaApos(posicao.getDataCadastro(), posicao.getId(), Limit.of(quantidade));
     }
 
-    public Optional<Meme> buscarMemePorId(UUID id) {
+    public Optional<MemeRespostaDTO> buscarMemePorId(UUID id) {
         logger.info("Recebida requisição para buscar meme com ID: {}", id);
-        meterRegistry.counter("meme.buscar.id.chamadas").increment();
+        buscarIdChamadas.increment();
 
-        long start = System.currentTimeMillis();
-        Optional<Meme> meme = memeRepository.findById(id);
-        meterRegistry.timer("meme.buscar.id.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Optional<MemeRespostaDTO> meme = consultar(memePorId, id, () -> memeRepository.findById(id));
+        amostra.stop(buscarIdTempo);
 
         if (meme.isPresent()) {
             logger.info("Meme encontrado: {}", meme.get());
-            meterRegistry.counter("meme.buscar.id.sucesso").increment();
+            buscarIdSucesso.increment();
         } else {
             logger.warn("Meme com ID {} não encontrado.", id);
-            meterRegistry.counter("meme.buscar.id.naoencontrada").increment();
+            buscarIdNaoEncontrada.increment();
         }
 
         return meme;
     }
 
-    public Optional<Meme> buscarMemePorNome(String nome) {
+    public Optional<MemeRespostaDTO> buscarMemePorNome(String nome) {
         logger.info("Recebida requisição para buscar meme com nome: {}", nome);
-        meterRegistry.counter("meme.buscar.nome.chamadas").increment();
+        buscarNomeChamadas.increment();
 
-        long start = System.currentTimeMillis();
-        Optional<Meme> meme = memeRepository.findByNome(nome);
-        meterRegistry.timer("meme.buscar.nome.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Optional<MemeRespostaDTO> meme = consultar(memePorNome, nome, () -> memeRepository.findByNome(nome));
+        amostra.stop(buscarNomeTempo);
 
         if (meme.isPresent()) {
             logger.info("Meme encontrado: {}", meme.get());
-            meterRegistry.counter("meme.buscar.nome.sucesso").increment();
+            buscarNomeSucesso.increment();
         } else {
             logger.warn("Meme com nome {} não encontrado.", nome);
-            meterRegistry.counter("meme.buscar.nome.naoencontrada").increment();
+            buscarNomeNaoEncontrada.increment();
         }
 
         return meme;
     }
 
+    /**
+     * Lê do cache local ou, na falta, do banco. O cache guarda o DTO, nunca a entidade, e a
+     * ausência também fica guardada. A carga de uma chave segura o descarte da mesma chave até
+     * terminar, então um descarte feito depois do commit nunca é sobrescrito por uma leitura
+     * anterior a ele.
+     */
+    private static Optional<MemeRespostaDTO> consultar(Cache cache, Object chave, Supplier<Optional<Meme>> carregar) {
+        return Optional.ofNullable(cache.get(chave, () -> carregar.get().map(MemeRespostaDTO::de).orElse(null)));
+    }
+
     public boolean deletarMemePorId(UUID id) {
         logger.info("Recebida requisição para deletar meme com ID: {}", id);
-        meterRegistry.counter("meme.deletar.id.chamadas").increment();
+        deletarIdChamadas.increment();
 
-        long start = System.currentTimeMillis();
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        Optional<Meme> memeExistente = memeRepository.findById(id);
-        if (memeExistente.isPresent()) {
-            memeRepository.deleteById(id);
+        boolean removido = !remover(() -> memeRepository.removerPorId(id)).isEmpty();
+        if (removido) {
+            descartarMemeDoDia(meme -> meme.getId().equals(id));
             logger.info("Meme com ID {} deletado com sucesso.", id);
-            meterRegistry.counter("meme.deletar.id.sucesso").increment();
-            meterRegistry.timer("meme.deletar.id.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarIdSucesso.increment();
+            amostra.stop(deletarIdTempo);
             return true;
         } else {
             logger.warn("Meme com ID {} não encontrado.", id);
-            meterRegistry.counter("meme.deletar.id.naoencontrada").increment();
-            meterRegistry.timer("meme.deletar.id.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarIdNaoEncontrada.increment();
+            amostra.stop(deletarIdTempo);
             return false;
         }
     }
 
     public boolean deletarMemePorNome(String nome) {
         logger.info("Recebida requisição para deletar meme com nome: {}", nome);
-        meterRegistry.counter("meme.deletar.nome.chamadas").increment();
+        deletarNomeChamadas.increment();
 
-        long start = System.currentTimeMillis();
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        Optional<Meme> memeExistente = memeRepository.findByNome(nome);
-        if (memeExistente.isPresent()) {
-            memeRepository.delete(memeExistente.get());
+        boolean removido = !remover(() -> memeRepository.removerPorNome(nome)).isEmpty();
+        if (removido) {
+            descartarMemeDoDia(meme -> meme.getNome().equals(nome));
             logger.info("Meme com nome {} deletado com sucesso.", nome);
-            meterRegistry.counter("meme.deletar.nome.sucesso").increment();
-            meterRegistry.timer("meme.deletar.nome.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarNomeSucesso.increment();
+            amostra.stop(deletarNomeTempo);
             return true;
         } else {
             logger.warn("Meme com nome {} não encontrado.", nome);
-            meterRegistry.counter("meme.deletar.nome.naoencontrada").increment();
-            meterRegistry.timer("meme.deletar.nome.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarNomeNaoEncontrada.increment();
+            amostra.stop(deletarNomeTempo);
             return false;
         }
     }
 
+    /**
+     * O DELETE devolve as linhas apagadas, com a categoria e o usuário a descontar da projeção
+     * na mesma transação; devolve os ids apagados, e o conjunto vazio indica que não havia linha.
+     */
+    private Set<UUID> remover(Supplier<List<Meme>> apagar) {
+        List<Meme> removidos = transactionTemplate.execute(status -> {
+            List<Meme> apagados = apagar.get();
+            projecaoReferencias.subtrairMemes(apagados);
+            descartarDosCaches(apagados);
+            return apagados;
+        });
+        Set<UUID> ids = removidos.stream().map(Meme::getId).collect(Collectors.toSet());
+        if (!ids.isEmpty()) {
+            buscaMemes.remover(ids);
+            respostasSerializadas.descartar(ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Remove até {@code limite} memes da categoria ou do usuário informado, cadastrados até a
+     * data {@code ate}, em uma transação curta, com um único DELETE que devolve as linhas
+     * apagadas. Só elas são descontadas da projeção: um meme removido no meio do caminho por
+     * outra requisição já foi descontado por ela. Devolve quantos foram removidos; zero indica
+     * que não resta nenhum.
+     */
+    public int removerMemesPorReferencia(TipoReferencia tipo, String nome, LocalDate ate, int limite) {
+        Set<UUID> ids = remover(() -> tipo == TipoReferencia.CATEGORIA
+                ? memeRepository.removerPorCategoria(nome, ate, limite)
+                : memeRepository.removerPorUsuario(nome, ate, limite));
+        if (!ids.isEmpty()) {
+            descartarMemeDoDia(meme -> ids.contains(meme.getId()));
+        }
+        return ids.size();
+    }
+
+    private void descartarDosCaches(List<Meme> memes) {
+        for (Meme meme : memes) {
+            memePorId.evict(meme.getId());
+            memePorNome.evict(meme.getNome());
+        }
+    }
+
+
+    /**
+     * O meme do dia é sorteado uma única vez por dia e mantido em memória. O sorteio usa a
+     * data como semente para escolher uma posição entre 0 e o total de memes e lê o meme nessa
+     * posição pelo índice da chave primária, sem ordenar a tabela inteira; cada meme tem a mesma
+     * chance, e as instâncias com a mesma contagem chegam ao mesmo meme no mesmo dia. O sorteio
+     * consulta o banco segurando a trava, por isso ela é um ReentrantLock e não um bloco
+     * synchronized, que prenderia a thread virtual à portadora.
+     */
+    public MemeRespostaDTO obterMemeDoDia() {
+        LocalDate hoje = LocalDate.now();
+        MemeDoDia atual = memeDoDia.get();
+        if (atual != null && atual.dia.equals(hoje)) {
+            return atual.meme;
+        }
+
+        sorteioMemeDoDia.lock();
+        try {
+            atual = memeDoDia.get();
+            if (atual != null && atual.dia.equals(hoje)) {
+                return atual.meme;
+            }
+
+            logger.info("Selecionando meme do dia {}.", hoje);
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            MemeRespostaDTO meme = sortearMeme(hoje)
+                    .map(MemeRespostaDTO::de)
+                    .orElseThrow(() -> new RuntimeException("Nenhum meme encontrado no banco de dados."));
+            amostra.stop(dodiaRecalculoTempo);
+
+            memeDoDia.set(new MemeDoDia(hoje, meme));
+            return meme;
+        } finally {
+            sorteioMemeDoDia.unlock();
+        }
+    }
+
+    private Optional<Meme> sortearMeme(LocalDate dia) {
+        long total = memeRepository.count();
+        if (total == 0) {
+            return Optional.empty();
+        }
+        long posicao = new Random(dia.toEpochDay()).nextLong(total);
+        // Uma remoção entre a contagem e a leitura pode deixar a posição além do fim.
+        return memeRepository.findNaPosicao(posicao)
+                .or(() -> memeRepository.findNaPosicao(0));
+    }
+
+    private void descartarMemeDoDia(Predicate<MemeRespostaDTO> removido) {
+        memeDoDia.updateAndGet(atual -> atual != null && removido.test(atual.meme) ? null : atual);
+    }
+
+    /**
+     * Aguarda as duas validações, que rodam em paralelo, respeitando o prazo total.
+     * A primeira falha encerra a espera sem aguardar a outra chamada.
+     */
+    private void aguardarValidacoes(CompletableFuture<Void> categoria, CompletableFuture<Void> usuario) {
+        CompletableFuture<Void> ambas = CompletableFuture.allOf(categoria, usuario);
+        CompletableFuture<Void> primeiraFalha = new CompletableFuture<>();
+        categoria.whenComplete((ok, erro) -> { if (erro != null) primeiraFalha.completeExceptionally(erro); });
+        usuario.whenComplete((ok, erro) -> { if (erro != null) primeiraFalha.completeExceptionally(erro); });
+
+        try {
+            CompletableFuture.anyOf(ambas, primeiraFalha).get(prazoValidacao.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw causaDaFalha(e);
+        } catch (TimeoutException e) {
+            categoria.cancel(true);
+            usuario.cancel(true);
+            logger.warn("Tempo esgotado ao validar categoria e usuário ({} ms).", prazoValidacao.toMillis());
+            criarValidacaoTimeout.increment();
+            throw new RuntimeException("Tempo esgotado ao validar categoria e usuário.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Validação de categoria e usuário interrompida.", e);
+        }
+    }
+
+    private static RuntimeException causaDaFalha(ExecutionException e) {
+        Throwable causa = e.getCause();
+        while (causa instanceof CompletionException && causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        if (causa instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new RuntimeException("Erro ao validar categoria e usuário.", causa);
+    }
 
-    public Meme obterMemeDoDia() {
-        logger.info("Selecionando meme do dia.");
-        return Optional.ofNullable(memeRepository.findRandomMeme())
-                .orElseThrow(() -> new RuntimeException("Nenhum meme encontrado no banco de dados."));
+    private static boolean isBlank(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    private CompletableFuture<Void> validarCategoria(String nome) {
+        if (referenciaCache.consultarCategoria(nome) == ReferenciaCache.Situacao.CONHECIDO) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            if (!confirmar(TipoReferencia.CATEGORIA, List.of(nome), referenciaClient::categoriasExistentes).contains(nome)) {
+                logger.warn("Categoria '{}' não encontrada.", nome);
+                criarCategoriaNaoEncontrada.increment();
+                throw new RuntimeException("Categoria não encontrada: " + nome);
+            }
+        }, validacaoExecutor);
+    }
+
+    private CompletableFuture<Void> validarUsuario(String nome) {
+        if (referenciaCache.consultarUsuario(nome) == ReferenciaCache.Situacao.CONHECIDO) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            if (!confirmar(TipoReferencia.USUARIO, List.of(nome), referenciaClient::usuariosExistentes).contains(nome)) {
+                logger.warn("Usuário '{}' não encontrado.", nome);
+                criarUsuarioNaoEncontrado.increment();
+                throw new RuntimeException("Usuário não encontrado: " + nome);
+            }
+        }, validacaoExecutor);
+    }
+
+    private static final class MemeDoDia {
+        private final LocalDate dia;
+        private final MemeRespostaDTO meme;
+
+        private MemeDoDia(LocalDate dia, MemeRespostaDTO meme) {
+            this.dia = dia;
+            this.meme = meme;
+        }
     }
 
 }
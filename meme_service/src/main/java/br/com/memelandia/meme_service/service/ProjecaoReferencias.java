@@ -0,0 +1,236 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.meme_service.domain.StatusReferencia;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import br.com.memelandia.meme_service.dto.ReferenciaMemesDTO;
+import br.com.memelandia.meme_service.repositories.CategoriaProjecaoRepository;
+import br.com.memelandia.meme_service.repositories.UsuarioProjecaoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * Mantém as tabelas categoria_projecao e usuario_projecao: a situação de cada nome, vinda
+ * dos eventos dos outros serviços, e a quantidade de memes que o referenciam, ajustada na
+ * mesma transação em que os memes são gravados ou removidos. As atualizações são enviadas
+ * em lote e somam ao valor atual no próprio banco, sem ler a linha antes. Cada nome é um
+ * único upsert, que cria a linha se ela ainda não existe: INSERT ... ON CONFLICT no
+ * PostgreSQL e MERGE no H2, que não tem upsert seguro entre transações simultâneas.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class ProjecaoReferencias implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjecaoReferencias.class);
+
+    private static final int LIMITE_MAXIMO_LISTAGEM = 500;
+    private static final String TABELA_CATEGORIA = "categoria_projecao";
+    private static final String TABELA_USUARIO = "usuario_projecao";
+
+    // Parâmetros: nome e status.
+    private static final String REGISTRAR_STATUS_H2 =
+            "MERGE INTO %s p USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)))) AS v(nome, status) "
+                    + "ON p.nome = v.nome "
+                    + "WHEN MATCHED THEN UPDATE SET status = v.status "
+                    + "WHEN NOT MATCHED THEN INSERT (nome, status, quantidade_memes) VALUES (v.nome, v.status, 0)";
+
+    private static final String REGISTRAR_STATUS_POSTGRESQL =
+            "INSERT INTO %s AS p (nome, status, quantidade_memes) VALUES (?, ?, 0) "
+                    + "ON CONFLICT (nome) DO UPDATE SET status = EXCLUDED.status";
+
+    // Parâmetros: nome e quantidade a somar.
+    private static final String SOMAR_MEMES_H2 =
+            "MERGE INTO %s p USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS BIGINT))) AS v(nome, quantidade) "
+                    + "ON p.nome = v.nome "
+                    + "WHEN MATCHED THEN UPDATE SET quantidade_memes = p.quantidade_memes + v.quantidade "
+                    + "WHEN NOT MATCHED THEN INSERT (nome, status, quantidade_memes) VALUES (v.nome, 'DESCONHECIDO', v.quantidade)";
+
+    private static final String SOMAR_MEMES_POSTGRESQL =
+            "INSERT INTO %s AS p (nome, status, quantidade_memes) VALUES (?, 'DESCONHECIDO', ?) "
+                    + "ON CONFLICT (nome) DO UPDATE SET quantidade_memes = p.quantidade_memes + EXCLUDED.quantidade_memes";
+
+    private static final String RECALCULAR_MEMES =
+            "MERGE INTO %1$s p USING (SELECT %2$s AS nome, COUNT(*) AS quantidade FROM meme GROUP BY %2$s) AS v "
+                    + "ON p.nome = v.nome "
+                    + "WHEN MATCHED THEN UPDATE SET quantidade_memes = v.quantidade "
+                    + "WHEN NOT MATCHED THEN INSERT (nome, status, quantidade_memes) VALUES (v.nome, 'DESCONHECIDO', v.quantidade)";
+
+    private static final String ZERAR_SEM_MEMES =
+            "UPDATE %1$s p SET quantidade_memes = 0 "
+                    + "WHERE quantidade_memes <> 0 AND NOT EXISTS (SELECT 1 FROM meme m WHERE m.%2$s = p.nome)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoriaProjecaoRepository categoriaProjecaoRepository;
+    private final UsuarioProjecaoRepository usuarioProjecaoRepository;
+    private final boolean reconciliarNaInicializacao;
+    private final Timer reconciliacaoTempo;
+    private final boolean h2;
+    private final String registrarStatus;
+    private final String somarMemes;
+
+    public ProjecaoReferencias(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               CategoriaProjecaoRepository categoriaProjecaoRepository,
+                               UsuarioProjecaoRepository usuarioProjecaoRepository, MeterRegistry meterRegistry,
+                               EntityManager entityManager,
+                               @Value("${memelandia.projecao.reconciliar-na-inicializacao:true}") boolean reconciliarNaInicializacao) {
+        Dialect dialeto = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        this.h2 = dialeto instanceof H2Dialect;
+        if (h2) {
+            this.registrarStatus = REGISTRAR_STATUS_H2;
+            this.somarMemes = SOMAR_MEMES_H2;
+        } else if (dialeto instanceof PostgreSQLDialect) {
+            this.registrarStatus = REGISTRAR_STATUS_POSTGRESQL;
+            this.somarMemes = SOMAR_MEMES_POSTGRESQL;
+        } else {
+            throw new IllegalStateException("O dialeto " + dialeto.getClass().getSimpleName()
+                    + " não tem upsert para a projeção; só H2 e PostgreSQL são suportados.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.categoriaProjecaoRepository = categoriaProjecaoRepository;
+        this.usuarioProjecaoRepository = usuarioProjecaoRepository;
+        this.reconciliarNaInicializacao = reconciliarNaInicializacao;
+        this.reconciliacaoTempo = meterRegistry.timer("meme.projecao.reconciliacao.tempo");
+    }
+
+    @Transactional
+    public void registrar(TipoReferencia tipo, Collection<String> nomes, StatusReferencia status) {
+        if (nomes.isEmpty()) {
+            return;
+        }
+        // Ordem fixa entre transações, como em somar, evita impasse nos bloqueios de linha.
+        List<Object[]> argumentos = nomes.stream()
+                .sorted()
+                .map(nome -> new Object[]{nome, status.name()})
+                .toList();
+        upsert(registrarStatus.formatted(tabela(tipo)), argumentos);
+    }
+
+    @Transactional
+    public void somarMemes(Collection<Meme> memes) {
+        ajustarQuantidades(memes, 1);
+    }
+
+    @Transactional
+    public void subtrairMemes(Collection<Meme> memes) {
+        ajustarQuantidades(memes, -1);
+    }
+
+    public List<ReferenciaMemesDTO> listarCategorias(int limite) {
+        return categoriaProjecaoRepository.findResumos(limiteDaListagem(limite));
+    }
+
+    public Optional<ReferenciaMemesDTO> buscarCategoria(String nome) {
+        return categoriaProjecaoRepository.findResumo(nome);
+    }
+
+    public List<ReferenciaMemesDTO> listarUsuarios(int limite) {
+        return usuarioProjecaoRepository.findResumos(limiteDaListagem(limite));
+    }
+
+    public Optional<ReferenciaMemesDTO> buscarUsuario(String nome) {
+        return usuarioProjecaoRepository.findResumo(nome);
+    }
+
+    /**
+     * Recalcula as quantidades a partir da tabela meme. Roda uma única vez, antes de o
+     * serviço começar a atender, para alinhar a projeção com memes gravados antes dela existir.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!reconciliarNaInicializacao) {
+            return;
+        }
+        Timer.Sample amostra = Timer.start();
+        transactionTemplate.executeWithoutResult(status -> {
+            recalcular(TABELA_CATEGORIA, "categoria_nome");
+            recalcular(TABELA_USUARIO, "usuario_nome");
+        });
+        long duracao = amostra.stop(reconciliacaoTempo);
+        logger.info("Projeção de categorias e usuários reconciliada em {} ms.", duracao / 1_000_000);
+    }
+
+    private static Limit limiteDaListagem(int limite) {
+        return Limit.of(Math.max(1, Math.min(limite, LIMITE_MAXIMO_LISTAGEM)));
+    }
+
+    private void ajustarQuantidades(Collection<Meme> memes, int sinal) {
+        somar(TABELA_CATEGORIA, contarPor(memes, Meme::getCategoriaNome), sinal);
+        somar(TABELA_USUARIO, contarPor(memes, Meme::getUsuarioNome), sinal);
+    }
+
+    private void somar(String tabela, Map<String, Long> quantidades, int sinal) {
+        if (quantidades.isEmpty()) {
+            return;
+        }
+        // Ordem fixa entre transações que ajustam os mesmos nomes evita impasse nos bloqueios de linha.
+        List<Map.Entry<String, Long>> ordenadas = quantidades.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        List<Object[]> argumentos = ordenadas.stream()
+                .map(entrada -> new Object[]{entrada.getKey(), sinal * entrada.getValue()})
+                .toList();
+        upsert(somarMemes.formatted(tabela), argumentos);
+    }
+
+    /**
+     * No PostgreSQL o ON CONFLICT espera a transação que criou a linha e a atualiza, então o
+     * lote vai inteiro. O MERGE do H2 não enxerga a linha que outra transação ainda não
+     * confirmou e, ao inserir, acusa a chave duplicada só depois que ela confirma; no H2 um
+     * comando que falha não desfaz a transação, e a nova tentativa já encontra a linha. Por
+     * isso, no H2, cada nome vai em um comando próprio.
+     */
+    private void upsert(String sql, List<Object[]> argumentos) {
+        if (!h2) {
+            jdbcTemplate.batchUpdate(sql, argumentos);
+            return;
+        }
+        for (Object[] argumento : argumentos) {
+            try {
+                jdbcTemplate.update(sql, argumento);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(sql, argumento);
+            }
+        }
+    }
+
+    private static String tabela(TipoReferencia tipo) {
+        return tipo == TipoReferencia.CATEGORIA ? TABELA_CATEGORIA : TABELA_USUARIO;
+    }
+
+    private static Map<String, Long> contarPor(Collection<Meme> memes, Function<Meme, String> campo) {
+        return memes.stream().collect(Collectors.groupingBy(campo, Collectors.counting()));
+    }
+
+    private void recalcular(String tabela, String coluna) {
+        jdbcTemplate.update(RECALCULAR_MEMES.formatted(tabela, coluna));
+        jdbcTemplate.update(ZERAR_SEM_MEMES.formatted(tabela, coluna));
+    }
+}
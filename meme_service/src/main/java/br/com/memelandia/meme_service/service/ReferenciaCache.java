@@ -0,0 +1,148 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * Cache local e limitado dos nomes de usuários e categorias conhecidos pelo meme_service.
+ * É alimentado pelos eventos de criação dos outros serviços e pelas consultas HTTP
+ * bem-sucedidas, e os eventos de remoção descartam o nome; entradas mais antigas que a
+ * validade configurada são tratadas como desatualizadas e forçam uma nova consulta remota.
+ * Cada remoção deixa a geração em que ocorreu, e a resposta de uma consulta HTTP iniciada
+ * antes dela não volta a registrar o nome.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class ReferenciaCache {
+
+    public enum Situacao { CONHECIDO, DESATUALIZADO, AUSENTE }
+
+    private final Duration validade;
+    private final Cache<String, Instant> usuarios;
+    private final Cache<String, Instant> categorias;
+    private final Cache<String, Long> remocoesUsuario;
+    private final Cache<String, Long> remocoesCategoria;
+    private final AtomicLong geracao = new AtomicLong();
+    private final Metricas metricasUsuario;
+    private final Metricas metricasCategoria;
+
+    public ReferenciaCache(MeterRegistry meterRegistry,
+                           @Value("${memelandia.referencia.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                           @Value("${memelandia.referencia.cache.validade:10m}") Duration validade) {
+        this.validade = validade;
+        this.usuarios = Caffeine.newBuilder().maximumSize(tamanhoMaximo).build();
+        this.categorias = Caffeine.newBuilder().maximumSize(tamanhoMaximo).build();
+        // Uma consulta remota dura no máximo memelandia.downstream.prazo-total, bem menos que a validade.
+        this.remocoesUsuario = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterWrite(validade).build();
+        this.remocoesCategoria = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterWrite(validade).build();
+
+        meterRegistry.gauge("meme.referencia.cache.tamanho", Tags.of("tipo", "usuario"), usuarios, Cache::estimatedSize);
+        meterRegistry.gauge("meme.referencia.cache.tamanho", Tags.of("tipo", "categoria"), categorias, Cache::estimatedSize);
+
+        this.metricasUsuario = new Metricas(meterRegistry, "usuario");
+        this.metricasCategoria = new Metricas(meterRegistry, "categoria");
+    }
+
+    public Situacao consultarUsuario(String nome) {
+        return consultar(usuarios, metricasUsuario, nome);
+    }
+
+    public Situacao consultarCategoria(String nome) {
+        return consultar(categorias, metricasCategoria, nome);
+    }
+
+    /**
+     * Indica se o nome já foi confirmado alguma vez, mesmo que a entrada esteja desatualizada.
+     * Usado quando o serviço dono do cadastro está indisponível; não conta nas métricas.
+     */
+    public boolean contemUsuario(String nome) {
+        return usuarios.getIfPresent(nome) != null;
+    }
+
+    public boolean contemCategoria(String nome) {
+        return categorias.getIfPresent(nome) != null;
+    }
+
+    public void registrarUsuario(String nome) {
+        usuarios.put(nome, Instant.now());
+    }
+
+    public void registrarCategoria(String nome) {
+        categorias.put(nome, Instant.now());
+    }
+
+    /**
+     * Geração atual das remoções; quem consulta o serviço dono do cadastro a lê antes da
+     * chamada e a repassa a {@link #registrar}.
+     */
+    public long geracao() {
+        return geracao.get();
+    }
+
+    /**
+     * Registra um nome confirmado por uma consulta iniciada na geração {@code desde}. Se o
+     * nome foi removido depois disso, a resposta já está velha e o cache não muda.
+     */
+    public void registrar(TipoReferencia tipo, String nome, long desde) {
+        Cache<String, Long> remocoes = tipo == TipoReferencia.CATEGORIA ? remocoesCategoria : remocoesUsuario;
+        Cache<String, Instant> cache = tipo == TipoReferencia.CATEGORIA ? categorias : usuarios;
+        // A conferência roda dentro do compute da chave, então um descarte do mesmo nome vem
+        // inteiro antes (e a remoção é vista) ou inteiro depois (e apaga o registro).
+        cache.asMap().compute(nome, (chave, confirmadoEm) -> {
+            Long removidoEm = remocoes.getIfPresent(chave);
+            return removidoEm != null && removidoEm > desde ? confirmadoEm : Instant.now();
+        });
+    }
+
+    public void descartarUsuario(String nome) {
+        descartar(usuarios, remocoesUsuario, nome);
+    }
+
+    public void descartarCategoria(String nome) {
+        descartar(categorias, remocoesCategoria, nome);
+    }
+
+    private void descartar(Cache<String, Instant> cache, Cache<String, Long> remocoes, String nome) {
+        remocoes.put(nome, geracao.incrementAndGet());
+        cache.invalidate(nome);
+    }
+
+    private Situacao consultar(Cache<String, Instant> cache, Metricas metricas, String nome) {
+        Instant confirmadoEm = cache.getIfPresent(nome);
+        if (confirmadoEm == null) {
+            metricas.falta.increment();
+            return Situacao.AUSENTE;
+        }
+        if (confirmadoEm.plus(validade).isBefore(Instant.now())) {
+            metricas.desatualizado.increment();
+            return Situacao.DESATUALIZADO;
+        }
+        metricas.acerto.increment();
+        return Situacao.CONHECIDO;
+    }
+
+    private static final class Metricas {
+        private final Counter acerto;
+        private final Counter falta;
+        private final Counter desatualizado;
+
+        private Metricas(MeterRegistry meterRegistry, String tipo) {
+            this.acerto = meterRegistry.counter("meme.referencia.cache.acerto", "tipo", tipo);
+            this.falta = meterRegistry.counter("meme.referencia.cache.falta", "tipo", tipo);
+            this.desatualizado = meterRegistry.counter("meme.referencia.cache.desatualizado", "tipo", tipo);
+        }
+    }
+}
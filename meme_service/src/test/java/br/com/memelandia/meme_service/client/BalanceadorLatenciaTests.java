@@ -0,0 +1,69 @@
+package br.com.memelandia.meme_service.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceadorLatenciaTests {
+
+	private final ServiceInstance rapida = new DefaultServiceInstance("rapida", "categoria-service", "10.0.0.1", 8080, false);
+	private final ServiceInstance lenta = new DefaultServiceInstance("lenta", "categoria-service", "10.0.0.2", 8080, false);
+	private final EstatisticasInstancias estatisticas =
+			new EstatisticasInstancias(Duration.ofMillis(10), Duration.ofSeconds(1), Duration.ofSeconds(2));
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void escolheAInstanciaDeMenorCusto() {
+		BalanceadorLatencia balanceador = balanceador(rapida, lenta);
+		estatisticas.iniciar(lenta);
+		estatisticas.iniciar(lenta);
+
+		for (int i = 0; i < 50; i++) {
+			assertThat(escolher(balanceador).getServer()).isSameAs(rapida);
+		}
+	}
+
+	@Test
+	void contaAsEscolhasComUmContadorPorInstancia() {
+		BalanceadorLatencia balanceador = balanceador(rapida);
+
+		for (int i = 0; i < 3; i++) {
+			escolher(balanceador);
+		}
+
+		Counter escolhas = meterRegistry.get("meme.balanceamento.escolhas")
+				.tags("servico", "categoria-service", "instancia", "10.0.0.1:8080").counter();
+		assertThat(escolhas.count()).isEqualTo(3);
+		assertThat(meterRegistry.find("meme.balanceamento.escolhas").counters()).hasSize(1);
+	}
+
+	@Test
+	void semInstanciasNaoEscolheNenhuma() {
+		BalanceadorLatencia balanceador = balanceador();
+
+		assertThat(escolher(balanceador).hasServer()).isFalse();
+		assertThat(meterRegistry.find("meme.balanceamento.escolhas").counters()).isEmpty();
+	}
+
+	private BalanceadorLatencia balanceador(ServiceInstance... instancias) {
+		ServiceInstanceListSupplier fornecedor = ServiceInstanceListSuppliers.from("categoria-service", instancias);
+		StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("instancias", fornecedor));
+		return new BalanceadorLatencia(beans.getBeanProvider(ServiceInstanceListSupplier.class), estatisticas, meterRegistry);
+	}
+
+	private Response<ServiceInstance> escolher(BalanceadorLatencia balanceador) {
+		return balanceador.choose(new DefaultRequest<>()).block();
+	}
+}
@@ -0,0 +1,115 @@
+package br.com.memelandia.meme_service.client;
+
+import br.com.memelandia.meme_service.config.HttpClientConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConexoesDownstreamTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final HttpClientConfig config = new HttpClientConfig();
+	private final Set<Integer> portasClientes = ConcurrentHashMap.newKeySet();
+	private final ExecutorService threadsServidor = Executors.newCachedThreadPool();
+	private volatile CountDownLatch liberarResposta = new CountDownLatch(0);
+	private HttpServer servidor;
+	private ConexoesDownstream conexoes;
+	private CloseableHttpClient httpClient;
+	private RestTemplate restTemplate;
+
+	@BeforeEach
+	void iniciar() throws Exception {
+		// Stub do /exists que responde que nenhum nome existe e anota a porta de cada conexão recebida.
+		servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		servidor.createContext("/categoria/exists", troca -> {
+			portasClientes.add(troca.getRemoteAddress().getPort());
+			try {
+				liberarResposta.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] corpo = "[]".getBytes(StandardCharsets.UTF_8);
+			troca.getRequestBody().readAllBytes();
+			troca.getResponseHeaders().add("Content-Type", "application/json");
+			troca.sendResponseHeaders(200, corpo.length);
+			troca.getResponseBody().write(corpo);
+			troca.close();
+		});
+		servidor.setExecutor(threadsServidor);
+		servidor.start();
+
+		conexoes = config.conexoesDownstream(meterRegistry, Duration.ofMillis(500), Duration.ofSeconds(5), 1, 1, Duration.ofMinutes(5));
+		httpClient = config.httpClientDownstream(conexoes, Duration.ofMillis(100), Duration.ofSeconds(30), Duration.ofSeconds(30));
+		restTemplate = config.restTemplate(config.requestFactoryHttp1(httpClient));
+	}
+
+	@AfterEach
+	void encerrar() throws Exception {
+		liberarResposta.countDown();
+		httpClient.close();
+		servidor.stop(0);
+		threadsServidor.shutdownNow();
+	}
+
+	@Test
+	void chamadasSeguidasReaproveitamAMesmaConexao() {
+		for (int i = 0; i < 5; i++) {
+			assertThat(consultar()).isEmpty();
+		}
+
+		assertThat(portasClientes).hasSize(1);
+		assertThat(meterRegistry.get("meme.downstream.conexao.espera").timer().count()).isEqualTo(5);
+		assertThat(meterRegistry.get("meme.downstream.conexao.uso").timer().count()).isEqualTo(5);
+		assertThat(conexoes.getTotalStats().getAvailable()).isEqualTo(1);
+		assertThat(conexoes.getTotalStats().getLeased()).isZero();
+	}
+
+	@Test
+	void poolEsgotadoFalhaDepoisDaEsperaMaxima() throws Exception {
+		liberarResposta = new CountDownLatch(1);
+		CompletableFuture<List<String>> ocupando = CompletableFuture.supplyAsync(this::consultar);
+		aguardarConexaoEmprestada();
+
+		long inicio = System.nanoTime();
+		assertThatThrownBy(this::consultar).isInstanceOf(ResourceAccessException.class);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(2000);
+
+		liberarResposta.countDown();
+		assertThat(ocupando.get(5, TimeUnit.SECONDS)).isEmpty();
+		assertThat(consultar()).isEmpty();
+	}
+
+	private List<String> consultar() {
+		String[] existentes = restTemplate.postForObject("http://localhost:" + servidor.getAddress().getPort() + "/categoria/exists",
+				List.of("humor"), String[].class);
+		return List.of(existentes);
+	}
+
+	private void aguardarConexaoEmprestada() throws InterruptedException {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (conexoes.getTotalStats().getLeased() == 0) {
+			assertThat(System.nanoTime()).as("conexão emprestada").isLessThan(limite);
+			Thread.sleep(10);
+		}
+	}
+}
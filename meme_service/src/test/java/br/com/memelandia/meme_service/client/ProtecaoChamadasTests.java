@@ -0,0 +1,55 @@
+package br.com.memelandia.meme_service.client;
+
+import br.com.memelandia.comum.cliente.ReferenciaRecusadaException;
+import br.com.memelandia.comum.cliente.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProtecaoChamadasTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ProtecaoChamadas protecao = new ProtecaoChamadas(meterRegistry, 4, 4, 50, Duration.ofSeconds(1), 80,
+			Duration.ofSeconds(10), 1, 16);
+
+	@Test
+	void falhasEAberturaDoCircuitoContamPorMotivo() {
+		for (int i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> protecao.executar("usuario-service", () -> {
+				throw new ResourceAccessException("recusada");
+			})).isInstanceOf(ServicoIndisponivelException.class);
+		}
+		assertThatThrownBy(() -> protecao.executar("usuario-service", () -> "ok"))
+				.isInstanceOf(ServicoIndisponivelException.class)
+				.hasMessageContaining("Circuito aberto");
+
+		assertThat(rejeicoes("usuario-service", "falha")).isEqualTo(4);
+		assertThat(rejeicoes("usuario-service", "circuito")).isEqualTo(1);
+		assertThat(rejeicoes("usuario-service", "bulkhead")).isZero();
+		assertThat(meterRegistry.get("meme.protecao.transicoes")
+				.tags("servico", "usuario-service", "de", "CLOSED", "para", "OPEN").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void recusaDoServicoPassaSemContarComoRejeicao() {
+		ReferenciaRecusadaException recusa =
+				new ReferenciaRecusadaException("categoria-service", HttpStatus.BAD_REQUEST, "nome inválido", null);
+
+		assertThatThrownBy(() -> protecao.executar("categoria-service", () -> {
+			throw recusa;
+		})).isSameAs(recusa);
+
+		assertThat(rejeicoes("categoria-service", "falha")).isZero();
+		assertThat(protecao.executar("categoria-service", () -> "ok")).isEqualTo("ok");
+	}
+
+	private double rejeicoes(String servico, String motivo) {
+		return meterRegistry.get("meme.protecao.rejeicoes").tags("servico", servico, "motivo", motivo).counter().count();
+	}
+}
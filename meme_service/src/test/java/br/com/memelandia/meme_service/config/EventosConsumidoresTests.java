@@ -0,0 +1,115 @@
+package br.com.memelandia.meme_service.config;
+
+import br.com.memelandia.meme_service.domain.ExpurgoPendente;
+import br.com.memelandia.meme_service.domain.StatusReferencia;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import br.com.memelandia.meme_service.dto.CategoriaEvento;
+import br.com.memelandia.meme_service.dto.ReferenciaMemesDTO;
+import br.com.memelandia.meme_service.dto.TipoEvento;
+import br.com.memelandia.meme_service.dto.UsuarioEvento;
+import br.com.memelandia.meme_service.repositories.ExpurgoPendenteRepository;
+import br.com.memelandia.meme_service.service.ProjecaoReferencias;
+import br.com.memelandia.meme_service.service.ReferenciaCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+		"memelandia.expurgo.intervalo=1h",
+		"memelandia.expurgo.recontagem=1h"
+})
+class EventosConsumidoresTests {
+
+	@Autowired
+	@Qualifier("usuarioEventos")
+	private Consumer<List<UsuarioEvento>> usuarioEventos;
+
+	@Autowired
+	@Qualifier("categoriaEventos")
+	private Consumer<List<CategoriaEvento>> categoriaEventos;
+
+	@Autowired
+	private ReferenciaCache referenciaCache;
+
+	@Autowired
+	private ProjecaoReferencias projecaoReferencias;
+
+	@Autowired
+	private ExpurgoPendenteRepository expurgoPendenteRepository;
+
+	@BeforeEach
+	void limpar() {
+		expurgoPendenteRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void valeOUltimoEventoDeCadaUsuarioDoLote() {
+		String criadoERemovido = nome();
+		String removidoERecriado = nome();
+		String criado = nome();
+		referenciaCache.registrarUsuario(criadoERemovido);
+
+		usuarioEventos.accept(List.of(
+				usuario(TipoEvento.CRIACAO, criadoERemovido),
+				usuario(TipoEvento.REMOCAO, removidoERecriado),
+				usuario(TipoEvento.CRIACAO, criado),
+				usuario(TipoEvento.REMOCAO, criadoERemovido),
+				usuario(TipoEvento.CRIACAO, removidoERecriado)));
+
+		assertThat(referenciaCache.contemUsuario(criadoERemovido)).isFalse();
+		assertThat(referenciaCache.consultarUsuario(removidoERecriado)).isEqualTo(ReferenciaCache.Situacao.CONHECIDO);
+		assertThat(referenciaCache.consultarUsuario(criado)).isEqualTo(ReferenciaCache.Situacao.CONHECIDO);
+		assertThat(projecaoReferencias.buscarUsuario(criadoERemovido)).map(ReferenciaMemesDTO::status).contains(StatusReferencia.REMOVIDO);
+		assertThat(projecaoReferencias.buscarUsuario(removidoERecriado)).map(ReferenciaMemesDTO::status).contains(StatusReferencia.ATIVO);
+		assertThat(expurgoPendenteRepository.findAll())
+				.extracting(ExpurgoPendente::getTipo, ExpurgoPendente::getNome)
+				.containsExactly(tuple(TipoReferencia.USUARIO, criadoERemovido));
+	}
+
+	@Test
+	void criacaoEmLotePosteriorCancelaOExpurgoEARemocaoDescartaDoCache() {
+		String categoria = nome();
+
+		categoriaEventos.accept(List.of(categoria(TipoEvento.CRIACAO, categoria)));
+		assertThat(referenciaCache.consultarCategoria(categoria)).isEqualTo(ReferenciaCache.Situacao.CONHECIDO);
+
+		long geracao = referenciaCache.geracao();
+		categoriaEventos.accept(List.of(categoria(TipoEvento.REMOCAO, categoria)));
+		assertThat(referenciaCache.consultarCategoria(categoria)).isEqualTo(ReferenciaCache.Situacao.AUSENTE);
+		assertThat(expurgoPendenteRepository.count()).isEqualTo(1);
+
+		// Uma consulta HTTP iniciada antes da remoção responde depois dela.
+		referenciaCache.registrar(TipoReferencia.CATEGORIA, categoria, geracao);
+		assertThat(referenciaCache.contemCategoria(categoria)).isFalse();
+
+		categoriaEventos.accept(List.of(categoria(TipoEvento.CRIACAO, categoria)));
+		assertThat(referenciaCache.consultarCategoria(categoria)).isEqualTo(ReferenciaCache.Situacao.CONHECIDO);
+		assertThat(projecaoReferencias.buscarCategoria(categoria)).map(ReferenciaMemesDTO::status).contains(StatusReferencia.ATIVO);
+		assertThat(expurgoPendenteRepository.count()).isZero();
+	}
+
+	private static String nome() {
+		return "nome-" + UUID.randomUUID();
+	}
+
+	private static UsuarioEvento usuario(TipoEvento tipo, String nome) {
+		UsuarioEvento evento = new UsuarioEvento(UUID.randomUUID(), nome);
+		evento.setTipo(tipo);
+		return evento;
+	}
+
+	private static CategoriaEvento categoria(TipoEvento tipo, String nome) {
+		CategoriaEvento evento = new CategoriaEvento(UUID.randomUUID(), nome);
+		evento.setTipo(tipo);
+		return evento;
+	}
+}
@@ -0,0 +1,51 @@
+package br.com.memelandia.meme_service.config;
+
+import br.com.memelandia.meme_service.client.ConexoesDownstream;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTests {
+
+	// Converte os valores de @Value como "500ms" em Duration, como na aplicação.
+	private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+			.withInitializer(aplicacao -> aplicacao.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withUserConfiguration(HttpClientConfig.class);
+
+	@Test
+	void http1UsaOPoolDeConexoes() {
+		contexto.run(aplicacao -> {
+			assertThat(aplicacao).hasSingleBean(ConexoesDownstream.class).hasSingleBean(CloseableHttpClient.class)
+					.doesNotHaveBean(HttpClient.class);
+			assertThat(aplicacao.getBean(RestTemplate.class).getRequestFactory())
+					.isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+			assertThat(aplicacao.getBean(MeterRegistry.class).find("meme.downstream.conexao.espera").timer()).isNotNull();
+		});
+	}
+
+	@Test
+	void h2cNaoCriaOPoolEFechaOClienteDoJdk() {
+		AtomicReference<HttpClient> cliente = new AtomicReference<>();
+		contexto.withPropertyValues("memelandia.downstream.protocolo=h2c").run(aplicacao -> {
+			assertThat(aplicacao).doesNotHaveBean(ConexoesDownstream.class).doesNotHaveBean(CloseableHttpClient.class)
+					.hasSingleBean(HttpClient.class);
+			assertThat(aplicacao.getBean(RestTemplate.class).getRequestFactory()).isInstanceOf(JdkClientHttpRequestFactory.class);
+			assertThat(aplicacao.getBean(MeterRegistry.class).find("meme.downstream.conexao.espera").timer()).isNull();
+			cliente.set(aplicacao.getBean(HttpClient.class));
+		});
+
+		assertThat(cliente.get().isTerminated()).isTrue();
+	}
+}
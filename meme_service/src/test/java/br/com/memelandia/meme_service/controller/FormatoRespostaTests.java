@@ -0,0 +1,111 @@
+package br.com.memelandia.meme_service.controller;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.resposta.RespostasSerializadas;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FormatoRespostaTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private UUID id;
+
+	@BeforeEach
+	void preparar() {
+		memeRepository.deleteAllInBatch();
+		id = memeRepository.save(new Meme(null, "gato", "descricao", "http://memes/gato", LocalDate.now(), "humor", "ana")).getId();
+	}
+
+	@Test
+	void memeEmCacheSaiNoFormatoPedidoIgualAoDoConversorDoSpring() throws Exception {
+		for (MediaType formato : RespostasSerializadas.FORMATOS) {
+			// A segunda leitura já vem do cache; a busca por nome passa pelo conversor do Spring MVC.
+			byte[] carregado = ler("/meme/{id}", id, formato);
+			byte[] doCache = ler("/meme/{id}", id, formato);
+			byte[] doConversor = ler("/meme/name/{name}", "gato", formato);
+
+			assertThat(doCache).isEqualTo(carregado);
+			assertThat(doCache).isEqualTo(doConversor);
+		}
+		JsonNode meme = objectMapper.readTree(ler("/meme/{id}", id, MediaType.APPLICATION_JSON));
+		assertThat(meme.get("id").asText()).isEqualTo(id.toString());
+		assertThat(Jackson2ObjectMapperBuilder.cbor().build().readTree(ler("/meme/{id}", id, MediaType.APPLICATION_CBOR))
+				.get("nome").asText()).isEqualTo("gato");
+	}
+
+	@Test
+	void acceptPorPreferenciaEscolheOFormato() throws Exception {
+		mockMvc.perform(get("/meme/{id}", id).header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+		mockMvc.perform(get("/meme/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void formatoSemSuporteDevolve406() throws Exception {
+		mockMvc.perform(get("/meme/{id}", id).accept(MediaType.APPLICATION_XML))
+				.andExpect(status().isNotAcceptable());
+	}
+
+	@Test
+	void memeDoDiaVariaPeloAccept() throws Exception {
+		mockMvc.perform(get("/meme/meme-do-dia").accept(RespostasSerializadas.APPLICATION_SMILE))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(RespostasSerializadas.APPLICATION_SMILE))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+	}
+
+	@Test
+	void memeDoDiaTemUmaEtagPorFormato() throws Exception {
+		String json = mockMvc.perform(get("/meme/meme-do-dia").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(json).endsWith("-json\"");
+		mockMvc.perform(get("/meme/meme-do-dia").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, json))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, json.replace("-json\"", "-cbor\"")));
+		mockMvc.perform(get("/meme/meme-do-dia").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, json))
+				.andExpect(status().isNotModified());
+	}
+
+	private byte[] ler(String caminho, Object variavel, MediaType formato) throws Exception {
+		return mockMvc.perform(get(caminho, variavel).accept(formato))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(formato))
+				.andReturn().getResponse().getContentAsByteArray();
+	}
+
+}
@@ -0,0 +1,124 @@
+package br.com.memelandia.meme_service.controller;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListagemPorCursorTests {
+
+	private static final LocalDate DIA = LocalDate.of(2024, 5, 10);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void limpar() {
+		memeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void paginasCobremTodosOsMemesUmaVezMesmoComDatasEmpatadas() throws Exception {
+		List<Meme> memes = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			// Cinco memes no mesmo dia: só o id desempata a ordem entre eles.
+			LocalDate data = i < 5 ? DIA : DIA.plusDays(i);
+			memes.add(new Meme(null, "meme-" + i, "descricao", "http://memes/" + i, data, "humor", "ana"));
+		}
+		memeRepository.saveAll(memes);
+
+		List<JsonNode> lidos = new ArrayList<>();
+		String cursor = null;
+		int paginas = 0;
+		do {
+			JsonNode pagina = listar(cursor, 2);
+			pagina.get("itens").forEach(lidos::add);
+			cursor = pagina.get("proximoCursor").isNull() ? null : pagina.get("proximoCursor").asText();
+			paginas++;
+		} while (cursor != null && paginas < 10);
+
+		assertThat(paginas).isEqualTo(4);
+		Set<String> ids = lidos.stream().map(item -> item.get("id").asText()).collect(Collectors.toSet());
+		assertThat(ids).hasSize(7)
+				.isEqualTo(memes.stream().map(meme -> meme.getId().toString()).collect(Collectors.toSet()));
+		List<LocalDate> datas = lidos.stream().map(item -> LocalDate.parse(item.get("dataCadastro").asText())).toList();
+		assertThat(datas).isSorted();
+	}
+
+	@Test
+	void ultimaPaginaNaoTemProximoCursor() throws Exception {
+		memeRepository.save(new Meme(null, "unico", "descricao", "http://memes/unico", DIA, "humor", "ana"));
+
+		JsonNode pagina = listar(null, 5);
+
+		assertThat(pagina.get("itens")).hasSize(1);
+		assertThat(pagina.get("proximoCursor").isNull()).isTrue();
+	}
+
+	@Test
+	void cursorInvalidoResponde400() throws Exception {
+		mockMvc.perform(get("/meme").param("cursor", "nao-e-um-cursor").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/meme").param("cursor", "nao-e-um-cursor").param("categoria", "humor")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void cursorDeUmMemeRemovidoContinuaDeOndeParou() throws Exception {
+		List<Meme> memes = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			memes.add(new Meme(null, "meme-" + i, "descricao", "http://memes/" + i, DIA, "humor", "ana"));
+		}
+		memeRepository.saveAll(memes);
+		JsonNode primeira = listar(null, 2);
+		String ultimoLido = primeira.get("itens").get(1).get("id").asText();
+
+		memeRepository.removerPorId(UUID.fromString(ultimoLido));
+		JsonNode segunda = listar(primeira.get("proximoCursor").asText(), 2);
+
+		Set<String> ids = new HashSet<>();
+		primeira.get("itens").forEach(item -> ids.add(item.get("id").asText()));
+		segunda.get("itens").forEach(item -> assertThat(ids.add(item.get("id").asText())).isTrue());
+		assertThat(ids).hasSize(4);
+	}
+
+	private JsonNode listar(String cursor, int limite) throws Exception {
+		var requisicao = get("/meme").param("limite", String.valueOf(limite)).accept(MediaType.APPLICATION_JSON);
+		if (cursor != null) {
+			requisicao.param("cursor", cursor);
+		}
+		String corpo = mockMvc.perform(requisicao)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(corpo);
+	}
+
+}
@@ -0,0 +1,103 @@
+package br.com.memelandia.meme_service.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collection;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReferenciaRecusadaTests {
+
+	// Acima de memelandia.protecao.circuito.minimo-chamadas: se contassem como falha, o circuito abriria.
+	private static final int RECUSAS = 15;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private RestTemplate restTemplate;
+
+	@MockitoBean
+	private LoadBalancerClient balanceador;
+
+	// Trocada pelos testes em vez de refazer o stub: uma validação da requisição anterior ainda
+	// pode estar chamando o RestTemplate, já que a primeira recusa encerra a espera pela outra.
+	private volatile RuntimeException falha;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void preparar() {
+		falha = null;
+		when(balanceador.choose(anyString())).thenAnswer(chamada ->
+				new DefaultServiceInstance("1", chamada.getArgument(0), "localhost", 8080, false));
+		when(restTemplate.exchange(any(RequestEntity.class), eq(String[].class))).thenAnswer(chamada -> {
+			if (falha != null) {
+				throw falha;
+			}
+			// Todos os nomes consultados existem.
+			Collection<String> nomes = (Collection<String>) chamada.<RequestEntity<?>>getArgument(0).getBody();
+			return ResponseEntity.ok(nomes.toArray(String[]::new));
+		});
+	}
+
+	@Test
+	void recusa4xxVoltaComOMesmoStatusSemAbrirOCircuito() throws Exception {
+		falha = HttpClientErrorException.create(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", null, null, null);
+
+		for (int i = 0; i < RECUSAS; i++) {
+			mockMvc.perform(post("/meme").contentType(MediaType.APPLICATION_JSON).content(meme("recusada", "beto")))
+					.andExpect(status().isUnprocessableEntity());
+		}
+
+		falha = null;
+		mockMvc.perform(post("/meme").contentType(MediaType.APPLICATION_JSON).content(meme("recusada", "beto")))
+				.andExpect(status().isCreated());
+	}
+
+	@Test
+	void recusa4xxNoLoteVoltaComOMesmoStatusEAMensagem() throws Exception {
+		falha = HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null);
+
+		mockMvc.perform(post("/meme/batch").contentType(MediaType.APPLICATION_JSON).content("[" + meme("lote", "carla") + "]"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string(containsString("recusou a consulta: 400")));
+	}
+
+	@Test
+	void falha5xxContinuaComoServicoIndisponivel() throws Exception {
+		falha = HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", null, null, null);
+
+		mockMvc.perform(post("/meme").contentType(MediaType.APPLICATION_JSON).content(meme("instavel", "davi")))
+				.andExpect(status().isServiceUnavailable());
+	}
+
+	private static String meme(String categoria, String usuario) {
+		return "{\"nome\":\"meme\",\"descricao\":\"descricao\",\"url\":\"http://memes/1\",\"categoriaNome\":\"" + categoria
+				+ "\",\"usuarioNome\":\"" + usuario + "\"}";
+	}
+
+}
@@ -0,0 +1,53 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.meme_service.client.ReferenciaClient;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class BuscaAposRemocaoTests {
+
+	@Autowired
+	private MemeService memeService;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@MockitoBean
+	private ReferenciaClient referenciaClient;
+
+	@MockitoSpyBean
+	private BuscaMemes buscaMemes;
+
+	@Test
+	void memeApagadoAntesDeSerIndexadoNaoApareceNaBusca() {
+		String nome = "meme" + UUID.randomUUID().toString().replace("-", "");
+		when(referenciaClient.categoriasExistentes(anyCollection())).thenAnswer(chamada -> Set.copyOf(chamada.<Collection<String>>getArgument(0)));
+		when(referenciaClient.usuariosExistentes(anyCollection())).thenAnswer(chamada -> Set.copyOf(chamada.<Collection<String>>getArgument(0)));
+		// A criação já confirmou quando a remoção por nome passa à frente do indexar.
+		doAnswer(chamada -> {
+			assertThat(memeService.deletarMemePorNome(nome)).isTrue();
+			return chamada.callRealMethod();
+		}).when(buscaMemes).indexar(anyCollection());
+
+		memeService.criarMeme(new MemeDTO(nome, "descricao", "http://memes/" + nome, "humor", "ana"));
+		buscaMemes.renovarLeitor();
+
+		assertThat(memeRepository.findByNome(nome)).isEmpty();
+		assertThat(buscaMemes.buscar(nome, 10)).isEmpty();
+	}
+}
@@ -0,0 +1,126 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BuscaMemesTests {
+
+	private final MemeRepository memeRepository = mock(MemeRepository.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private BuscaMemes buscaMemes;
+
+	@AfterEach
+	void fechar() throws Exception {
+		buscaMemes.destroy();
+	}
+
+	@Test
+	void remocaoDuranteAReconstrucaoNaoVoltaAoIndice() throws Exception {
+		MemeRespostaDTO apagado = meme("gato apagado");
+		MemeRespostaDTO mantido = meme("gato mantido");
+		CountDownLatch lido = new CountDownLatch(1);
+		CountDownLatch removido = new CountDownLatch(1);
+		// O fluxo já leu a linha do meme apagado, mas só o indexa depois que a remoção passou pelo índice.
+		when(memeRepository.streamTodos()).thenReturn(Stream.of(apagado, mantido).peek(meme -> {
+			if (meme == apagado) {
+				lido.countDown();
+				aguardar(removido);
+			}
+		}));
+
+		buscaMemes = buscaMemes(true, Duration.ofMinutes(1));
+		buscaMemes.afterSingletonsInstantiated();
+		assertThat(lido.await(5, TimeUnit.SECONDS)).isTrue();
+		buscaMemes.remover(List.of(apagado.getId()));
+		removido.countDown();
+		aguardarReconstrucao();
+
+		assertThat(buscaMemes.buscar("gato", 10)).extracting(MemeRespostaDTO::getId).containsExactly(mantido.getId());
+	}
+
+	@Test
+	void remocaoEntreOCommitEOIndexarNaoVoltaAoIndice() throws Exception {
+		MemeRespostaDTO apagado = meme("gato apagado");
+		buscaMemes = buscaMemes(false, Duration.ofMinutes(1));
+
+		// A criação confirmou, mas a remoção chegou ao índice antes dela.
+		buscaMemes.remover(List.of(apagado.getId()));
+		buscaMemes.indexar(List.of(apagado));
+		buscaMemes.renovarLeitor();
+
+		assertThat(buscaMemes.buscar("gato", 10)).isEmpty();
+	}
+
+	@Test
+	void lapideVencidaEhDescartadaNaRenovacao() throws Exception {
+		MemeRespostaDTO meme = meme("gato");
+		buscaMemes = buscaMemes(false, Duration.ZERO);
+
+		buscaMemes.remover(List.of(meme.getId()));
+		buscaMemes.indexar(List.of(meme));
+		Thread.sleep(5);
+		buscaMemes.renovarLeitor();
+		assertThat(buscaMemes.buscar("gato", 10)).isEmpty();
+
+		buscaMemes.indexar(List.of(meme));
+		buscaMemes.renovarLeitor();
+		assertThat(buscaMemes.buscar("gato", 10)).extracting(MemeRespostaDTO::getId).containsExactly(meme.getId());
+	}
+
+	@Test
+	void buscaPesaONomeAcimaDaDescricaoEIgnoraAcentos() throws Exception {
+		MemeRespostaDTO naDescricao = new MemeRespostaDTO(UUID.randomUUID(), "cachorro", "um gato ao fundo", "http://memes/1",
+				LocalDate.now(), "humor", "ana");
+		MemeRespostaDTO noNome = new MemeRespostaDTO(UUID.randomUUID(), "Gatô bravo", "descricao", "http://memes/2",
+				LocalDate.now(), "humor", "ana");
+		buscaMemes = buscaMemes(false, Duration.ofMinutes(1));
+
+		buscaMemes.indexar(List.of(naDescricao, noNome));
+		buscaMemes.renovarLeitor();
+
+		assertThat(buscaMemes.buscar("GATO", 10)).extracting(MemeRespostaDTO::getId)
+				.containsExactly(noNome.getId(), naDescricao.getId());
+	}
+
+	private BuscaMemes buscaMemes(boolean reconstruir, Duration validadeLapides) throws Exception {
+		return new BuscaMemes(memeRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry,
+				reconstruir, validadeLapides);
+	}
+
+	private void aguardarReconstrucao() throws InterruptedException {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("meme.busca.reconstrucao.tempo").timer().count() == 0) {
+			assertThat(System.nanoTime()).as("reconstrução concluída").isLessThan(limite);
+			Thread.sleep(10);
+		}
+	}
+
+	private static void aguardar(CountDownLatch sinal) {
+		try {
+			sinal.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static MemeRespostaDTO meme(String nome) {
+		return new MemeRespostaDTO(UUID.randomUUID(), nome, "descricao", "http://memes/" + nome, LocalDate.now(), "humor", "ana");
+	}
+}
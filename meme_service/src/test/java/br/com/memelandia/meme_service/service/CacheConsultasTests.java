@@ -0,0 +1,107 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service.repositories.CategoriaProjecaoRepository;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CacheConsultasTests {
+
+	@Autowired
+	private MemeService memeService;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@Autowired
+	private ProjecaoReferencias projecaoReferencias;
+
+	@Autowired
+	private CategoriaProjecaoRepository categoriaProjecaoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	void limpar() {
+		memeRepository.deleteAllInBatch();
+		categoriaProjecaoRepository.deleteAllInBatch();
+		cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+	}
+
+	@Test
+	void consultaGuardaODtoENaoAEntidade() {
+		UUID id = salvar(meme("guardado")).getId();
+
+		memeService.buscarMemePorId(id);
+		memeService.buscarMemePorNome("guardado");
+
+		assertThat(cache("memePorId").get(id).get()).isInstanceOf(MemeRespostaDTO.class);
+		assertThat(cache("memePorNome").get("guardado").get()).isInstanceOf(MemeRespostaDTO.class);
+	}
+
+	@Test
+	void remocaoSoDescartaOCacheDepoisDoCommit() {
+		UUID id = salvar(meme("removido")).getId();
+		memeService.buscarMemePorId(id);
+		memeService.buscarMemePorNome("removido");
+
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(memeService.deletarMemePorId(id)).isTrue();
+			assertThat(cache("memePorId").get(id)).isNotNull();
+			assertThat(cache("memePorNome").get("removido")).isNotNull();
+		});
+
+		assertThat(cache("memePorId").get(id)).isNull();
+		assertThat(cache("memePorNome").get("removido")).isNull();
+		assertThat(memeService.buscarMemePorId(id)).isEmpty();
+	}
+
+	@Test
+	void remocaoDesfeitaMantemOCache() {
+		UUID id = salvar(meme("mantido")).getId();
+		memeService.buscarMemePorId(id);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			memeService.deletarMemePorId(id);
+			status.setRollbackOnly();
+		});
+
+		assertThat(cache("memePorId").get(id)).isNotNull();
+		assertThat(memeService.buscarMemePorId(id)).isPresent();
+	}
+
+	private Cache cache(String nome) {
+		return cacheManager.getCache(nome);
+	}
+
+	private Meme salvar(Meme meme) {
+		return transactionTemplate.execute(status -> {
+			Meme salvo = memeRepository.save(meme);
+			projecaoReferencias.somarMemes(List.of(salvo));
+			return salvo;
+		});
+	}
+
+	private static Meme meme(String nome) {
+		return new Meme(null, nome, "descricao", "http://memes/" + nome, LocalDate.now(), "humor", "ana");
+	}
+
+}
@@ -0,0 +1,91 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.meme_service.client.ReferenciaClient;
+import br.com.memelandia.meme_service.dto.ItemLoteDTO;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class CriacaoLoteTests {
+
+	@Autowired
+	private MemeService memeService;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@MockitoBean
+	private ReferenciaClient referenciaClient;
+
+	// Nomes novos a cada teste, para que o cache de referências não responda no lugar do cliente.
+	private String categoria;
+	private String categoriaAusente;
+	private String usuario;
+
+	@BeforeEach
+	void preparar() {
+		memeRepository.deleteAllInBatch();
+		categoria = "categoria-" + UUID.randomUUID();
+		categoriaAusente = "ausente-" + UUID.randomUUID();
+		usuario = "usuario-" + UUID.randomUUID();
+	}
+
+	@Test
+	void criaOsValidosEApontaOsInvalidosNaPosicaoEnviada() {
+		when(referenciaClient.categoriasExistentes(anyCollection())).thenReturn(Set.of(categoria));
+		when(referenciaClient.usuariosExistentes(anyCollection())).thenAnswer(chamada -> Set.copyOf(chamada.<Collection<String>>getArgument(0)));
+
+		List<ItemLoteDTO> resultados = memeService.criarMemesEmLote(List.of(
+				meme("primeiro", categoria),
+				meme("sem-categoria", categoriaAusente),
+				meme("segundo", categoria),
+				meme(" ", categoria)));
+
+		assertThat(resultados).extracting(ItemLoteDTO::getIndice).containsExactly(0, 1, 2, 3);
+		assertThat(resultados).extracting(ItemLoteDTO::getStatus).containsExactly(
+				ItemLoteDTO.Status.CRIADO, ItemLoteDTO.Status.INVALIDO, ItemLoteDTO.Status.CRIADO, ItemLoteDTO.Status.INVALIDO);
+		assertThat(resultados.get(1).getMensagem()).contains(categoriaAusente);
+		assertThat(memeRepository.findById(resultados.get(0).getId())).isPresent();
+		assertThat(memeRepository.findById(resultados.get(2).getId())).isPresent();
+		assertThat(memeRepository.count()).isEqualTo(2);
+
+		// Uma única consulta por serviço, com cada nome distinto do lote uma vez.
+		verify(referenciaClient).categoriasExistentes(argThat(nomes -> nomes.size() == 2
+				&& Set.copyOf(nomes).equals(Set.of(categoria, categoriaAusente))));
+		verify(referenciaClient).usuariosExistentes(argThat(nomes -> List.copyOf(nomes).equals(List.of(usuario))));
+	}
+
+	@Test
+	void loteAcimaDoLimiteEhRecusadoSemConsultarOsServicos() {
+		List<MemeDTO> lote = Collections.nCopies(5001, meme("repetido", categoria));
+
+		assertThatThrownBy(() -> memeService.criarMemesEmLote(lote))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		verifyNoInteractions(referenciaClient);
+		assertThat(memeRepository.count()).isZero();
+	}
+
+	private MemeDTO meme(String nome, String categoria) {
+		return new MemeDTO(nome, "descricao", "http://memes/" + nome, categoria, usuario);
+	}
+}
@@ -0,0 +1,101 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import br.com.memelandia.meme_service.repositories.ExpurgoPendenteRepository;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"memelandia.expurgo.intervalo=1h",
+		"memelandia.expurgo.recontagem=1h"
+})
+class ExpurgoMemesTests {
+
+	@Autowired
+	private ExpurgoMemes expurgoMemes;
+
+	@Autowired
+	private ExpurgoPendenteRepository expurgoPendenteRepository;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void limpar() {
+		memeRepository.deleteAllInBatch();
+		expurgoPendenteRepository.deleteAllInBatch();
+		expurgoMemes.recontarPendentes();
+	}
+
+	@Test
+	void expurgoRemoveSoOsMemesCadastradosAteARemocao() {
+		LocalDate hoje = LocalDate.now();
+		memeRepository.saveAll(List.of(
+				meme("antigo", hoje.minusDays(3)),
+				meme("de-hoje", hoje),
+				meme("depois", hoje.plusDays(1))));
+
+		agendar("humor");
+		assertThat(pendentes()).isEqualTo(1);
+
+		expurgoMemes.processarPendentes();
+
+		assertThat(memeRepository.findAll()).extracting(Meme::getNome).containsExactly("depois");
+		assertThat(expurgoPendenteRepository.count()).isZero();
+		assertThat(pendentes()).isZero();
+	}
+
+	@Test
+	void criacaoDoMesmoNomeCancelaOExpurgoPendente() {
+		memeRepository.save(meme("antigo", LocalDate.now()));
+		agendar("humor");
+
+		transactionTemplate.executeWithoutResult(status -> expurgoMemes.cancelar(TipoReferencia.CATEGORIA, List.of("humor")));
+		expurgoMemes.processarPendentes();
+
+		assertThat(memeRepository.count()).isEqualTo(1);
+		assertThat(expurgoPendenteRepository.count()).isZero();
+		assertThat(pendentes()).isZero();
+	}
+
+	@Test
+	void agendamentoDesfeitoNaoContaComoPendente() {
+		transactionTemplate.executeWithoutResult(status -> {
+			expurgoMemes.agendar(TipoReferencia.CATEGORIA, List.of("humor"));
+			status.setRollbackOnly();
+		});
+
+		assertThat(expurgoPendenteRepository.count()).isZero();
+		assertThat(pendentes()).isZero();
+	}
+
+	private void agendar(String categoria) {
+		transactionTemplate.executeWithoutResult(status -> expurgoMemes.agendar(TipoReferencia.CATEGORIA, List.of(categoria)));
+	}
+
+	private double pendentes() {
+		return meterRegistry.get("meme.expurgo.pendentes").gauge().value();
+	}
+
+	private static Meme meme(String nome, LocalDate dataCadastro) {
+		return new Meme(null, nome, "descricao", "http://memes/" + nome, dataCadastro, "humor", "ana");
+	}
+
+}
@@ -0,0 +1,65 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MemeDoDiaTests {
+
+	@Autowired
+	private MemeService memeService;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@BeforeEach
+	void limpar() {
+		memeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void cadaPosicaoDoIndiceDevolveUmMemeDiferente() {
+		Set<UUID> ids = salvarMemes(5);
+
+		Set<UUID> lidos = LongStream.range(0, 5)
+				.mapToObj(posicao -> memeRepository.findNaPosicao(posicao).orElseThrow().getId())
+				.collect(Collectors.toSet());
+
+		assertThat(lidos).isEqualTo(ids);
+		assertThat(memeRepository.findNaPosicao(5)).isEmpty();
+	}
+
+	@Test
+	void memeDoDiaEhUmDosMemesCadastrados() {
+		Set<UUID> ids = salvarMemes(3);
+
+		MemeRespostaDTO meme = memeService.obterMemeDoDia();
+
+		assertThat(ids).contains(meme.getId());
+		assertThat(memeService.obterMemeDoDia().getId()).isEqualTo(meme.getId());
+	}
+
+	private Set<UUID> salvarMemes(int quantidade) {
+		List<Meme> memes = new ArrayList<>();
+		for (int i = 0; i < quantidade; i++) {
+			memes.add(new Meme(null, "dodia-" + i, "descricao", "http://memes/" + i, LocalDate.now(), "humor", "ana"));
+		}
+		return memeRepository.saveAll(memes).stream().map(Meme::getId).collect(Collectors.toSet());
+	}
+
+}
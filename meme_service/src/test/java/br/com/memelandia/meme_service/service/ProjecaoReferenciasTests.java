@@ -0,0 +1,103 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.meme_service.domain.CategoriaProjecao;
+import br.com.memelandia.meme_service.domain.StatusReferencia;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import br.com.memelandia.meme_service.dto.ReferenciaMemesDTO;
+import br.com.memelandia.meme_service.repositories.CategoriaProjecaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProjecaoReferenciasTests {
+
+	private static final int TRANSACOES = 8;
+
+	@Autowired
+	private ProjecaoReferencias projecaoReferencias;
+
+	@Autowired
+	private CategoriaProjecaoRepository categoriaProjecaoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void limpar() {
+		categoriaProjecaoRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void transacoesSimultaneasNoMesmoNomeNovoNaoFalham() throws Exception {
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<?>> resultados = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(TRANSACOES * 2)) {
+			for (int i = 0; i < TRANSACOES; i++) {
+				resultados.add(executor.submit(() -> {
+					largada.await();
+					transactionTemplate.executeWithoutResult(status ->
+							projecaoReferencias.registrar(TipoReferencia.CATEGORIA, List.of("nova"), StatusReferencia.ATIVO));
+					return null;
+				}));
+				resultados.add(executor.submit(() -> {
+					largada.await();
+					transactionTemplate.executeWithoutResult(status ->
+							projecaoReferencias.somarMemes(List.of(meme("nova"))));
+					return null;
+				}));
+			}
+			largada.countDown();
+			for (Future<?> resultado : resultados) {
+				resultado.get(30, TimeUnit.SECONDS);
+			}
+		}
+
+		CategoriaProjecao categoria = categoriaProjecaoRepository.findById("nova").orElseThrow();
+		assertThat(categoria.getStatus()).isEqualTo(StatusReferencia.ATIVO);
+		assertThat(categoria.getQuantidadeMemes()).isEqualTo(TRANSACOES);
+	}
+
+	@Test
+	void registrarMantemAQuantidadeJaSomada() {
+		transactionTemplate.executeWithoutResult(status -> projecaoReferencias.somarMemes(List.of(meme("humor"), meme("humor"))));
+
+		transactionTemplate.executeWithoutResult(status ->
+				projecaoReferencias.registrar(TipoReferencia.CATEGORIA, List.of("humor"), StatusReferencia.ATIVO));
+
+		CategoriaProjecao categoria = categoriaProjecaoRepository.findById("humor").orElseThrow();
+		assertThat(categoria.getStatus()).isEqualTo(StatusReferencia.ATIVO);
+		assertThat(categoria.getQuantidadeMemes()).isEqualTo(2);
+	}
+
+	@Test
+	void listagemDevolveDtosDasMaisUsadasParaAsMenosUsadas() {
+		transactionTemplate.executeWithoutResult(status ->
+				projecaoReferencias.somarMemes(List.of(meme("humor"), meme("gatos"), meme("gatos"))));
+
+		assertThat(projecaoReferencias.listarCategorias(10)).containsExactly(
+				new ReferenciaMemesDTO("gatos", StatusReferencia.DESCONHECIDO, 2),
+				new ReferenciaMemesDTO("humor", StatusReferencia.DESCONHECIDO, 1));
+		assertThat(projecaoReferencias.buscarCategoria("humor")).contains(new ReferenciaMemesDTO("humor", StatusReferencia.DESCONHECIDO, 1));
+		assertThat(projecaoReferencias.buscarCategoria("esportes")).isEmpty();
+	}
+
+	private static Meme meme(String categoria) {
+		return new Meme(null, "meme", "descricao", "http://memes/1", LocalDate.now(), categoria, "ana");
+	}
+
+}
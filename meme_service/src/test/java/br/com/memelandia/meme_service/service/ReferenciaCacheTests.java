@@ -0,0 +1,72 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferenciaCacheTests {
+
+	private final ReferenciaCache referenciaCache = new ReferenciaCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+	@Test
+	void respostaDeConsultaIniciadaAntesDaRemocaoNaoRegistraONome() {
+		referenciaCache.registrarCategoria("humor");
+		long geracao = referenciaCache.geracao();
+
+		// O evento de remoção chega enquanto a consulta HTTP ainda está em andamento.
+		referenciaCache.descartarCategoria("humor");
+		referenciaCache.registrar(TipoReferencia.CATEGORIA, "humor", geracao);
+
+		assertThat(referenciaCache.consultarCategoria("humor")).isEqualTo(ReferenciaCache.Situacao.AUSENTE);
+		assertThat(referenciaCache.contemCategoria("humor")).isFalse();
+	}
+
+	@Test
+	void consultaIniciadaDepoisDaRemocaoRegistraONome() {
+		referenciaCache.descartarUsuario("ana");
+		long geracao = referenciaCache.geracao();
+
+		referenciaCache.registrar(TipoReferencia.USUARIO, "ana", geracao);
+
+		assertThat(referenciaCache.consultarUsuario("ana")).isEqualTo(ReferenciaCache.Situacao.CONHECIDO);
+	}
+
+	@Test
+	void remocaoSoAfetaONomeEOTipoRemovidos() {
+		long geracao = referenciaCache.geracao();
+		referenciaCache.descartarUsuario("humor");
+		referenciaCache.descartarCategoria("outra");
+
+		referenciaCache.registrar(TipoReferencia.CATEGORIA, "humor", geracao);
+		referenciaCache.registrar(TipoReferencia.USUARIO, "ana", geracao);
+
+		assertThat(referenciaCache.consultarCategoria("humor")).isEqualTo(ReferenciaCache.Situacao.CONHECIDO);
+		assertThat(referenciaCache.consultarUsuario("ana")).isEqualTo(ReferenciaCache.Situacao.CONHECIDO);
+	}
+
+	@Test
+	void recriacaoPorEventoNaoEhDesfeitaPorRespostaAntiga() {
+		long geracao = referenciaCache.geracao();
+		referenciaCache.descartarUsuario("ana");
+		referenciaCache.registrarUsuario("ana");
+
+		referenciaCache.registrar(TipoReferencia.USUARIO, "ana", geracao);
+
+		assertThat(referenciaCache.consultarUsuario("ana")).isEqualTo(ReferenciaCache.Situacao.CONHECIDO);
+	}
+
+	@Test
+	void entradaMaisAntigaQueAValidadeFicaDesatualizada() throws Exception {
+		ReferenciaCache validadeCurta = new ReferenciaCache(new SimpleMeterRegistry(), 100, Duration.ofMillis(1));
+		validadeCurta.registrarCategoria("humor");
+		Thread.sleep(10);
+
+		assertThat(validadeCurta.consultarCategoria("humor")).isEqualTo(ReferenciaCache.Situacao.DESATUALIZADO);
+		assertThat(validadeCurta.contemCategoria("humor")).isTrue();
+		assertThat(validadeCurta.consultarCategoria("outra")).isEqualTo(ReferenciaCache.Situacao.AUSENTE);
+	}
+}
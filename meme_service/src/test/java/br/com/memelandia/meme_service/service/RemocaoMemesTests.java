@@ -0,0 +1,117 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.meme_service.domain.TipoReferencia;
+import br.com.memelandia.meme_service.repositories.CategoriaProjecaoRepository;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RemocaoMemesTests {
+
+	@Autowired
+	private MemeService memeService;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@Autowired
+	private ProjecaoReferencias projecaoReferencias;
+
+	@Autowired
+	private CategoriaProjecaoRepository categoriaProjecaoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void limpar() {
+		memeRepository.deleteAllInBatch();
+		categoriaProjecaoRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void remocaoPorNomeApagaUmSoMemeComONome() {
+		salvar(meme("repetido"), meme("repetido"));
+
+		assertThat(memeService.deletarMemePorNome("repetido")).isTrue();
+
+		assertThat(memeRepository.count()).isEqualTo(1);
+		assertThat(quantidadeNaCategoria()).isEqualTo(1);
+	}
+
+	@Test
+	void remocaoPorIdDescontaDaProjecaoEDevolveFalsoQuandoNaoHaLinha() {
+		UUID id = salvar(meme("unico")).get(0).getId();
+		memeService.buscarMemePorId(id);
+
+		assertThat(memeService.deletarMemePorId(id)).isTrue();
+
+		assertThat(memeService.buscarMemePorId(id)).isEmpty();
+		assertThat(quantidadeNaCategoria()).isZero();
+		assertThat(memeService.deletarMemePorId(id)).isFalse();
+		assertThat(memeService.deletarMemePorNome("unico")).isFalse();
+	}
+
+	@Test
+	void expurgoSoDescontaOsMemesQueEleMesmoApagou() throws Exception {
+		UUID id = salvar(meme("primeiro"), meme("segundo"), meme("terceiro")).get(0).getId();
+		CountDownLatch apagou = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+
+		// Uma remoção avulsa apaga o primeiro meme e segura a transação aberta enquanto o expurgo roda.
+		CompletableFuture<Void> avulsa = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+			memeService.deletarMemePorId(id);
+			apagou.countDown();
+			aguardar(liberar);
+		}));
+		aguardar(apagou);
+		CompletableFuture<Integer> expurgo = CompletableFuture.supplyAsync(() ->
+				memeService.removerMemesPorReferencia(TipoReferencia.CATEGORIA, "humor", LocalDate.now(), 10));
+		Thread.sleep(200);
+		liberar.countDown();
+
+		avulsa.get(10, TimeUnit.SECONDS);
+		assertThat(expurgo.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+		assertThat(memeRepository.count()).isZero();
+		assertThat(quantidadeNaCategoria()).isZero();
+	}
+
+	private static void aguardar(CountDownLatch sinal) {
+		try {
+			sinal.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private List<Meme> salvar(Meme... memes) {
+		return transactionTemplate.execute(status -> {
+			List<Meme> salvos = memeRepository.saveAll(List.of(memes));
+			projecaoReferencias.somarMemes(salvos);
+			return salvos;
+		});
+	}
+
+	private long quantidadeNaCategoria() {
+		return categoriaProjecaoRepository.findById("humor").orElseThrow().getQuantidadeMemes();
+	}
+
+	private static Meme meme(String nome) {
+		return new Meme(null, nome, "descricao", "http://memes/" + nome, LocalDate.now(), "humor", "ana");
+	}
+
+}
@@ -0,0 +1,96 @@
+package br.com.memelandia.meme_service.service;
+
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service.client.ReferenciaClient;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ValidacaoReferenciasTests {
+
+	@Autowired
+	private MemeService memeService;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@MockitoBean
+	private ReferenciaClient referenciaClient;
+
+	// Nomes novos a cada teste, para que o cache de referências não responda no lugar do cliente.
+	private String categoria;
+	private String usuario;
+
+	@BeforeEach
+	void preparar() {
+		memeRepository.deleteAllInBatch();
+		categoria = "categoria-" + UUID.randomUUID();
+		usuario = "usuario-" + UUID.randomUUID();
+	}
+
+	@Test
+	void categoriaEUsuarioSaoConsultadosAoMesmoTempo() {
+		// Cada consulta só responde depois que a outra começou; em sequência, a primeira esperaria sozinha.
+		CountDownLatch iniciadas = new CountDownLatch(2);
+		Set<Boolean> simultaneas = new HashSet<>();
+		when(referenciaClient.categoriasExistentes(anyCollection())).thenAnswer(chamada -> esperarAOutra(iniciadas, simultaneas, chamada.getArgument(0)));
+		when(referenciaClient.usuariosExistentes(anyCollection())).thenAnswer(chamada -> esperarAOutra(iniciadas, simultaneas, chamada.getArgument(0)));
+
+		MemeRespostaDTO criado = memeService.criarMeme(meme()).orElseThrow();
+
+		assertThat(simultaneas).containsOnly(true);
+		assertThat(memeRepository.findById(criado.getId())).isPresent();
+	}
+
+	@Test
+	void primeiraRecusaEncerraAEsperaSemAguardarAOutraConsulta() throws Exception {
+		CountDownLatch liberarUsuario = new CountDownLatch(1);
+		when(referenciaClient.categoriasExistentes(anyCollection())).thenReturn(Set.of());
+		when(referenciaClient.usuariosExistentes(anyCollection())).thenAnswer(chamada -> {
+			liberarUsuario.await(10, TimeUnit.SECONDS);
+			return Set.copyOf(chamada.<Collection<String>>getArgument(0));
+		});
+
+		long inicio = System.nanoTime();
+		try {
+			assertThatThrownBy(() -> memeService.criarMeme(meme()))
+					.hasMessageContaining("Categoria não encontrada");
+			// Bem abaixo de memelandia.downstream.prazo-total (3 s): não esperou o usuário.
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(1000);
+		} finally {
+			liberarUsuario.countDown();
+		}
+		assertThat(memeRepository.count()).isZero();
+	}
+
+	private MemeDTO meme() {
+		return new MemeDTO("validado", "descricao", "http://memes/validado", categoria, usuario);
+	}
+
+	private static Set<String> esperarAOutra(CountDownLatch iniciadas, Set<Boolean> simultaneas, Collection<String> nomes)
+			throws InterruptedException {
+		iniciadas.countDown();
+		boolean simultanea = iniciadas.await(2, TimeUnit.SECONDS);
+		synchronized (simultaneas) {
+			simultaneas.add(simultanea);
+		}
+		return Set.copyOf(nomes);
+	}
+}
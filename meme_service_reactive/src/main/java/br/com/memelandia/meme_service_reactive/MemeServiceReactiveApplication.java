@@ -0,0 +1,13 @@
+package br.com.memelandia.meme_service_reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class MemeServiceReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(MemeServiceReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,103 @@
+package br.com.memelandia.meme_service_reactive.client;
+
+import br.com.memelandia.comum.cliente.ReferenciaRecusadaException;
+import br.com.memelandia.comum.cliente.ServicoIndisponivelException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Consultas de existência ao usuario_service e ao categoria_service, sem bloquear: os nomes vão
+ * em uma única requisição e a resposta traz apenas os que existem, no formato de
+ * memelandia.downstream.formato. A instância é escolhida pelo ReactiveLoadBalancer do serviço.
+ * Uma resposta 4xx vira ReferenciaRecusadaException, como no meme_service; qualquer outra falha
+ * na escolha ou na chamada vira ServicoIndisponivelException.
+ *
+ * @author rramirez
+ */
+
+@Component
+public class ReferenciaClient {
+
+    private final String servicoUsuario;
+    private final String caminhoUsuario;
+    private final String servicoCategoria;
+    private final String caminhoCategoria;
+    private final MediaType formato;
+    private final WebClient webClient;
+    private final ReactiveLoadBalancer.Factory<ServiceInstance> balanceadores;
+    private final MeterRegistry meterRegistry;
+    private final Timer categoriaTempo;
+    private final Timer usuarioTempo;
+
+    public ReferenciaClient(WebClient webClientDownstream, ReactiveLoadBalancer.Factory<ServiceInstance> balanceadores,
+                            MeterRegistry meterRegistry,
+                            @Value("${memelandia.downstream.usuario-servico:usuario_service}") String servicoUsuario,
+                            @Value("${memelandia.downstream.usuario-caminho:/usuario_service/}") String caminhoUsuario,
+                            @Value("${memelandia.downstream.categoria-servico:categoria_service}") String servicoCategoria,
+                            @Value("${memelandia.downstream.categoria-caminho:/categoria/}") String caminhoCategoria,
+                            @Value("${memelandia.downstream.formato:application/json}") String formato) {
+        this.servicoUsuario = servicoUsuario;
+        this.caminhoUsuario = caminhoUsuario;
+        this.servicoCategoria = servicoCategoria;
+        this.caminhoCategoria = caminhoCategoria;
+        this.formato = MediaType.parseMediaType(formato);
+        this.webClient = webClientDownstream;
+        this.balanceadores = balanceadores;
+        this.meterRegistry = meterRegistry;
+        this.categoriaTempo = meterRegistry.timer("meme.criar.categoria.tempo");
+        this.usuarioTempo = meterRegistry.timer("meme.criar.usuario.tempo");
+    }
+
+    public Mono<Boolean> categoriaExiste(String nome) {
+        return existentes(servicoCategoria, caminhoCategoria, Set.of(nome), categoriaTempo).map(nomes -> nomes.contains(nome));
+    }
+
+    public Mono<Boolean> usuarioExiste(String nome) {
+        return existentes(servicoUsuario, caminhoUsuario, Set.of(nome), usuarioTempo).map(nomes -> nomes.contains(nome));
+    }
+
+    private Mono<Set<String>> existentes(String servico, String caminho, Collection<String> nomes, Timer timer) {
+        return Mono.defer(() -> {
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            // O id no Eureka tem sublinhado, que não é válido como host; por isso a instância é
+            // escolhida aqui e não por um filtro @LoadBalanced no WebClient.
+            return Mono.from(balanceadores.getInstance(servico).choose())
+                    .filter(Response::hasServer)
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException("Nenhuma instância de " + servico + " disponível no Eureka.")))
+                    .flatMap(resposta -> webClient.post()
+                            .uri(UriComponentsBuilder.fromUri(resposta.getServer().getUri()).path(caminho).path("exists").build().toUri())
+                            .contentType(formato)
+                            .accept(formato)
+                            .bodyValue(nomes)
+                            .retrieve()
+                            .bodyToMono(String[].class))
+                    .map(existentes -> (Set<String>) new HashSet<>(Arrays.asList(existentes)))
+                    .defaultIfEmpty(new HashSet<>())
+                    .onErrorMap(erro -> falha(servico, erro))
+                    .doFinally(sinal -> amostra.stop(timer));
+        });
+    }
+
+    private static RuntimeException falha(String servico, Throwable erro) {
+        if (erro instanceof WebClientResponseException resposta && resposta.getStatusCode().is4xxClientError()) {
+            return new ReferenciaRecusadaException(servico, resposta.getStatusCode(),
+                    servico + " recusou a consulta: " + resposta.getStatusCode().value() + " " + resposta.getStatusText(), erro);
+        }
+        return new ServicoIndisponivelException(servico, "Falha ao consultar " + servico + ": " + erro.getMessage(), erro);
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.memelandia.meme_service_reactive.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * WebClient usado nas chamadas ao usuario_service e ao categoria_service, sobre um pool de
+ * conexões persistentes próprio do Reactor Netty. As requisições esperando conexão não ocupam
+ * thread nenhuma; as que passam de memelandia.downstream.pool.espera-maxima na fila falham.
+ * As métricas do pool saem em reactor.netty.connection.provider.*.
+ *
+ * @author rramirez
+ */
+
+@Configuration
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider conexoesDownstream(@Value("${memelandia.downstream.pool.maximo:64}") int maximo,
+                                                 @Value("${memelandia.downstream.pool.espera-maxima:500ms}") Duration esperaMaxima,
+                                                 @Value("${memelandia.downstream.pool.ociosa:30s}") Duration ociosa,
+                                                 @Value("${memelandia.downstream.pool.validade:5m}") Duration validade) {
+        return ConnectionProvider.builder("downstream")
+                .maxConnections(maximo)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(esperaMaxima)
+                .maxIdleTime(ociosa)
+                .maxLifeTime(validade)
+                .evictInBackground(ociosa)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient webClientDownstream(WebClient.Builder builder, ConnectionProvider conexoesDownstream,
+                                         @Value("${memelandia.downstream.connect-timeout:500ms}") Duration connectTimeout,
+                                         @Value("${memelandia.downstream.read-timeout:2s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(conexoesDownstream)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.memelandia.meme_service_reactive.controller;
+
+import br.com.memelandia.comum.cliente.ReferenciaRecusadaException;
+import br.com.memelandia.comum.cliente.ServicoIndisponivelException;
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service_reactive.service.MemeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Tag(name = "Memes", description = "Endpoints reativos para gerenciamento de memes")
+@RestController
+@RequestMapping("/meme")
+public class MemeController {
+
+    private final MemeService memeService;
+    private final Duration esperaServicoIndisponivel;
+
+    public MemeController(MemeService memeService,
+                          @Value("${memelandia.downstream.espera-indisponivel:10s}") Duration esperaServicoIndisponivel) {
+        this.memeService = memeService;
+        this.esperaServicoIndisponivel = esperaServicoIndisponivel;
+    }
+
+    @Operation(summary = "Listar", description = "Listar memes, paginados por cursor, opcionalmente filtrados por categoria, usuário e intervalo de datas de cadastro")
+    @GetMapping
+    public Mono<ResponseEntity<?>> listarTodosMemes(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int limite,
+                                                    @RequestParam(required = false) String categoria,
+                                                    @RequestParam(required = false) String usuario,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return Mono.fromCallable(() -> new FiltroMemes(categoria, usuario, de, ate))
+                .flatMap(filtro -> memeService.listarTodosMemes(filtro, cursor, limite))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+    }
+
+    /**
+     * Cada meme vira uma linha assim que sai do banco; o WebFlux só pede o próximo depois de
+     * escrever o anterior, então a leitura acompanha a velocidade do cliente.
+     */
+    @Operation(summary = "Transmitir", description = "Transmitir todos os memes em NDJSON, um por linha")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemeRespostaDTO> transmitirTodosMemes() {
+        return memeService.transmitirTodosMemes();
+    }
+
+    @Operation(summary = "Criar", description = "Criar um novo meme")
+    @PostMapping
+    public Mono<ResponseEntity<MemeRespostaDTO>> criarMeme(@RequestBody MemeDTO dto) {
+        return memeService.criarMeme(dto)
+                .map(novoMeme -> ResponseEntity.status(HttpStatus.CREATED).body(novoMeme))
+                .onErrorResume(ServicoIndisponivelException.class, e -> Mono.just(servicoIndisponivel().build()))
+                .onErrorResume(ReferenciaRecusadaException.class, e -> Mono.just(ResponseEntity.status(e.getStatus()).build()));
+    }
+
+    @Operation(summary = "Buscar Por Id", description = "Buscar um meme pelo ID")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<MemeRespostaDTO>> buscarMemePorId(@PathVariable UUID id) {
+        return memeService.buscarMemePorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @Operation(summary = "Buscar Por Nome", description = "Buscar um meme pelo nome")
+    @GetMapping("/name/{name}")
+    public Mono<ResponseEntity<MemeRespostaDTO>> buscarMemePorNome(@PathVariable String name) {
+        return memeService.buscarMemePorNome(name)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @Operation(summary = "Deletar Por Id", description = "Deletar um meme pelo ID")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> deletarMemePorId(@PathVariable UUID id) {
+        return memeService.deletarMemePorId(id).map(MemeController::respostaRemocao);
+    }
+
+    @Operation(summary = "Deletar Por Nome", description = "Deletar um meme pelo Nome")
+    @DeleteMapping("/name/{name}")
+    public Mono<ResponseEntity<?>> deletarMemePorNome(@PathVariable String name) {
+        return memeService.deletarMemePorNome(name).map(MemeController::respostaRemocao);
+    }
+
+    /**
+     * Sem circuit breaker aqui, o Retry-After vem de memelandia.downstream.espera-indisponivel.
+     */
+    private ResponseEntity.BodyBuilder servicoIndisponivel() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(esperaServicoIndisponivel.toSeconds()));
+    }
+
+    private static ResponseEntity<?> respostaRemocao(boolean removido) {
+        if (removido) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("Meme não encontrado para exclusão.");
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.memelandia.meme_service_reactive.repositories;
+
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Cursor;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ *
+ * Acesso reativo à tabela meme pelo DatabaseClient do R2DBC. As consultas são escritas aqui e
+ * as linhas viram MemeRespostaDTO direto, como nas projeções do repositório JPA do meme_service.
+ * A listagem filtrada monta o WHERE só com os filtros informados, pelo mesmo motivo do
+ * MemeFiltroRepositoryImpl: manter os índices utilizáveis; com categoria ou usuário, a coluna
+ * filtrada abre o ORDER BY para que o H2 leia o índice composto já em ordem.
+ *
+ * @author rramirez
+ */
+
+@Repository
+public class MemeRepository {
+
+    private static final String SELECT = "SELECT id, nome, descricao, url, data_cadastro, categoria_nome, usuario_nome FROM meme";
+    private static final String ORDEM = " ORDER BY data_cadastro, id";
+    private static final String ORDEM_POR_CATEGORIA = " ORDER BY categoria_nome, data_cadastro, id";
+    private static final String ORDEM_POR_USUARIO = " ORDER BY usuario_nome, data_cadastro, id";
+
+    private final DatabaseClient databaseClient;
+
+    public MemeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Meme> save(Meme meme) {
+        if (meme.getId() == null) {
+            meme.setId(UUID.randomUUID());
+        }
+        return databaseClient.sql("INSERT INTO meme (id, nome, descricao, url, data_cadastro, categoria_nome, usuario_nome) "
+                        + "VALUES (:id, :nome, :descricao, :url, :dataCadastro, :categoriaNome, :usuarioNome)")
+                .bind("id", meme.getId())
+                .bind("nome", meme.getNome())
+                .bind("descricao", meme.getDescricao())
+                .bind("url", meme.getUrl())
+                .bind("dataCadastro", meme.getDataCadastro())
+                .bind("categoriaNome", meme.getCategoriaNome())
+                .bind("usuarioNome", meme.getUsuarioNome())
+                .then()
+                .thenReturn(meme);
+    }
+
+    public Mono<MemeRespostaDTO> findById(UUID id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(MemeRepository::paraResposta)
+                .one();
+    }
+
+    public Mono<MemeRespostaDTO> findByNome(String nome) {
+        return databaseClient.sql(SELECT + " WHERE nome = :nome LIMIT 1")
+                .bind("nome", nome)
+                .map(MemeRepository::paraResposta)
+                .one();
+    }
+
+    public Mono<Long> removerPorId(UUID id) {
+        return databaseClient.sql("DELETE FROM meme WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Remove um único meme com o nome, como o meme_service; nomes não são únicos.
+     */
+    public Mono<Long> removerPorNome(String nome) {
+        return databaseClient.sql("DELETE FROM meme WHERE id = (SELECT id FROM meme WHERE nome = :nome LIMIT 1)")
+                .bind("nome", nome)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<MemeRespostaDTO> findPaginaFiltrada(FiltroMemes filtro, Cursor apos, int limite) {
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        if (filtro.getCategoriaNome() != null) {
+            condicoes.add("categoria_nome = :categoria");
+            parametros.put("categoria", filtro.getCategoriaNome());
+        }
+        if (filtro.getUsuarioNome() != null) {
+            condicoes.add("usuario_nome = :usuario");
+            parametros.put("usuario", filtro.getUsuarioNome());
+        }
+        if (filtro.getDe() != null) {
+            condicoes.add("data_cadastro >= :de");
+            parametros.put("de", filtro.getDe());
+        }
+        if (filtro.getAte() != null) {
+            condicoes.add("data_cadastro <= :ate");
+            parametros.put("ate", filtro.getAte());
+        }
+        if (apos != null) {
+            condicoes.add("(data_cadastro > :cursorData OR (data_cadastro = :cursorData AND id > :cursorId))");
+            parametros.put("cursorData", apos.getDataCadastro());
+            parametros.put("cursorId", apos.getId());
+        }
+        parametros.put("limite", limite);
+
+        String ordem = filtro.getCategoriaNome() != null ? ORDEM_POR_CATEGORIA
+                : filtro.getUsuarioNome() != null ? ORDEM_POR_USUARIO
+                : ORDEM;
+        String sql = (condicoes.isEmpty() ? SELECT : SELECT + " WHERE " + String.join(" AND ", condicoes)) + ordem + " LIMIT :limite";
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+        }
+        return consulta.map(MemeRepository::paraResposta).all();
+    }
+
+    /**
+     * A tabela inteira na ordem da listagem. As linhas são lidas do driver conforme a demanda de
+     * quem assina o Flux, então a transmissão anda no ritmo em que o cliente consome.
+     */
+    public Flux<MemeRespostaDTO> streamTodos() {
+        return databaseClient.sql(SELECT + ORDEM)
+                .map(MemeRepository::paraResposta)
+                .all();
+    }
+
+    private static MemeRespostaDTO paraResposta(Readable linha) {
+        return new MemeRespostaDTO(linha.get("id", UUID.class), linha.get("nome", String.class),
+                linha.get("descricao", String.class), linha.get("url", String.class),
+                linha.get("data_cadastro", LocalDate.class), linha.get("categoria_nome", String.class),
+                linha.get("usuario_nome", String.class));
+    }
+}
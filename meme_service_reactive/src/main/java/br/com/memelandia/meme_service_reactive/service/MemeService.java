@@ -0,0 +1,309 @@
+package br.com.memelandia.meme_service_reactive.service;
+
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Cursor;
+import br.com.memelandia.comum.paginacao.Pagina;
+import br.com.memelandia.meme_service_reactive.client.ReferenciaClient;
+import br.com.memelandia.meme_service_reactive.repositories.MemeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mesmas regras do MemeService do meme_service, sem bloquear threads: a categoria e o usuário
+ * de um meme novo são consultados ao mesmo tempo e a gravação só acontece depois das duas
+ * respostas, dentro de memelandia.downstream.prazo-total. As métricas usam os mesmos nomes.
+ * Fica de fora o que o meme_service faz além do cadastro: a projeção de referências, o índice
+ * de busca do Lucene e o circuit breaker e o bulkhead das chamadas aos outros serviços.
+ *
+ * @author rramirez
+ */
+
+@Service
+public class MemeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemeService.class);
+
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
+
+    private final MeterRegistry meterRegistry;
+    private final MemeRepository memeRepository;
+    private final ReferenciaClient referenciaClient;
+    private final Duration prazoValidacao;
+    private final int loteTransmissao;
+
+    private final Counter criarChamadas;
+    private final Counter criarSucesso;
+    private final Timer criarTempo;
+    private final Counter criarValidacaoTimeout;
+    private final Counter criarCategoriaNaoEncontrada;
+    private final Counter criarUsuarioNaoEncontrado;
+    private final Counter listarTodasChamadas;
+    private final Timer listarTodasTempo;
+    private final Counter listarTodasVazio;
+    private final Counter listarTodasSucesso;
+    private final DistributionSummary listarTodasQuantidade;
+    private final Counter listarFiltradaChamadas;
+    private final Timer listarFiltradaTempo;
+    private final Counter transmitirChamadas;
+    private final Timer transmitirTempo;
+    private final Counter buscarIdChamadas;
+    private final Timer buscarIdTempo;
+    private final Counter buscarIdSucesso;
+    private final Counter buscarIdNaoEncontrada;
+    private final Counter buscarNomeChamadas;
+    private final Timer buscarNomeTempo;
+    private final Counter buscarNomeSucesso;
+    private final Counter buscarNomeNaoEncontrada;
+    private final Counter deletarIdChamadas;
+    private final Timer deletarIdTempo;
+    private final Counter deletarIdSucesso;
+    private final Counter deletarIdNaoEncontrada;
+    private final Counter deletarNomeChamadas;
+    private final Timer deletarNomeTempo;
+    private final Counter deletarNomeSucesso;
+    private final Counter deletarNomeNaoEncontrada;
+
+    public MemeService(MeterRegistry meterRegistry, MemeRepository memeRepository, ReferenciaClient referenciaClient,
+                       @Value("${memelandia.downstream.prazo-total:3s}") Duration prazoValidacao,
+                       @Value("${memelandia.transmissao.lote:500}") int loteTransmissao) {
+        this.meterRegistry = meterRegistry;
+        this.memeRepository = memeRepository;
+        this.referenciaClient = referenciaClient;
+        this.prazoValidacao = prazoValidacao;
+        this.loteTransmissao = loteTransmissao;
+
+        this.criarChamadas = meterRegistry.counter("meme.criar.chamadas");
+        this.criarSucesso = meterRegistry.counter("meme.criar.sucesso");
+        this.criarTempo = meterRegistry.timer("meme.criar.tempo");
+        this.criarValidacaoTimeout = meterRegistry.counter("meme.criar.validacao.timeout");
+        this.criarCategoriaNaoEncontrada = meterRegistry.counter("meme.criar.categoria.naoencontrada");
+        this.criarUsuarioNaoEncontrado = meterRegistry.counter("meme.criar.usuario.naoencontrado");
+        this.listarTodasChamadas = meterRegistry.counter("meme.listar.todas.chamadas");
+        this.listarTodasTempo = meterRegistry.timer("meme.listar.todas.tempo");
+        this.listarTodasVazio = meterRegistry.counter("meme.listar.todas.vazio");
+        this.listarTodasSucesso = meterRegistry.counter("meme.listar.todas.sucesso");
+        this.listarTodasQuantidade = meterRegistry.summary("meme.listar.todas.quantidade");
+        this.listarFiltradaChamadas = meterRegistry.counter("meme.listar.filtrada.chamadas");
+        this.listarFiltradaTempo = meterRegistry.timer("meme.listar.filtrada.tempo");
+        this.transmitirChamadas = meterRegistry.counter("meme.transmitir.chamadas");
+        this.transmitirTempo = meterRegistry.timer("meme.transmitir.tempo");
+        this.buscarIdChamadas = meterRegistry.counter("meme.buscar.id.chamadas");
+        this.buscarIdTempo = meterRegistry.timer("meme.buscar.id.tempo");
+        this.buscarIdSucesso = meterRegistry.counter("meme.buscar.id.sucesso");
+        this.buscarIdNaoEncontrada = meterRegistry.counter("meme.buscar.id.naoencontrada");
+        this.buscarNomeChamadas = meterRegistry.counter("meme.buscar.nome.chamadas");
+        this.buscarNomeTempo = meterRegistry.timer("meme.buscar.nome.tempo");
+        this.buscarNomeSucesso = meterRegistry.counter("meme.buscar.nome.sucesso");
+        this.buscarNomeNaoEncontrada = meterRegistry.counter("meme.buscar.nome.naoencontrada");
+        this.deletarIdChamadas = meterRegistry.counter("meme.deletar.id.chamadas");
+        this.deletarIdTempo = meterRegistry.timer("meme.deletar.id.tempo");
+        this.deletarIdSucesso = meterRegistry.counter("meme.deletar.id.sucesso");
+        this.deletarIdNaoEncontrada = meterRegistry.counter("meme.deletar.id.naoencontrada");
+        this.deletarNomeChamadas = meterRegistry.counter("meme.deletar.nome.chamadas");
+        this.deletarNomeTempo = meterRegistry.timer("meme.deletar.nome.tempo");
+        this.deletarNomeSucesso = meterRegistry.counter("meme.deletar.nome.sucesso");
+        this.deletarNomeNaoEncontrada = meterRegistry.counter("meme.deletar.nome.naoencontrada");
+    }
+
+    /**
+     * Mono.when assina as duas validações ao mesmo tempo; a primeira falha cancela a outra
+     * chamada ainda em andamento.
+     */
+    public Mono<MemeRespostaDTO> criarMeme(MemeDTO dto) {
+        return Mono.defer(() -> {
+            logger.info("Recebida requisição para criar um novo meme.");
+            criarChamadas.increment();
+            Timer.Sample amostra = Timer.start(meterRegistry);
+
+            return Mono.when(validarCategoria(dto.getCategoriaNome()), validarUsuario(dto.getUsuarioNome()))
+                    .timeout(prazoValidacao, Mono.error(() -> {
+                        logger.warn("Tempo esgotado ao validar categoria e usuário ({} ms).", prazoValidacao.toMillis());
+                        criarValidacaoTimeout.increment();
+                        return new RuntimeException("Tempo esgotado ao validar categoria e usuário.");
+                    }))
+                    .then(Mono.fromSupplier(() -> {
+                        Meme meme = new Meme();
+                        meme.setNome(dto.getNome());
+                        meme.setDescricao(dto.getDescricao());
+                        meme.setUrl(dto.getUrl());
+                        meme.setUsuarioNome(dto.getUsuarioNome());
+                        meme.setCategoriaNome(dto.getCategoriaNome());
+                        meme.setDataCadastro(LocalDate.now());
+                        return meme;
+                    }))
+                    .flatMap(memeRepository::save)
+                    .map(salvo -> {
+                        logger.info("Meme criado com sucesso: {}", salvo);
+                        criarSucesso.increment();
+                        amostra.stop(criarTempo);
+                        return MemeRespostaDTO.de(salvo);
+                    });
+        });
+    }
+
+    public Mono<Pagina<MemeRespostaDTO>> listarTodosMemes(FiltroMemes filtro, String cursor, int limite) {
+        return Mono.defer(() -> {
+            logger.info("Recebida requisição para listar memes (cursor: {}, limite: {}).", cursor, limite);
+            listarTodasChamadas.increment();
+            boolean filtrada = !filtro.isVazio();
+            if (filtrada) {
+                listarFiltradaChamadas.increment();
+            }
+
+            int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+            Cursor apos = cursor == null ? null : Cursor.decodificar(cursor);
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            return memeRepository.findPaginaFiltrada(filtro, apos, tamanho + 1)
+                    .collectList()
+                    .map(memes -> {
+                        amostra.stop(filtrada ? listarFiltradaTempo : listarTodasTempo);
+                        return paginar(memes, tamanho);
+                    });
+        });
+    }
+
+    /**
+     * O limitRate pede as linhas ao banco em lotes de memelandia.transmissao.lote conforme o
+     * cliente consome a resposta; um cliente lento segura a leitura em vez de acumular memória.
+     */
+    public Flux<MemeRespostaDTO> transmitirTodosMemes() {
+        return Flux.defer(() -> {
+            logger.info("Recebida requisição para transmitir todos os memes.");
+            transmitirChamadas.increment();
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            return memeRepository.streamTodos()
+                    .limitRate(loteTransmissao)
+                    .doFinally(sinal -> amostra.stop(transmitirTempo));
+        });
+    }
+
+    public Mono<MemeRespostaDTO> buscarMemePorId(UUID id) {
+        return Mono.defer(() -> {
+            logger.info("Recebida requisição para buscar meme com ID: {}", id);
+            buscarIdChamadas.increment();
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            return memeRepository.findById(id)
+                    .doOnNext(meme -> {
+                        logger.info("Meme encontrado: {}", meme);
+                        buscarIdSucesso.increment();
+                    })
+                    .switchIfEmpty(Mono.fromRunnable(() -> {
+                        logger.warn("Meme com ID {} não encontrado.", id);
+                        buscarIdNaoEncontrada.increment();
+                    }))
+                    .doFinally(sinal -> amostra.stop(buscarIdTempo));
+        });
+    }
+
+    public Mono<MemeRespostaDTO> buscarMemePorNome(String nome) {
+        return Mono.defer(() -> {
+            logger.info("Recebida requisição para buscar meme com nome: {}", nome);
+            buscarNomeChamadas.increment();
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            return memeRepository.findByNome(nome)
+                    .doOnNext(meme -> {
+                        logger.info("Meme encontrado: {}", meme);
+                        buscarNomeSucesso.increment();
+                    })
+                    .switchIfEmpty(Mono.fromRunnable(() -> {
+                        logger.warn("Meme com nome {} não encontrado.", nome);
+                        buscarNomeNaoEncontrada.increment();
+                    }))
+                    .doFinally(sinal -> amostra.stop(buscarNomeTempo));
+        });
+    }
+
+    public Mono<Boolean> deletarMemePorId(UUID id) {
+        return Mono.defer(() -> {
+            logger.info("Recebida requisição para deletar meme com ID: {}", id);
+            deletarIdChamadas.increment();
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            return memeRepository.removerPorId(id).map(removidos -> {
+                if (removidos > 0) {
+                    logger.info("Meme com ID {} deletado com sucesso.", id);
+                    deletarIdSucesso.increment();
+                    return true;
+                }
+                logger.warn("Meme com ID {} não encontrado.", id);
+                deletarIdNaoEncontrada.increment();
+                return false;
+            }).doFinally(sinal -> amostra.stop(deletarIdTempo));
+        });
+    }
+
+    public Mono<Boolean> deletarMemePorNome(String nome) {
+        return Mono.defer(() -> {
+            logger.info("Recebida requisição para deletar meme com nome: {}", nome);
+            deletarNomeChamadas.increment();
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            return memeRepository.removerPorNome(nome).map(removidos -> {
+                if (removidos > 0) {
+                    logger.info("Meme com nome {} deletado com sucesso.", nome);
+                    deletarNomeSucesso.increment();
+                    return true;
+                }
+                logger.warn("Meme com nome {} não encontrado.", nome);
+                deletarNomeNaoEncontrada.increment();
+                return false;
+            }).doFinally(sinal -> amostra.stop(deletarNomeTempo));
+        });
+    }
+
+    private Pagina<MemeRespostaDTO> paginar(List<MemeRespostaDTO> memes, int tamanho) {
+        String proximoCursor = null;
+        if (memes.size() > tamanho) {
+            memes = memes.subList(0, tamanho);
+            MemeRespostaDTO ultimo = memes.get(tamanho - 1);
+            proximoCursor = new Cursor(ultimo.getDataCadastro(), ultimo.getId()).codificar();
+        }
+
+        if (memes.isEmpty()) {
+            logger.warn("A lista de memes está vazia.");
+            listarTodasVazio.increment();
+        } else {
+            logger.info("Total de memes encontrados: {}", memes.size());
+            listarTodasSucesso.increment();
+            listarTodasQuantidade.record(memes.size());
+        }
+
+        return new Pagina<>(memes, proximoCursor);
+    }
+
+    private Mono<Void> validarCategoria(String nome) {
+        return referenciaClient.categoriaExiste(nome).flatMap(existe -> {
+            if (!existe) {
+                logger.warn("Categoria '{}' não encontrada.", nome);
+                criarCategoriaNaoEncontrada.increment();
+                return Mono.error(new RuntimeException("Categoria não encontrada: " + nome));
+            }
+            return Mono.empty();
+        });
+    }
+
+    private Mono<Void> validarUsuario(String nome) {
+        return referenciaClient.usuarioExiste(nome).flatMap(existe -> {
+            if (!existe) {
+                logger.warn("Usuário '{}' não encontrado.", nome);
+                criarUsuarioNaoEncontrado.increment();
+                return Mono.error(new RuntimeException("Usuário não encontrado: " + nome));
+            }
+            return Mono.empty();
+        });
+    }
+}
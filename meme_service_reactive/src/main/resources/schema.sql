@@ -0,0 +1,14 @@
+-- Mesma tabela e índices que o Hibernate cria para a entidade Meme no meme_service.
+CREATE TABLE IF NOT EXISTS meme (
+    id UUID NOT NULL PRIMARY KEY,
+    nome VARCHAR(255) NOT NULL,
+    descricao VARCHAR(255) NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    data_cadastro DATE NOT NULL,
+    categoria_nome VARCHAR(255) NOT NULL,
+    usuario_nome VARCHAR(255) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_meme_data_cadastro_id ON meme (data_cadastro, id);
+CREATE INDEX IF NOT EXISTS idx_meme_nome ON meme (nome);
+CREATE INDEX IF NOT EXISTS idx_meme_categoria_data_id ON meme (categoria_nome, data_cadastro, id);
+CREATE INDEX IF NOT EXISTS idx_meme_usuario_data_id ON meme (usuario_nome, data_cadastro, id);
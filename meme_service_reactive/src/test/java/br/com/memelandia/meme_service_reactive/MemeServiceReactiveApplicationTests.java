@@ -0,0 +1,13 @@
+package br.com.memelandia.meme_service_reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class MemeServiceReactiveApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
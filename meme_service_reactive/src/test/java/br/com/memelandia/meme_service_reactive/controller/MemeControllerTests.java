@@ -0,0 +1,145 @@
+package br.com.memelandia.meme_service_reactive.controller;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service_reactive.repositories.MemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"eureka.client.enabled=false",
+		"spring.cloud.discovery.client.simple.instances.categoria_service[0].uri=http://categoria:8080",
+		"spring.cloud.discovery.client.simple.instances.usuario_service[0].uri=http://usuario:8080",
+		"memelandia.downstream.formato=application/json",
+		"memelandia.downstream.espera-indisponivel=7s"
+})
+@AutoConfigureWebTestClient
+class MemeControllerTests {
+
+	// Status que o usuario_service e o categoria_service devolvem; com 200 todos os nomes existem.
+	private static volatile HttpStatus respostaDownstream = HttpStatus.OK;
+
+	@TestBean
+	private WebClient webClientDownstream;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private MemeRepository memeRepository;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	static WebClient webClientDownstream() {
+		return WebClient.builder()
+				.exchangeFunction(requisicao -> Mono.just(ClientResponse.create(respostaDownstream)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.body(respostaDownstream.is2xxSuccessful() ? "[\"humor\", \"ana\"]" : "")
+						.build()))
+				.build();
+	}
+
+	@BeforeEach
+	void limpar() {
+		respostaDownstream = HttpStatus.OK;
+		databaseClient.sql("DELETE FROM meme").then().block();
+	}
+
+	@Test
+	void criaOMemeQuandoCategoriaEUsuarioExistem() {
+		MemeRespostaDTO criado = webTestClient.post().uri("/meme")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new MemeDTO("gato", "descricao", "http://memes/gato", "humor", "ana"))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(MemeRespostaDTO.class)
+				.returnResult().getResponseBody();
+
+		assertThat(criado.getId()).isNotNull();
+		assertThat(memeRepository.findById(criado.getId()).block().getNome()).isEqualTo("gato");
+	}
+
+	@Test
+	void recusa4xxVoltaComOMesmoStatus() {
+		respostaDownstream = HttpStatus.UNPROCESSABLE_ENTITY;
+
+		webTestClient.post().uri("/meme")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new MemeDTO("gato", "descricao", "http://memes/gato", "humor", "ana"))
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+				.expectHeader().doesNotExist(HttpHeaders.RETRY_AFTER);
+	}
+
+	@Test
+	void falhaDoServicoViraIndisponivelComRetryAfter() {
+		respostaDownstream = HttpStatus.INTERNAL_SERVER_ERROR;
+
+		webTestClient.post().uri("/meme")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(new MemeDTO("gato", "descricao", "http://memes/gato", "humor", "ana"))
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+				.expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "7");
+	}
+
+	@Test
+	void listagemPaginaPorCursor() {
+		UUID primeiro = salvar("primeiro", LocalDate.of(2024, 1, 1));
+		UUID segundo = salvar("segundo", LocalDate.of(2024, 1, 2));
+
+		PaginaLida pagina = listar(webTestClient.get().uri("/meme?limite=1"));
+		assertThat(pagina.itens()).extracting(MemeRespostaDTO::getId).containsExactly(primeiro);
+		assertThat(pagina.proximoCursor()).isNotNull();
+
+		PaginaLida seguinte = listar(webTestClient.get()
+				.uri(uri -> uri.path("/meme").queryParam("limite", 1).queryParam("cursor", pagina.proximoCursor()).build()));
+		assertThat(seguinte.itens()).extracting(MemeRespostaDTO::getId).containsExactly(segundo);
+		assertThat(seguinte.proximoCursor()).isNull();
+	}
+
+	@Test
+	void remocaoApagaUmaVezEDepoisNaoEncontra() {
+		UUID id = salvar("apagado", LocalDate.now());
+
+		webTestClient.delete().uri("/meme/{id}", id).exchange().expectStatus().isNoContent();
+		webTestClient.delete().uri("/meme/{id}", id).exchange().expectStatus().isNotFound();
+		webTestClient.get().uri("/meme/{id}", id).exchange().expectStatus().isNotFound();
+	}
+
+	private PaginaLida listar(WebTestClient.RequestHeadersSpec<?> requisicao) {
+		return requisicao.accept(MediaType.APPLICATION_JSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(PaginaLida.class)
+				.returnResult().getResponseBody();
+	}
+
+	private UUID salvar(String nome, LocalDate dataCadastro) {
+		return memeRepository.save(new Meme(null, nome, "descricao", "http://memes/" + nome, dataCadastro, "humor", "ana"))
+				.block().getId();
+	}
+
+	private record PaginaLida(List<MemeRespostaDTO> itens, String proximoCursor) {
+	}
+}
@@ -0,0 +1,72 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.meme_service.client.ReferenciaClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReferenciaClient.categoriasExistentes com quatro instâncias do stub registradas na descoberta,
+ * uma delas respondendo 20 ms mais devagar, chamado por 8 threads. Com latencia=true as
+ * instâncias são escolhidas pelo BalanceadorLatencia; com latencia=false, pelo rodízio padrão
+ * do Spring Cloud LoadBalancer.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Threads(8)
+public class BalanceamentoBenchmark {
+
+    private static final int INSTANCIAS = 4;
+    private static final Duration ATRASO_INSTANCIA_LENTA = Duration.ofMillis(20);
+
+    @Param({"true", "false"})
+    private boolean latencia;
+
+    private ContextoMeme contexto;
+    private ReferenciaClient referenciaClient;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        List<ServidorReferencias> referencias = new ArrayList<>();
+        referencias.add(new ServidorReferencias(ATRASO_INSTANCIA_LENTA));
+        for (int i = 1; i < INSTANCIAS; i++) {
+            referencias.add(new ServidorReferencias());
+        }
+        contexto = new ContextoMeme(referencias, "memelandia.balanceamento.latencia.habilitado=" + latencia);
+        referenciaClient = contexto.bean(ReferenciaClient.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Set<String> consultarCategoria() {
+        return referenciaClient.categoriasExistentes(List.of("categoria-1"));
+    }
+}
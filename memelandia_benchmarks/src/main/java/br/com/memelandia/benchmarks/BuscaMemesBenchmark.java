@@ -0,0 +1,85 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service.service.BuscaMemes;
+import br.com.memelandia.meme_service.service.MemeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca textual do BuscaMemes comparada com o que os clientes faziam antes dela: percorrer a
+ * listagem inteira e filtrar por trecho do nome, da descrição ou da categoria. O filtro roda
+ * sobre MemeService.transmitirTodosMemes, sem o custo de HTTP e JSON que o cliente também paga.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BuscaMemesBenchmark {
+
+    private static final int RESULTADOS = 20;
+    private static final String TRECHO = "4242";
+
+    @Param({"100000"})
+    private int linhas;
+
+    private ContextoMeme contexto;
+    private MemeService memeService;
+    private BuscaMemes buscaMemes;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        contexto = new ContextoMeme("memelandia.busca.reconstruir-na-inicializacao=false");
+        memeService = contexto.bean(MemeService.class);
+        buscaMemes = contexto.bean(BuscaMemes.class);
+        contexto.popularMemes(linhas);
+
+        List<MemeRespostaDTO> memes = new ArrayList<>(linhas);
+        memeService.transmitirTodosMemes(memes::add);
+        buscaMemes.indexar(memes);
+        buscaMemes.renovarLeitor();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<MemeRespostaDTO> pesquisarIndice() {
+        return buscaMemes.buscar("meme " + TRECHO, RESULTADOS);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<MemeRespostaDTO> filtrarListagem() {
+        List<MemeRespostaDTO> encontrados = new ArrayList<>();
+        memeService.transmitirTodosMemes(meme -> {
+            if (encontrados.size() < RESULTADOS && (meme.getNome().contains(TRECHO)
+                    || meme.getDescricao().contains(TRECHO) || meme.getCategoriaNome().contains(TRECHO))) {
+                encontrados.add(meme);
+            }
+        });
+        return encontrados;
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.memelandia.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga do POST /meme com o Tomcat em threads de plataforma (padrão), em threads
+ * virtuais e, no modo reativo, com o meme_service_reactive (WebFlux, WebClient e R2DBC sobre o
+ * Netty). Cada modo sobe um serviço novo com servidor web e um stub de referências que
+ * responde depois de carga.atraso, simulando usuario_service e categoria_service remotos; o
+ * cache de referências fica desligado, então toda criação espera as duas consultas. carga.clientes
+ * clientes HTTP enviam memes sem pausa durante carga.aquecimento e carga.duracao; só as
+ * requisições iniciadas depois do aquecimento entram na vazão e nos percentis.
+ *
+ * Os limites do lado do serviço (bulkhead, pool de conexões e prazos) são elevados em todos
+ * os modos para que a comparação meça só o modelo de execução; no modo de plataforma o pool
+ * de validação acompanha as 200 threads do Tomcat, que fazem duas validações cada.
+ *
+ * @author rramirez
+ */
+
+public final class CargaMemeService {
+
+    private static final String[] PROPRIEDADES_COMUNS = {
+            "memelandia.referencia.cache.validade=0s",
+            "memelandia.protecao.bulkhead.maximo-simultaneas=4000",
+            "memelandia.protecao.circuito.chamada-lenta=10s",
+            "memelandia.downstream.pool.maximo=4000",
+            "memelandia.downstream.pool.maximo-por-rota=2000",
+            "memelandia.downstream.pool.espera-maxima=10s",
+            "memelandia.downstream.read-timeout=10s",
+            "memelandia.downstream.prazo-total=20s",
+            "memelandia.downstream.threads=400"};
+
+    private final int clientes = Integer.getInteger("carga.clientes", 1000);
+    private final Duration atraso = Duration.parse(System.getProperty("carga.atraso", "PT0.1S"));
+    private final Duration aquecimento = Duration.parse(System.getProperty("carga.aquecimento", "PT10S"));
+    private final Duration duracao = Duration.parse(System.getProperty("carga.duracao", "PT30S"));
+
+    public static void main(String[] args) throws Exception {
+        CargaMemeService carga = new CargaMemeService();
+        List<String> modos = List.of(System.getProperty("carga.modos", "plataforma,virtual,reativo").split(","));
+        System.out.printf("%d clientes, atraso do stub %d ms, aquecimento %d s, medição %d s%n",
+                carga.clientes, carga.atraso.toMillis(), carga.aquecimento.toSeconds(), carga.duracao.toSeconds());
+
+        List<Resultado> resultados = new ArrayList<>();
+        for (String modo : modos) {
+            resultados.add(carga.executar(modo.trim()));
+        }
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %8s%n", "modo", "vazão (r/s)", "p50 (ms)", "p99 (ms)", "máx (ms)", "erros");
+        resultados.forEach(resultado -> System.out.println(resultado.linha()));
+        System.exit(0);
+    }
+
+    private Resultado executar(String modo) throws Exception {
+        List<ServidorReferencias> referencias = List.of(new ServidorReferencias(atraso));
+        if ("reativo".equals(modo)) {
+            try (ContextoMemeReativo contexto = new ContextoMemeReativo(referencias, PROPRIEDADES_COMUNS)) {
+                return medir(modo, contexto.porta());
+            }
+        }
+
+        List<String> propriedades = new ArrayList<>(List.of(PROPRIEDADES_COMUNS));
+        propriedades.add("spring.threads.virtual.enabled=" + "virtual".equals(modo));
+        try (ContextoMeme contexto = new ContextoMeme(referencias, WebApplicationType.SERVLET,
+                propriedades.toArray(String[]::new))) {
+            return medir(modo, contexto.porta());
+        }
+    }
+
+    private Resultado medir(String modo, int porta) throws Exception {
+        try (ExecutorService threadsClientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            URI uri = URI.create("http://localhost:" + porta + "/meme");
+            HttpClient cliente = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(threadsClientes)
+                    .build();
+
+            long inicioMedicao = System.nanoTime() + aquecimento.toNanos();
+            long fim = inicioMedicao + duracao.toNanos();
+            AtomicLong sequencia = new AtomicLong();
+            AtomicLong erros = new AtomicLong();
+
+            System.out.printf("%s: %d clientes em %s%n", modo, clientes, uri);
+            List<Future<long[]>> latencias = new ArrayList<>(clientes);
+            for (int i = 0; i < clientes; i++) {
+                latencias.add(threadsClientes.submit(() -> enviarAte(cliente, uri, inicioMedicao, fim, sequencia, erros)));
+            }
+
+            long[] todas = new long[0];
+            for (Future<long[]> latenciasCliente : latencias) {
+                long[] doCliente = latenciasCliente.get();
+                int anterior = todas.length;
+                todas = Arrays.copyOf(todas, anterior + doCliente.length);
+                System.arraycopy(doCliente, 0, todas, anterior, doCliente.length);
+            }
+            Arrays.sort(todas);
+            return new Resultado(modo, todas, erros.get(), duracao);
+        }
+    }
+
+    /**
+     * Envia memes em sequência até o fim do teste e devolve as latências, em nanossegundos, das
+     * requisições bem-sucedidas iniciadas depois do aquecimento.
+     */
+    private static long[] enviarAte(HttpClient cliente, URI uri, long inicioMedicao, long fim,
+                                    AtomicLong sequencia, AtomicLong erros) {
+        long[] latencias = new long[1024];
+        int quantidade = 0;
+        long inicio;
+        while ((inicio = System.nanoTime()) < fim) {
+            String corpo = """
+                    {"nome":"carga-%d","descricao":"meme do teste de carga","url":"https://memelandia.com.br/memes/1.png","categoriaNome":"categoria-1","usuarioNome":"usuario-1"}
+                    """.formatted(sequencia.incrementAndGet());
+            HttpRequest requisicao = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+            boolean sucesso;
+            try {
+                sucesso = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 201;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                sucesso = false;
+            }
+            if (inicio < inicioMedicao) {
+                continue;
+            }
+            if (!sucesso) {
+                erros.incrementAndGet();
+            } else {
+                if (quantidade == latencias.length) {
+                    latencias = Arrays.copyOf(latencias, quantidade * 2);
+                }
+                latencias[quantidade++] = System.nanoTime() - inicio;
+            }
+        }
+        return Arrays.copyOf(latencias, quantidade);
+    }
+
+    private record Resultado(String modo, long[] latencias, long erros, Duration duracao) {
+
+        String linha() {
+            return String.format("%-10s %12.0f %10.1f %10.1f %10.1f %8d", modo, latencias.length / (duracao.toMillis() / 1000.0),
+                    percentil(0.50), percentil(0.99), latencias.length == 0 ? 0 : latencias[latencias.length - 1] / 1e6, erros);
+        }
+
+        private double percentil(double p) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            return latencias[(int) Math.min(latencias.length - 1, Math.ceil(p * latencias.length) - 1)] / 1e6;
+        }
+    }
+}
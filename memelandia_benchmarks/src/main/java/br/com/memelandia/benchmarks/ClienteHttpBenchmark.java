@@ -0,0 +1,83 @@
+package br.com.memelandia.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma consulta /exists ao stub de referências pelo RestTemplate do meme_service (Apache
+ * HttpClient com pool de conexões) e pelo RestTemplate sobre SimpleClientHttpRequestFactory
+ * que o meme_service usava antes, com os mesmos timeouts. Mede a latência com uma thread e
+ * a vazão com 16 threads.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class ClienteHttpBenchmark {
+
+    private static final List<String> NOMES = List.of("categoria-1");
+
+    @Param({"pool", "simples"})
+    private String cliente;
+
+    private ServidorReferencias referencias;
+    private ContextoMeme contexto;
+    private RestTemplate restTemplate;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        referencias = new ServidorReferencias();
+        contexto = new ContextoMeme(List.of(referencias));
+        url = referencias.url() + "/categoria/exists";
+        if ("pool".equals(cliente)) {
+            restTemplate = contexto.bean(RestTemplate.class);
+        } else {
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout(Duration.ofMillis(500));
+            requestFactory.setReadTimeout(Duration.ofSeconds(2));
+            restTemplate = new RestTemplate(requestFactory);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public String[] consultar() {
+        return restTemplate.postForObject(url, NOMES, String[].class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(16)
+    public String[] consultarConcorrente() {
+        return consultar();
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Pagina;
+import br.com.memelandia.meme_service.repositories.MemeRepository;
+import br.com.memelandia.meme_service.service.MemeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas pontuais de memes em uma tabela de 1 milhão de linhas, com e sem o cache local e
+ * com e sem os índices de meme.nome, (categoria_nome, data_cadastro, id) e
+ * (usuario_nome, data_cadastro, id). Com indices=sem eles são removidos depois da carga, o que
+ * reproduz a tabela de antes dos índices; só o índice (data_cadastro, id) da listagem fica.
+ * As buscas por nome e por id sorteiam entre os 5 mil primeiros memes, que cabem no cache;
+ * listarPorCategoria lê a primeira página de uma categoria, sem cache.
+ * sortearMemeDoDia mede a leitura por posição no índice da chave primária usada no sorteio
+ * diário (que substituiu o antigo findRandomMeme); obterMemeDoDia mede o caminho já sorteado.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ConsultarMemeBenchmark {
+
+    private static final int LINHAS = 1_000_000;
+    private static final int CONSULTADOS = 5_000;
+    private static final int TAMANHO_PAGINA = 50;
+    private static final List<String> INDICES_NOME = List.of("idx_meme_nome", "idx_meme_categoria_data_id", "idx_meme_usuario_data_id");
+
+    @Param({"caffeine", "none"})
+    private String cache;
+
+    @Param({"com", "sem"})
+    private String indices;
+
+    private ContextoMeme contexto;
+    private MemeService memeService;
+    private MemeRepository memeRepository;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        contexto = new ContextoMeme("spring.cache.type=" + cache);
+        memeService = contexto.bean(MemeService.class);
+        memeRepository = contexto.bean(MemeRepository.class);
+        ids = contexto.popularMemes(LINHAS);
+        if (indices.equals("sem")) {
+            JdbcTemplate jdbc = contexto.bean(JdbcTemplate.class);
+            INDICES_NOME.forEach(indice -> jdbc.execute("DROP INDEX " + indice));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<MemeRespostaDTO> buscarPorNome() {
+        return memeService.buscarMemePorNome("meme-" + ThreadLocalRandom.current().nextInt(CONSULTADOS));
+    }
+
+    @Benchmark
+    public Optional<MemeRespostaDTO> buscarPorId() {
+        return memeService.buscarMemePorId(ids[ThreadLocalRandom.current().nextInt(CONSULTADOS)]);
+    }
+
+    @Benchmark
+    public Pagina<MemeRespostaDTO> listarPorCategoria() {
+        return memeService.listarTodosMemes(new FiltroMemes("categoria-" + ThreadLocalRandom.current().nextInt(50), null, null, null),
+                null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public Optional<Meme> sortearMemeDoDia() {
+        return memeRepository.findNaPosicao(ThreadLocalRandom.current().nextLong(LINHAS));
+    }
+
+    @Benchmark
+    public MemeRespostaDTO obterMemeDoDia() {
+        return memeService.obterMemeDoDia();
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.comum.paginacao.Cursor;
+import br.com.memelandia.meme_service.MemeServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sobe o meme_service sem servidor web (ou, no teste de carga, com o Tomcat em uma porta livre),
+ * com banco H2 próprio e os stubs de referências
+ * registrados como instâncias do usuario_service e do categoria_service na descoberta simples
+ * do Spring Cloud, e oferece a carga da tabela de memes usada pelos benchmarks.
+ *
+ * @author rramirez
+ */
+
+final class ContextoMeme implements AutoCloseable {
+
+    private static final String INSERIR_MEME = "INSERT INTO meme (id, nome, descricao, url, data_cadastro, categoria_nome, usuario_nome) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int TAMANHO_LOTE_CARGA = 10_000;
+    private static final LocalDate PRIMEIRO_CADASTRO = LocalDate.of(2024, 1, 1);
+
+    private final List<ServidorReferencias> referencias;
+    private final ConfigurableApplicationContext contexto;
+
+    ContextoMeme(String... propriedades) throws IOException {
+        this(List.of(new ServidorReferencias()), propriedades);
+    }
+
+    ContextoMeme(List<ServidorReferencias> referencias, String... propriedades) {
+        this(referencias, WebApplicationType.NONE, propriedades);
+    }
+
+    ContextoMeme(List<ServidorReferencias> referencias, WebApplicationType tipoWeb, String... propriedades) {
+        this.referencias = referencias;
+
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.config.name=memelandia-benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--server.port=0"));
+        for (int i = 0; i < referencias.size(); i++) {
+            String url = referencias.get(i).url();
+            argumentos.add("--spring.cloud.discovery.client.simple.instances.usuario_service[" + i + "].uri=" + url);
+            argumentos.add("--spring.cloud.discovery.client.simple.instances.categoria_service[" + i + "].uri=" + url);
+        }
+        for (String propriedade : propriedades) {
+            argumentos.add("--" + propriedade);
+        }
+
+        this.contexto = new SpringApplicationBuilder(MemeServiceApplication.class)
+                .web(tipoWeb)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    int porta() {
+        return contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    /**
+     * Insere memes via JDBC em lotes, espalhados por dois anos de cadastro, 50 categorias e
+     * 1000 usuários. O meme de posição i se chama "meme-i"; os ids gerados são devolvidos na mesma ordem.
+     */
+    UUID[] popularMemes(int quantidade) {
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+        UUID[] ids = new UUID[quantidade];
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE_CARGA);
+        for (int i = 0; i < quantidade; i++) {
+            ids[i] = UUID.randomUUID();
+            lote.add(new Object[]{ids[i], "meme-" + i, "descrição do meme " + i, "https://memelandia.com.br/memes/" + i + ".png",
+                    PRIMEIRO_CADASTRO.plusDays(i % 730), "categoria-" + (i % 50), "usuario-" + (i % 1000)});
+            if (lote.size() == TAMANHO_LOTE_CARGA) {
+                jdbc.batchUpdate(INSERIR_MEME, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbc.batchUpdate(INSERIR_MEME, lote);
+        }
+        return ids;
+    }
+
+    /**
+     * Cursor que aponta para o meme na posição informada da ordem de listagem.
+     */
+    String cursorNaPosicao(int posicao) {
+        return bean(JdbcTemplate.class).queryForObject(
+                "SELECT data_cadastro, id FROM meme ORDER BY data_cadastro, id OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY",
+                (linha, numero) -> new Cursor(linha.getObject("data_cadastro", LocalDate.class), linha.getObject("id", UUID.class)).codificar(),
+                posicao);
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+        referencias.forEach(ServidorReferencias::close);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.meme_service_reactive.MemeServiceReactiveApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sobe o meme_service_reactive em uma porta livre, com banco H2 próprio via R2DBC (sem pool, como
+ * no application.properties dele) e os stubs de referências na descoberta simples, como o
+ * ContextoMeme faz com o meme_service. O classpath dos benchmarks também traz JPA e Tomcat do
+ * meme_service, então o JDBC e o Hibernate ficam desligados e o servidor Netty é registrado
+ * explicitamente, senão o WebFlux rodaria sobre o Tomcat.
+ *
+ * @author rramirez
+ */
+
+final class ContextoMemeReativo implements AutoCloseable {
+
+    private final List<ServidorReferencias> referencias;
+    private final ConfigurableApplicationContext contexto;
+
+    ContextoMemeReativo(List<ServidorReferencias> referencias, String... propriedades) {
+        this.referencias = referencias;
+
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.config.name=memelandia-benchmark",
+                "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=password",
+                "--spring.r2dbc.pool.enabled=false",
+                "--spring.sql.init.mode=always",
+                "--server.port=0"));
+        for (int i = 0; i < referencias.size(); i++) {
+            String url = referencias.get(i).url();
+            argumentos.add("--spring.cloud.discovery.client.simple.instances.usuario_service[" + i + "].uri=" + url);
+            argumentos.add("--spring.cloud.discovery.client.simple.instances.categoria_service[" + i + "].uri=" + url);
+        }
+        for (String propriedade : propriedades) {
+            argumentos.add("--" + propriedade);
+        }
+
+        this.contexto = new SpringApplicationBuilder(MemeServiceReactiveApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .initializers(inicial -> ((GenericApplicationContext) inicial).registerBean(NettyReactiveWebServerFactory.class))
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    int porta() {
+        return contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+        referencias.forEach(ServidorReferencias::close);
+    }
+}
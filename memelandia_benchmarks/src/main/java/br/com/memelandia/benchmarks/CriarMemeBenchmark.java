@@ -0,0 +1,73 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.meme_service.service.MemeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MemeService.criarMeme contra o stub local de usuario_service e categoria_service.
+ * Com cacheReferencias=false toda criação consulta os dois serviços. criarMemeConcorrente
+ * mede a vazão com 16 threads criando ao mesmo tempo, que é onde o reaproveitamento das
+ * conexões HTTP aparece.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class CriarMemeBenchmark {
+
+    @Param({"true", "false"})
+    private boolean cacheReferencias;
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private ContextoMeme contexto;
+    private MemeService memeService;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        contexto = new ContextoMeme("memelandia.referencia.cache.validade=" + (cacheReferencias ? "10m" : "0s"));
+        memeService = contexto.bean(MemeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public MemeRespostaDTO criarMeme() {
+        MemeDTO dto = new MemeDTO("meme-" + sequencia.incrementAndGet(), "descrição", "https://memelandia.com.br/memes/1.png",
+                "categoria-1", "usuario-1");
+        return memeService.criarMeme(dto).orElseThrow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(16)
+    public MemeRespostaDTO criarMemeConcorrente() {
+        return criarMeme();
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.comum.meme.FiltroMemes;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Pagina;
+import br.com.memelandia.meme_service.service.MemeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem filtrada do MemeService com a tabela de memes em diferentes tamanhos: os memes de
+ * uma categoria em uma semana, os de um usuário em um ano e os de todas as categorias em um
+ * único dia. Com o índice composto o tempo deve se manter estável conforme a tabela cresce.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FiltrarMemesBenchmark {
+
+    private static final int TAMANHO_PAGINA = 50;
+    private static final LocalDate INICIO_SEMANA = LocalDate.of(2025, 6, 2);
+
+    @Param({"10000", "100000", "1000000"})
+    private int linhas;
+
+    private ContextoMeme contexto;
+    private MemeService memeService;
+    private FiltroMemes categoriaNaSemana;
+    private FiltroMemes usuarioNoAno;
+    private FiltroMemes unicoDia;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        contexto = new ContextoMeme("memelandia.busca.reconstruir-na-inicializacao=false");
+        memeService = contexto.bean(MemeService.class);
+        contexto.popularMemes(linhas);
+        categoriaNaSemana = new FiltroMemes("categoria-7", null, INICIO_SEMANA, INICIO_SEMANA.plusDays(6));
+        usuarioNoAno = new FiltroMemes(null, "usuario-7", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+        unicoDia = new FiltroMemes(null, null, INICIO_SEMANA, INICIO_SEMANA);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Pagina<MemeRespostaDTO> categoriaNaSemana() {
+        return memeService.listarTodosMemes(categoriaNaSemana, null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<MemeRespostaDTO> usuarioNoAno() {
+        return memeService.listarTodosMemes(usuarioNoAno, null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<MemeRespostaDTO> unicoDia() {
+        return memeService.listarTodosMemes(unicoDia, null, TAMANHO_PAGINA);
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Pagina;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Custo de CPU para codificar uma página da listagem de memes em JSON, JSON com gzip (o que o
+ * Tomcat faz com server.compression), Smile e CBOR. O tamanho de cada formato, que é o que
+ * trafega na rede, é impresso na preparação do benchmark.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatoRespostaBenchmark {
+
+    @Param({"50", "500"})
+    private int itens;
+
+    private ObjectMapper json;
+    private ObjectMapper smile;
+    private ObjectMapper cbor;
+    private Pagina<MemeRespostaDTO> pagina;
+
+    @Setup
+    public void preparar() throws IOException {
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        smile = Jackson2ObjectMapperBuilder.smile()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cbor = Jackson2ObjectMapperBuilder.cbor()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDate hoje = LocalDate.now();
+        List<MemeRespostaDTO> memes = new ArrayList<>();
+        for (int i = 0; i < itens; i++) {
+            memes.add(new MemeRespostaDTO(UUID.randomUUID(), "meme-" + i, "descrição do meme " + i, "https://memelandia.com.br/memes/" + i + ".png",
+                    hoje.minusDays(i % 730), "categoria-" + (i % 50), "usuario-" + (i % 1000)));
+        }
+        pagina = new Pagina<>(memes, "cursor");
+
+        System.out.printf("%nBytes por resposta com %d itens: json=%d, json+gzip=%d, smile=%d, cbor=%d%n", itens,
+                jsonPuro().length, jsonGzip().length, smile().length, cbor().length);
+    }
+
+    @Benchmark
+    public byte[] jsonPuro() throws IOException {
+        return json.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            json.writeValue(gzip, pagina);
+        }
+        return saida.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smile.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Pagina;
+import br.com.memelandia.meme_service.service.MemeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemeService.listarTodosMemes com a tabela de memes em diferentes tamanhos:
+ * a primeira página e uma página a partir do meio da listagem.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ListarMemesBenchmark {
+
+    private static final int TAMANHO_PAGINA = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    private int linhas;
+
+    private ContextoMeme contexto;
+    private MemeService memeService;
+    private String cursorNoMeio;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        contexto = new ContextoMeme();
+        memeService = contexto.bean(MemeService.class);
+        contexto.popularMemes(linhas);
+        cursorNoMeio = contexto.cursorNaPosicao(linhas / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Pagina<MemeRespostaDTO> primeiraPagina() {
+        return memeService.listarTodosMemes(null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<MemeRespostaDTO> paginaNoMeio() {
+        return memeService.listarTodosMemes(cursorNoMeio, TAMANHO_PAGINA);
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.comum.meme.Meme;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Cursor;
+import br.com.memelandia.comum.paginacao.Pagina;
+import br.com.memelandia.meme_service.service.MemeService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Listagem de memes montada a partir de entidades gerenciadas, como o meme_service fazia antes
+ * das projeções, comparada com a listagem atual do MemeService, que monta o MemeRespostaDTO
+ * direto na consulta. Mede a primeira página de 50 itens e a transmissão da tabela inteira;
+ * rode com o profiler gc (padrão do exec:exec) para ver a alocação por operação.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProjecaoMemesBenchmark {
+
+    private static final int TAMANHO_PAGINA = 50;
+    private static final String CONSULTA_ENTIDADES = "SELECT m FROM Meme m ORDER BY m.dataCadastro, m.id";
+
+    @Param({"100000"})
+    private int linhas;
+
+    private ContextoMeme contexto;
+    private MemeService memeService;
+    private EntityManager entityManager;
+    private TransactionTemplate transacaoLeitura;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        contexto = new ContextoMeme();
+        memeService = contexto.bean(MemeService.class);
+        entityManager = contexto.bean(EntityManager.class);
+        transacaoLeitura = new TransactionTemplate(contexto.bean(TransactionTemplate.class).getTransactionManager());
+        transacaoLeitura.setReadOnly(true);
+        contexto.popularMemes(linhas);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Pagina<Meme> paginaDeEntidades() {
+        List<Meme> memes = entityManager.createQuery(CONSULTA_ENTIDADES, Meme.class)
+                .setMaxResults(TAMANHO_PAGINA + 1)
+                .getResultList();
+        memes = memes.subList(0, TAMANHO_PAGINA);
+        Meme ultimo = memes.get(TAMANHO_PAGINA - 1);
+        return new Pagina<>(memes, new Cursor(ultimo.getDataCadastro(), ultimo.getId()).codificar());
+    }
+
+    @Benchmark
+    public Pagina<MemeRespostaDTO> paginaDeProjecoes() {
+        return memeService.listarTodosMemes(null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void transmitirEntidades(Blackhole blackhole) {
+        transacaoLeitura.executeWithoutResult(status -> {
+            try (Stream<Meme> memes = entityManager.createQuery(CONSULTA_ENTIDADES, Meme.class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                    .getResultStream()) {
+                memes.forEach(meme -> {
+                    blackhole.consume(meme);
+                    entityManager.detach(meme);
+                });
+            }
+        });
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void transmitirProjecoes(Blackhole blackhole) {
+        memeService.transmitirTodosMemes(blackhole::consume);
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.memelandia.benchmarks;
+
+import br.com.memelandia.categoria_service.dto.CategoriaRespostaDTO;
+import br.com.memelandia.comum.meme.MemeDTO;
+import br.com.memelandia.comum.meme.MemeRespostaDTO;
+import br.com.memelandia.comum.paginacao.Pagina;
+import br.com.memelandia.comum.resposta.RespostasSerializadas;
+import br.com.memelandia.usuario_service.dto.UsuarioRespostaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson das respostas devolvidas pelos três serviços, de uma página de
+ * listagem e a leitura do corpo de criação de meme, com a mesma configuração de datas do Spring Boot.
+ * memeEmCache mede o mesmo meme servido pelo RespostasSerializadas, já em bytes.
+ *
+ * @author rramirez
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    private ObjectMapper objectMapper;
+    private MemeRespostaDTO meme;
+    private CategoriaRespostaDTO categoria;
+    private UsuarioRespostaDTO usuario;
+    private Pagina<MemeRespostaDTO> pagina;
+    private byte[] memeDTOJson;
+    private RespostasSerializadas<UUID> respostasSerializadas;
+
+    @Setup
+    public void preparar() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDate hoje = LocalDate.now();
+        meme = new MemeRespostaDTO(UUID.randomUUID(), "gato surpreso", "gato olhando a câmera", "https://memelandia.com.br/memes/1.png",
+                hoje, "gatos", "ana");
+        categoria = new CategoriaRespostaDTO(UUID.randomUUID(), "gatos", "memes de gatos", hoje);
+        usuario = new UsuarioRespostaDTO(UUID.randomUUID(), "ana", "ana@memelandia.com.br", hoje);
+
+        List<MemeRespostaDTO> memes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            memes.add(new MemeRespostaDTO(UUID.randomUUID(), "meme-" + i, "descrição do meme " + i, "https://memelandia.com.br/memes/" + i + ".png",
+                    hoje.minusDays(i), "categoria-" + (i % 5), "usuario-" + (i % 10)));
+        }
+        pagina = new Pagina<>(memes, "cursor");
+
+        memeDTOJson = objectMapper.writeValueAsBytes(new MemeDTO("gato surpreso", "gato olhando a câmera",
+                "https://memelandia.com.br/memes/1.png", "gatos", "ana"));
+
+        respostasSerializadas = new RespostasSerializadas<>(objectMapper, new SimpleMeterRegistry(), "meme.resposta.cache",
+                DataSize.ofMegabytes(32), Duration.ofMinutes(10));
+        respostasSerializadas.obter(meme.getId(), MediaType.APPLICATION_JSON, () -> meme);
+    }
+
+    @Benchmark
+    public byte[] serializarMeme() throws Exception {
+        return objectMapper.writeValueAsBytes(meme);
+    }
+
+    @Benchmark
+    public byte[] memeEmCache() {
+        return respostasSerializadas.obter(meme.getId(), MediaType.APPLICATION_JSON, () -> meme);
+    }
+
+    @Benchmark
+    public byte[] serializarCategoria() throws Exception {
+        return objectMapper.writeValueAsBytes(categoria);
+    }
+
+    @Benchmark
+    public byte[] serializarUsuario() throws Exception {
+        return objectMapper.writeValueAsBytes(usuario);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public MemeDTO desserializarMemeDTO() throws Exception {
+        return objectMapper.readValue(memeDTOJson, MemeDTO.class);
+    }
+}
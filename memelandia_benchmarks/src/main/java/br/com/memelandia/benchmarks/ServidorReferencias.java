@@ -0,0 +1,76 @@
+package br.com.memelandia.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stub local do usuario_service e do categoria_service para os benchmarks.
+ * Os endpoints /exists confirmam todos os nomes recebidos devolvendo o próprio corpo da requisição,
+ * opcionalmente depois de um atraso fixo para simular uma instância lenta. O servidor usa
+ * TCP_NODELAY: sem ele o atraso de ACK do sistema acrescenta cerca de 40 ms a cada resposta
+ * e esconde o custo do cliente HTTP do meme_service. Cada requisição roda em uma thread virtual,
+ * para que o atraso não limite a vazão do stub no teste de carga, e as conexões ociosas não são
+ * fechadas antes de 4096, o que faria o pool do meme_service reaproveitar conexões já encerradas.
+ *
+ * @author rramirez
+ */
+
+final class ServidorReferencias implements AutoCloseable {
+
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "4096");
+    }
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final Duration atraso;
+
+    ServidorReferencias() throws IOException {
+        this(Duration.ZERO);
+    }
+
+    ServidorReferencias(Duration atraso) throws IOException {
+        this.atraso = atraso;
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.createContext("/usuario_service/exists", this::confirmarTodos);
+        servidor.createContext("/categoria/exists", this::confirmarTodos);
+        servidor.setExecutor(executor);
+        servidor.start();
+    }
+
+    String url() {
+        return "http://localhost:" + servidor.getAddress().getPort();
+    }
+
+    private void confirmarTodos(HttpExchange troca) throws IOException {
+        byte[] nomes = troca.getRequestBody().readAllBytes();
+        if (!atraso.isZero()) {
+            try {
+                Thread.sleep(atraso.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        troca.getResponseHeaders().add("Content-Type", "application/json");
+        troca.sendResponseHeaders(200, nomes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(nomes);
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+}
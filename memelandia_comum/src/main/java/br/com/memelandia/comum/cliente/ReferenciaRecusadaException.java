@@ -0,0 +1,31 @@
+package br.com.memelandia.comum.cliente;
+
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * O usuario_service ou o categoria_service respondeu à consulta com um erro 4xx. O problema
+ * está na requisição e não no serviço, então a recusa não conta como falha para o circuito
+ * e o status volta para quem chamou o meme_service ou o meme_service_reactive.
+ *
+ * @author rramirez
+ */
+
+public class ReferenciaRecusadaException extends RuntimeException {
+
+    private final String servico;
+    private final HttpStatusCode status;
+
+    public ReferenciaRecusadaException(String servico, HttpStatusCode status, String mensagem, Throwable causa) {
+        super(mensagem, causa);
+        this.servico = servico;
+        this.status = status;
+    }
+
+    public String getServico() {
+        return servico;
+    }
+
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+}
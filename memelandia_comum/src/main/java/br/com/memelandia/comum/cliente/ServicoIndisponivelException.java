@@ -0,0 +1,22 @@
+package br.com.memelandia.comum.cliente;
+
+/**
+ * O usuario_service ou o categoria_service não pôde ser consultado: circuito aberto, limite de
+ * chamadas simultâneas atingido, nenhuma instância disponível no Eureka ou falha na própria chamada.
+ *
+ * @author rramirez
+ */
+
+public class ServicoIndisponivelException extends RuntimeException {
+
+    private final String servico;
+
+    public ServicoIndisponivelException(String servico, String mensagem, Throwable causa) {
+        super(mensagem, causa);
+        this.servico = servico;
+    }
+
+    public String getServico() {
+        return servico;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.memelandia.comum.meme;
+
+import java.time.LocalDate;
+
+/**
+ *
+ * Filtros opcionais da listagem de memes: categoria, usuário e intervalo de datas de
+ * cadastro, com as duas pontas inclusivas. Campos nulos não restringem a listagem.
+ *
+ * @author rramirez
+ */
+
+public final class FiltroMemes {
+    private final String categoriaNome;
+    private final String usuarioNome;
+    private final LocalDate de;
+    private final LocalDate ate;
+
+    public FiltroMemes(String categoriaNome, String usuarioNome, LocalDate de, LocalDate ate) {
+        if (de != null && ate != null && de.isAfter(ate)) {
+            throw new IllegalArgumentException("A data inicial (" + de + ") é posterior à final (" + ate + ").");
+        }
+        this.categoriaNome = vazioComoNulo(categoriaNome);
+        this.usuarioNome = vazioComoNulo(usuarioNome);
+        this.de = de;
+        this.ate = ate;
+    }
+
+    public boolean isVazio() {
+        return categoriaNome == null && usuarioNome == null && de == null && ate == null;
+    }
+
+    public String getCategoriaNome() {
+        return categoriaNome;
+    }
+
+    public String getUsuarioNome() {
+        return usuarioNome;
+    }
+
+    public LocalDate getDe() {
+        return de;
+    }
+
+    public LocalDate getAte() {
+        return ate;
+    }
+
+    private static String vazioComoNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor;
+    }
+}
@@ -1,6 +1,5 @@
-package br.com.memelandia.meme_service.domain;
+package br.com.memelandia.comum.meme;
 
-import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
 import java.time.LocalDate;
@@ -9,40 +8,31 @@ import java.util.UUID;
 /**
  *
  * Representa um meme do sistema.
- * Armazena informações de descrição e data de cadastro.
+ * Armazena informações de descrição e data de cadastro. A classe não depende da forma de
+ * persistência: o meme_service a mapeia pelo META-INF/orm.xml e o meme_service_reactive lê
+ * e grava as colunas no MemeRepository.
  *
  * @author rramirez
  */
 
-@Entity
-@Table(name = "meme")
 public class Meme {
-    @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
-    @Column(name = "id", nullable = false)
     private UUID id;
 
     @NotBlank(message = "Nome do meme é obrigatório")
-    @Column(name = "nome", nullable = false)
     private String nome;
 
     @NotBlank(message = "Descrição do meme é obrigatório")
-    @Column(name = "descricao", nullable = false)
     private String descricao;
 
     @NotBlank(message = "Url do meme é obrigatório")
-    @Column(name = "url", nullable = false)
     private String url;
 
-    @Column(name = "data_cadastro", nullable = false)
     private LocalDate dataCadastro;
 
     @NotBlank(message = "Nome da categoria do meme é obrigatório")
-    @Column(name = "categoria_nome", nullable = false)
     private String  categoriaNome;
 
     @NotBlank(message = "Nome do usuário do meme é obrigatório")
-    @Column(name = "usuario_nome", nullable = false)
     private String usuarioNome;
 
     public Meme(){
@@ -1,4 +1,4 @@
-package br.com.memelandia.meme_service.dto;
+package br.com.memelandia.comum.meme;
 
 import jakarta.validation.constraints.NotBlank;
 
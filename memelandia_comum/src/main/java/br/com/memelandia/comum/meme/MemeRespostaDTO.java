@@ -0,0 +1,63 @@
+package br.com.memelandia.comum.meme;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Representação de um meme devolvida pela API. As listagens a montam direto na consulta,
+ * sem carregar a entidade no contexto de persistência.
+ *
+ * @author rramirez
+ */
+
+public class MemeRespostaDTO {
+    private final UUID id;
+    private final String nome;
+    private final String descricao;
+    private final String url;
+    private final LocalDate dataCadastro;
+    private final String categoriaNome;
+    private final String usuarioNome;
+
+    public MemeRespostaDTO(UUID id, String nome, String descricao, String url, LocalDate dataCadastro, String categoriaNome, String usuarioNome) {
+        this.id = id;
+        this.nome = nome;
+        this.descricao = descricao;
+        this.url = url;
+        this.dataCadastro = dataCadastro;
+        this.categoriaNome = categoriaNome;
+        this.usuarioNome = usuarioNome;
+    }
+
+    public static MemeRespostaDTO de(Meme meme) {
+        return new MemeRespostaDTO(meme.getId(), meme.getNome(), meme.getDescricao(), meme.getUrl(), meme.getDataCadastro(), meme.getCategoriaNome(), meme.getUsuarioNome());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public LocalDate getDataCadastro() {
+        return dataCadastro;
+    }
+
+    public String getCategoriaNome() {
+        return categoriaNome;
+    }
+
+    public String getUsuarioNome() {
+        return usuarioNome;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.memelandia.comum.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ *
+ * Evento de integração gravado na mesma transação da entidade que o originou.
+ * Fica na tabela até o PublicadorEventos receber a confirmação do broker. A chave identifica
+ * o agregado (o nome da categoria ou do usuário): eventos de uma mesma chave saem na ordem
+ * do id. reservadoPor e reservadoAte marcam a instância que está publicando o evento.
+ *
+ * @author rramirez
+ */
+
+@Entity
+@Table(name = "evento_pendente", indexes = {
+        @Index(name = "idx_evento_pendente_proxima_tentativa", columnList = "proxima_tentativa, id"),
+        @Index(name = "idx_evento_pendente_chave_id", columnList = "chave, id")
+})
+public class EventoPendente {
+    // Sem faixas pré-alocadas: o id sai da sequência na gravação, então o evento de uma transação
+    // que começou depois do commit de outra tem id maior, mesmo vindo de outra instância.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_pendente_seq")
+    @SequenceGenerator(name = "evento_pendente_seq", sequenceName = "evento_pendente_seq", allocationSize = 1)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "destino", nullable = false)
+    private String destino;
+
+    @Column(name = "chave", nullable = false)
+    private String chave;
+
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "tentativas", nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private Instant proximaTentativa;
+
+    @Column(name = "reservado_por")
+    private String reservadoPor;
+
+    @Column(name = "reservado_ate")
+    private Instant reservadoAte;
+
+    public EventoPendente(){}
+
+    public EventoPendente(String destino, String chave, String payload, Instant criadoEm) {
+        this.destino = destino;
+        this.chave = chave;
+        this.payload = payload;
+        this.criadoEm = criadoEm;
+        this.proximaTentativa = criadoEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDestino() {
+        return destino;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public Instant getProximaTentativa() {
+        return proximaTentativa;
+    }
+
+    public String getReservadoPor() {
+        return reservadoPor;
+    }
+
+    public Instant getReservadoAte() {
+        return reservadoAte;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.memelandia.comum.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author rramirez
+ */
+
+public interface EventoPendenteRepository extends JpaRepository<EventoPendente, Long> {
+
+    /**
+     * Ids dos eventos que já podem ser enviados e não estão reservados por outra instância.
+     * Só entra o evento mais antigo de cada chave: enquanto ele estiver na tabela, esperando
+     * confirmação ou uma nova tentativa, os seguintes da mesma chave ficam retidos.
+     */
+    @Query("SELECT e.id FROM EventoPendente e WHERE e.proximaTentativa <= :agora "
+            + "AND (e.reservadoAte IS NULL OR e.reservadoAte <= :agora) "
+            + "AND NOT EXISTS (SELECT a.id FROM EventoPendente a WHERE a.chave = e.chave AND a.id < e.id) "
+            + "ORDER BY e.id")
+    List<Long> findProntos(@Param("agora") Instant agora, Limit limite);
+
+    /**
+     * Reserva os eventos para a instância até o instante informado. Duas instâncias que leram os
+     * mesmos ids disputam as linhas aqui: a segunda espera o bloqueio da primeira e, como a
+     * condição deixa de valer, não reserva nada.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoPendente e SET e.reservadoPor = :instancia, e.reservadoAte = :ate "
+            + "WHERE e.id IN :ids AND (e.reservadoAte IS NULL OR e.reservadoAte <= :agora)")
+    int reservar(@Param("ids") Collection<Long> ids, @Param("instancia") String instancia,
+                 @Param("agora") Instant agora, @Param("ate") Instant ate);
+
+    @Query("SELECT e FROM EventoPendente e WHERE e.id IN :ids AND e.reservadoPor = :instancia ORDER BY e.id")
+    List<EventoPendente> findReservados(@Param("ids") Collection<Long> ids, @Param("instancia") String instancia);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoPendente e SET e.tentativas = :tentativas, e.proximaTentativa = :proximaTentativa, "
+            + "e.reservadoPor = NULL, e.reservadoAte = NULL WHERE e.id IN :ids AND e.reservadoPor = :instancia")
+    int reagendar(@Param("ids") Collection<Long> ids, @Param("instancia") String instancia,
+                  @Param("tentativas") int tentativas, @Param("proximaTentativa") Instant proximaTentativa);
+}
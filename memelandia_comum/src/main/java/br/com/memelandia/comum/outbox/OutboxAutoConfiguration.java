@@ -0,0 +1,26 @@
+package br.com.memelandia.comum.outbox;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Liga o outbox de eventos nos serviços com memelandia.outbox.habilitado=true. O pacote entra
+ * nos pacotes de auto-configuração, então a entidade EventoPendente e o repositório são
+ * encontrados pelo JPA sem @EntityScan no serviço; por isso roda antes dos repositórios JPA.
+ * Intervalo, tamanho do lote, reserva e esperas ficam em memelandia.outbox.*, e
+ * memelandia.outbox.metricas dá o prefixo das métricas (ex.: categoria.outbox).
+ *
+ * @author rramirez
+ */
+
+@AutoConfiguration(before = JpaRepositoriesAutoConfiguration.class)
+@ConditionalOnProperty(prefix = "memelandia.outbox", name = "habilitado", havingValue = "true")
+@AutoConfigurationPackage
+@EnableScheduling
+@Import({PublicadorEventos.class, OutboxEventos.class})
+public class OutboxAutoConfiguration {
+}
@@ -0,0 +1,70 @@
+package br.com.memelandia.comum.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Grava eventos na tabela evento_pendente. Deve ser chamado dentro da transação que grava
+ * a entidade, para que o evento só exista se a entidade existir; a publicação fica com o PublicadorEventos.
+ * A chave de cada evento é o nome do agregado, que define a ordem de publicação.
+ *
+ * @author rramirez
+ */
+
+public class OutboxEventos {
+
+    private final EventoPendenteRepository eventoPendenteRepository;
+    private final PublicadorEventos publicadorEventos;
+    private final ObjectMapper objectMapper;
+
+    public OutboxEventos(EventoPendenteRepository eventoPendenteRepository, PublicadorEventos publicadorEventos, ObjectMapper objectMapper) {
+        this.eventoPendenteRepository = eventoPendenteRepository;
+        this.publicadorEventos = publicadorEventos;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String destino, String chave, Object evento) {
+        eventoPendenteRepository.save(new EventoPendente(destino, chave, serializar(evento), Instant.now()));
+        contarAposCommit(1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void registrarTodos(String destino, Collection<T> eventos, Function<T, String> chave) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        Instant agora = Instant.now();
+        List<EventoPendente> pendentes = eventos.stream()
+                .map(evento -> new EventoPendente(destino, chave.apply(evento), serializar(evento), agora))
+                .toList();
+        eventoPendenteRepository.saveAll(pendentes);
+        contarAposCommit(pendentes.size());
+    }
+
+    private void contarAposCommit(int quantidade) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publicadorEventos.registrados(quantidade);
+            }
+        });
+    }
+
+    private String serializar(Object evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento " + evento, e);
+        }
+    }
+}
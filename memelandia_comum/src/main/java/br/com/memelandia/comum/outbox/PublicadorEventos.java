@@ -0,0 +1,197 @@
+package br.com.memelandia.comum.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * Publica em segundo plano os eventos gravados pelo OutboxEventos.
+ * Cada ciclo lê um lote de eventos prontos, reserva-os para esta instância por
+ * memelandia.outbox.reserva, envia todos sem esperar e só então aguarda as confirmações do
+ * broker; os confirmados saem da tabela e os demais são reagendados com espera exponencial.
+ * Só o evento mais antigo de cada chave é enviado por vez, então uma criação que falhou não é
+ * reenviada depois da remoção do mesmo nome. A entrega é pelo menos uma vez.
+ *
+ * @author rramirez
+ */
+
+public class PublicadorEventos {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicadorEventos.class);
+
+    private final StreamBridge streamBridge;
+    private final EventoPendenteRepository eventoPendenteRepository;
+    private final MeterRegistry meterRegistry;
+    private final String instancia = UUID.randomUUID().toString();
+    private final int tamanhoLote;
+    private final Duration prazoConfirmacao;
+    private final Duration reserva;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+
+    private final AtomicLong pendentes = new AtomicLong();
+    private final Timer publicacaoTempo;
+    private final Timer atraso;
+    private final Counter publicados;
+    private final Counter falhas;
+
+    public PublicadorEventos(StreamBridge streamBridge, EventoPendenteRepository eventoPendenteRepository, MeterRegistry meterRegistry,
+                             @Value("${memelandia.outbox.metricas}") String metricas,
+                             @Value("${memelandia.outbox.tamanho-lote:500}") int tamanhoLote,
+                             @Value("${memelandia.outbox.prazo-confirmacao:5s}") Duration prazoConfirmacao,
+                             @Value("${memelandia.outbox.reserva:30s}") Duration reserva,
+                             @Value("${memelandia.outbox.espera-inicial:1s}") Duration esperaInicial,
+                             @Value("${memelandia.outbox.espera-maxima:5m}") Duration esperaMaxima) {
+        if (reserva.compareTo(prazoConfirmacao) <= 0) {
+            throw new IllegalArgumentException("memelandia.outbox.reserva deve ser maior que memelandia.outbox.prazo-confirmacao.");
+        }
+        this.streamBridge = streamBridge;
+        this.eventoPendenteRepository = eventoPendenteRepository;
+        this.meterRegistry = meterRegistry;
+        this.tamanhoLote = tamanhoLote;
+        this.prazoConfirmacao = prazoConfirmacao;
+        this.reserva = reserva;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+
+        meterRegistry.gauge(metricas + ".pendentes", pendentes);
+        this.publicacaoTempo = meterRegistry.timer(metricas + ".publicacao.tempo");
+        this.atraso = meterRegistry.timer(metricas + ".atraso");
+        this.publicados = meterRegistry.counter(metricas + ".publicados");
+        this.falhas = meterRegistry.counter(metricas + ".falhas");
+    }
+
+    /**
+     * O medidor de pendentes é mantido em memória pelos registros e confirmações desta instância;
+     * a contagem na tabela só roda aqui, para corrigir o que outras instâncias publicaram.
+     */
+    @Scheduled(fixedDelayString = "${memelandia.outbox.recontagem:1m}")
+    public void recontarPendentes() {
+        pendentes.set(eventoPendenteRepository.count());
+    }
+
+    /**
+     * A reserva é por instância, então duas chamadas simultâneas aqui enviariam o mesmo lote. O
+     * agendamento nunca se sobrepõe a si mesmo; a primeira rodada espera um intervalo para não
+     * cruzar com uma chamada direta feita logo após a inicialização.
+     */
+    @Scheduled(fixedDelayString = "${memelandia.outbox.intervalo:200ms}", initialDelayString = "${memelandia.outbox.intervalo:200ms}")
+    public void publicarPendentes() {
+        int publicadosNoLote;
+        do {
+            publicadosNoLote = publicarLote();
+        } while (publicadosNoLote == tamanhoLote);
+    }
+
+    void registrados(int quantidade) {
+        pendentes.addAndGet(quantidade);
+    }
+
+    private int publicarLote() {
+        Instant agora = Instant.now();
+        List<Long> prontos = eventoPendenteRepository.findProntos(agora, Limit.of(tamanhoLote));
+        if (prontos.isEmpty()) {
+            return 0;
+        }
+        eventoPendenteRepository.reservar(prontos, instancia, agora, agora.plus(reserva));
+        List<EventoPendente> lote = eventoPendenteRepository.findReservados(prontos, instancia);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Map<EventoPendente, CorrelationData> enviados = new LinkedHashMap<>();
+        List<EventoPendente> naoConfirmados = new ArrayList<>();
+        for (EventoPendente evento : lote) {
+            CorrelationData correlacao = new CorrelationData(String.valueOf(evento.getId()));
+            try {
+                streamBridge.send(evento.getDestino(), MessageBuilder.withPayload(evento.getPayload().getBytes(StandardCharsets.UTF_8))
+                        .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                        .setHeader(AmqpHeaders.PUBLISH_CONFIRM_CORRELATION, correlacao)
+                        .build());
+                enviados.put(evento, correlacao);
+            } catch (Exception e) {
+                logger.debug("Falha ao enviar evento {}: {}", evento.getId(), e.getMessage());
+                naoConfirmados.add(evento);
+            }
+        }
+
+        long prazo = System.nanoTime() + prazoConfirmacao.toNanos();
+        List<Long> confirmados = new ArrayList<>();
+        for (Map.Entry<EventoPendente, CorrelationData> envio : enviados.entrySet()) {
+            EventoPendente evento = envio.getKey();
+            if (confirmado(envio.getValue(), prazo)) {
+                confirmados.add(evento.getId());
+                atraso.record(Duration.between(evento.getCriadoEm(), Instant.now()));
+            } else {
+                naoConfirmados.add(evento);
+            }
+        }
+
+        if (!confirmados.isEmpty()) {
+            eventoPendenteRepository.deleteAllByIdInBatch(confirmados);
+            pendentes.addAndGet(-confirmados.size());
+            publicados.increment(confirmados.size());
+        }
+        if (!naoConfirmados.isEmpty()) {
+            reagendar(naoConfirmados);
+            falhas.increment(naoConfirmados.size());
+        }
+        amostra.stop(publicacaoTempo);
+
+        return confirmados.size();
+    }
+
+    private boolean confirmado(CorrelationData correlacao, long prazo) {
+        try {
+            CorrelationData.Confirm confirmacao = correlacao.getFuture().get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return confirmacao.isAck() && correlacao.getReturned() == null;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reagendar(List<EventoPendente> eventos) {
+        Instant agora = Instant.now();
+        Map<Integer, List<Long>> porTentativa = eventos.stream()
+                .collect(Collectors.groupingBy(evento -> evento.getTentativas() + 1,
+                        Collectors.mapping(EventoPendente::getId, Collectors.toList())));
+        porTentativa.forEach((tentativas, ids) ->
+                eventoPendenteRepository.reagendar(ids, instancia, tentativas, agora.plus(espera(tentativas))));
+        logger.warn("{} eventos não confirmados pelo broker serão reenviados.", eventos.size());
+    }
+
+    private Duration espera(int tentativas) {
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+}
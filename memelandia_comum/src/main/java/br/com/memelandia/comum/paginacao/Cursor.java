@@ -0,0 +1,47 @@
+package br.com.memelandia.comum.paginacao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ *
+ * Posição de uma listagem paginada por chave (dataCadastro + id).
+ * É trafegado para o cliente como uma string opaca em Base64 URL-safe.
+ *
+ * @author rramirez
+ */
+
+public final class Cursor {
+    private final LocalDate dataCadastro;
+    private final UUID id;
+
+    public Cursor(LocalDate dataCadastro, UUID id) {
+        this.dataCadastro = dataCadastro;
+        this.id = id;
+    }
+
+    public static Cursor decodificar(String valor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(valor), StandardCharsets.UTF_8);
+            int separador = texto.indexOf('|');
+            return new Cursor(LocalDate.parse(texto.substring(0, separador)), UUID.fromString(texto.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + valor, e);
+        }
+    }
+
+    public String codificar() {
+        String texto = dataCadastro + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getDataCadastro() {
+        return dataCadastro;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.memelandia.comum.paginacao;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor.
+ * O proximoCursor é nulo quando não há mais itens.
+ *
+ * @author rramirez
+ */
+
+public class Pagina<T> {
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.memelandia.comum.persistencia;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * DELETE que devolve as linhas apagadas no mesmo comando, para montar o evento de remoção ou
+ * descontar a projeção só com o que foi de fato apagado, sem um SELECT antes. Não há forma
+ * padrão em SQL nem em JPQL, então o comando depende do dialeto: o H2 lê as linhas em OLD
+ * TABLE e o PostgreSQL usa RETURNING. O dialeto vem do Hibernate; com
+ * outro banco a criação falha na inicialização, e não na primeira remoção.
+ *
+ * @author rramirez
+ */
+
+public class RemocaoComRetorno {
+
+    private final EntityManager entityManager;
+    private final UnaryOperator<String> comRetorno;
+
+    public RemocaoComRetorno(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        Dialect dialeto = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        if (dialeto instanceof H2Dialect) {
+            this.comRetorno = delete -> "SELECT * FROM OLD TABLE (" + delete + ")";
+        } else if (dialeto instanceof PostgreSQLDialect) {
+            this.comRetorno = delete -> delete + " RETURNING *";
+        } else {
+            throw new IllegalStateException("O dialeto " + dialeto.getClass().getSimpleName()
+                    + " não tem DELETE que devolva as linhas apagadas; só H2 e PostgreSQL são suportados.");
+        }
+    }
+
+    /**
+     * Executa o DELETE nativo informado e devolve as linhas apagadas como entidades; a lista
+     * vazia indica que nenhuma linha atendeu à condição. Precisa de uma transação em andamento.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> apagar(Class<T> entidade, String delete, Map<String, ?> parametros) {
+        Query consulta = entityManager.createNativeQuery(comRetorno.apply(delete), entidade);
+        parametros.forEach(consulta::setParameter);
+        return consulta.getResultList();
+    }
+}
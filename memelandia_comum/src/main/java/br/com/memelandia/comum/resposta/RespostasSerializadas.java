@@ -0,0 +1,148 @@
+package br.com.memelandia.comum.resposta;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ *
+ * Cache de respostas já serializadas, por chave e formato (JSON, Smile ou CBOR). Os bytes
+ * vão direto para a resposta, sem passar pelo Jackson. Os ObjectMapper de Smile e CBOR são
+ * montados como os conversores padrão do Spring MVC, então a resposta é igual à dos
+ * endpoints sem cache. O limite é em bytes, e as métricas usam o prefixo informado por
+ * cada serviço (ex.: meme.resposta.cache).
+ *
+ * @author rramirez
+ */
+
+public class RespostasSerializadas<K> {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    // O primeiro é o padrão, usado quando o Accept aceita qualquer um deles.
+    public static final List<MediaType> FORMATOS = List.of(MediaType.APPLICATION_JSON, APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    private final Map<MediaType, ObjectMapper> formatos = new HashMap<>();
+    private final Cache<Chave<K>, byte[]> respostas;
+    // Muda a cada descarte; bytes montados a partir de uma leitura anterior a ele não são guardados.
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final Counter acerto;
+    private final Counter falta;
+    private final Counter bytesServidos;
+
+    public RespostasSerializadas(ObjectMapper objectMapper, MeterRegistry meterRegistry, String metricas,
+                                 DataSize tamanhoMaximo, Duration validade) {
+        formatos.put(MediaType.APPLICATION_JSON, objectMapper);
+        formatos.put(APPLICATION_SMILE, Jackson2ObjectMapperBuilder.smile().build());
+        formatos.put(MediaType.APPLICATION_CBOR, Jackson2ObjectMapperBuilder.cbor().build());
+        this.respostas = Caffeine.newBuilder()
+                .maximumWeight(tamanhoMaximo.toBytes())
+                .weigher((Chave<K> chave, byte[] bytes) -> bytes.length)
+                .expireAfterWrite(validade)
+                .build();
+
+        meterRegistry.gauge(metricas + ".tamanho", respostas, Cache::estimatedSize);
+        this.acerto = meterRegistry.counter(metricas + ".acerto");
+        this.falta = meterRegistry.counter(metricas + ".falta");
+        this.bytesServidos = meterRegistry.counter(metricas + ".bytes");
+    }
+
+    /**
+     * Primeiro formato suportado compatível com os tipos aceitos, na ordem de preferência do
+     * cliente; vazio quando nenhum serve.
+     */
+    public static Optional<MediaType> formato(List<MediaType> aceitos) {
+        for (MediaType aceito : aceitos) {
+            for (MediaType formato : FORMATOS) {
+                if (aceito.isCompatibleWith(formato)) {
+                    return Optional.of(formato);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Os endpoints que devolvem bytes daqui escolhem o formato pelo Accept, como os
+     * conversores do Spring MVC fariam com um objeto; sem formato compatível, a resposta é 406.
+     */
+    public static MediaType formato(NativeWebRequest request, ContentNegotiationManager contentNegotiationManager)
+            throws HttpMediaTypeNotAcceptableException {
+        return formato(contentNegotiationManager.resolveMediaTypes(request))
+                .orElseThrow(() -> new HttpMediaTypeNotAcceptableException(FORMATOS));
+    }
+
+    /**
+     * A ETag leva o formato: JSON, Smile e CBOR são representações diferentes do mesmo
+     * conteúdo, e uma ETag forte não pode validar uma delas com a ETag de outra.
+     */
+    public static String etag(Object valor, MediaType formato) {
+        return "\"" + valor + "-" + formato.getSubtype() + "\"";
+    }
+
+    /**
+     * Devolve os bytes guardados ou serializa o que {@code carregar} devolver; vazio quando
+     * não há o que responder, e nesse caso nada é guardado.
+     */
+    public Optional<byte[]> buscar(K chave, MediaType formato, Supplier<? extends Optional<?>> carregar) {
+        Chave<K> chaveFormato = new Chave<>(chave, formato);
+        byte[] bytes = respostas.getIfPresent(chaveFormato);
+        if (bytes != null) {
+            acerto.increment();
+            bytesServidos.increment(bytes.length);
+            return Optional.of(bytes);
+        }
+        falta.increment();
+        long geracaoDaLeitura = geracao.get();
+        Optional<byte[]> carregado = carregar.get().map(resposta -> serializar(resposta, formato));
+        // A geração é conferida dentro do compute da chave: um descarte que a mude antes disso
+        // impede a gravação, e um que a mude depois ainda vai apagar o que foi gravado.
+        carregado.ifPresent(serializado -> respostas.asMap().compute(chaveFormato,
+                (chaveAtual, atual) -> geracao.get() == geracaoDaLeitura ? serializado : atual));
+        return carregado;
+    }
+
+    public byte[] obter(K chave, MediaType formato, Supplier<?> carregar) {
+        return buscar(chave, formato, () -> Optional.of(carregar.get())).orElseThrow();
+    }
+
+    public void descartar(Collection<K> chaves) {
+        geracao.incrementAndGet();
+        for (MediaType formato : FORMATOS) {
+            respostas.invalidateAll(chaves.stream().map(chave -> new Chave<>(chave, formato)).toList());
+        }
+    }
+
+    private byte[] serializar(Object resposta, MediaType formato) {
+        ObjectMapper objectMapper = formatos.get(formato);
+        if (objectMapper == null) {
+            throw new IllegalArgumentException("Formato não suportado: " + formato);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(resposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar " + resposta, e);
+        }
+    }
+
+    private record Chave<K>(K chave, MediaType formato) {
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.memelandia.comum.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * Detecta threads virtuais presas à thread portadora por mais que
+ * memelandia.threads.virtual.fixacao.limite, a partir de dois eventos do JFR: jdk.VirtualThreadPinned,
+ * quando a thread bloqueia dentro de um bloco synchronized ou de código nativo, e
+ * jdk.JavaMonitorEnter de threads virtuais, quando ela espera para entrar em um synchronized, como
+ * os do IndexWriter do Lucene, de drivers JDBC ou do cliente do RabbitMQ; no Java 21 as duas esperas
+ * seguram a portadora. Cada pilha distinta é registrada no log uma única vez e as ocorrências são
+ * contadas em memelandia.threads.virtual.fixacao.metricas + ".fixacao", por motivo e local; o tempo
+ * total preso em bloqueios sai no jvm.threads.virtual.pinned do micrometer-java21.
+ *
+ * @author rramirez
+ */
+
+public class FixacaoThreadsVirtuais implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixacaoThreadsVirtuais.class);
+
+    private static final String BLOQUEIO = "jdk.VirtualThreadPinned";
+    private static final String MONITOR = "jdk.JavaMonitorEnter";
+    private static final List<String> PACOTES_JDK = List.of("java.", "javax.", "jdk.", "sun.");
+
+    private final MeterRegistry meterRegistry;
+    private final String metrica;
+    private final Duration limite;
+    private final int quadrosNoLog;
+    private final Set<String> pilhasRegistradas = ConcurrentHashMap.newKeySet();
+    private RecordingStream gravacao;
+
+    public FixacaoThreadsVirtuais(MeterRegistry meterRegistry,
+                                  @Value("${memelandia.threads.virtual.fixacao.metricas}") String metricas,
+                                  @Value("${memelandia.threads.virtual.fixacao.limite:20ms}") Duration limite,
+                                  @Value("${memelandia.threads.virtual.fixacao.quadros:12}") int quadrosNoLog) {
+        this.meterRegistry = meterRegistry;
+        this.metrica = metricas + ".fixacao";
+        this.limite = limite;
+        this.quadrosNoLog = quadrosNoLog;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        gravacao = new RecordingStream();
+        gravacao.enable(BLOQUEIO).withThreshold(limite).withStackTrace();
+        gravacao.enable(MONITOR).withThreshold(limite).withStackTrace();
+        gravacao.onEvent(BLOQUEIO, evento -> registrar(evento, "bloqueio"));
+        gravacao.onEvent(MONITOR, evento -> {
+            if (evento.getThread() != null && evento.getThread().isVirtual()) {
+                registrar(evento, "monitor");
+            }
+        });
+        gravacao.startAsync();
+        logger.info("Detecção de threads virtuais presas à portadora ativa (limite de {} ms).", limite.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento, String motivo) {
+        List<RecordedFrame> quadros = quadros(evento.getStackTrace());
+        String local = local(quadros);
+        meterRegistry.counter(metrica, "motivo", motivo, "local", local).increment();
+
+        String pilha = quadros.stream()
+                .limit(quadrosNoLog)
+                .map(FixacaoThreadsVirtuais::descrever)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        if (pilhasRegistradas.add(pilha)) {
+            logger.warn("Thread virtual {} presa à portadora por {} ms ({}) em {}:\n{}",
+                    thread(evento.getThread()), evento.getDuration().toMillis(), motivo, local, pilha);
+        }
+    }
+
+    private static String thread(RecordedThread thread) {
+        if (thread == null) {
+            return "?";
+        }
+        String nome = thread.getJavaName();
+        return nome == null || nome.isEmpty() ? "#" + thread.getJavaThreadId() : nome;
+    }
+
+    private static List<RecordedFrame> quadros(RecordedStackTrace pilha) {
+        return pilha == null ? List.of() : pilha.getFrames();
+    }
+
+    /**
+     * Primeiro quadro fora do JDK: o código que bloqueou enquanto a thread estava presa.
+     */
+    private static String local(List<RecordedFrame> quadros) {
+        return quadros.stream()
+                .filter(quadro -> PACOTES_JDK.stream().noneMatch(quadro.getMethod().getType().getName()::startsWith))
+                .findFirst()
+                .or(() -> quadros.stream().findFirst())
+                .map(quadro -> quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName())
+                .orElse("desconhecido");
+    }
+
+    private static String descrever(RecordedFrame quadro) {
+        return quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName() + ":" + quadro.getLineNumber();
+    }
+}
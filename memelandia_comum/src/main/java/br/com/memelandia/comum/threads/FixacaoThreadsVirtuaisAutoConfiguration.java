@@ -0,0 +1,21 @@
+package br.com.memelandia.comum.threads;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Liga a detecção de threads virtuais presas à portadora nos serviços com
+ * spring.threads.virtual.enabled=true. memelandia.threads.virtual.fixacao.metricas dá o prefixo
+ * da métrica (ex.: meme.threads.virtual), e o limite e os quadros no log ficam em
+ * memelandia.threads.virtual.fixacao.*.
+ *
+ * @author rramirez
+ */
+
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Import(FixacaoThreadsVirtuais.class)
+public class FixacaoThreadsVirtuaisAutoConfiguration {
+}
@@ -0,0 +1,193 @@
+package br.com.memelandia.comum.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = PublicadorEventosTests.Aplicacao.class, properties = {
+		"memelandia.outbox.habilitado=true",
+		"memelandia.outbox.metricas=teste.outbox",
+		"memelandia.outbox.intervalo=1h",
+		"memelandia.outbox.recontagem=1h",
+		"memelandia.outbox.prazo-confirmacao=500ms",
+		"memelandia.outbox.reserva=5s",
+		"memelandia.outbox.espera-inicial=0s",
+		"spring.datasource.url=jdbc:h2:mem:outbox-teste"
+})
+class PublicadorEventosTests {
+
+	private static final String DESTINO = "eventos-out-0";
+
+	@SpringBootConfiguration
+	@EnableAutoConfiguration
+	static class Aplicacao {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	record Evento(String tipo, String nome) {
+	}
+
+	@MockitoBean
+	private StreamBridge streamBridge;
+
+	@Autowired
+	private PublicadorEventos publicadorEventos;
+
+	@Autowired
+	private OutboxEventos outboxEventos;
+
+	@Autowired
+	private EventoPendenteRepository eventoPendenteRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final List<String> enviados = new ArrayList<>();
+	private final Set<String> recusarUmaVez = new HashSet<>();
+
+	@BeforeEach
+	void preparar() {
+		eventoPendenteRepository.deleteAllInBatch();
+		publicadorEventos.recontarPendentes();
+		enviados.clear();
+		recusarUmaVez.clear();
+		when(streamBridge.send(anyString(), any())).thenAnswer(chamada -> {
+			Message<?> mensagem = chamada.getArgument(1);
+			String payload = new String((byte[]) mensagem.getPayload(), StandardCharsets.UTF_8);
+			enviados.add(payload);
+			CorrelationData correlacao = mensagem.getHeaders().get(AmqpHeaders.PUBLISH_CONFIRM_CORRELATION, CorrelationData.class);
+			correlacao.getFuture().complete(new CorrelationData.Confirm(!recusarUmaVez.remove(payload), null));
+			return true;
+		});
+	}
+
+	@Test
+	void eventosConfirmadosSaemDaTabela() {
+		registrar(new Evento("CRIACAO", "a"), new Evento("CRIACAO", "b"), new Evento("CRIACAO", "c"));
+		assertThat(pendentes()).isEqualTo(3);
+
+		publicadorEventos.publicarPendentes();
+
+		assertThat(enviados).hasSize(3);
+		assertThat(eventoPendenteRepository.count()).isZero();
+		assertThat(pendentes()).isZero();
+	}
+
+	@Test
+	void eventoRecusadoEhReagendadoEReenviado() {
+		registrar(new Evento("CRIACAO", "a"));
+		recusarUmaVez.add(json("CRIACAO", "a"));
+
+		publicadorEventos.publicarPendentes();
+
+		EventoPendente pendente = eventoPendenteRepository.findAll().get(0);
+		assertThat(pendente.getTentativas()).isEqualTo(1);
+		assertThat(pendente.getReservadoPor()).isNull();
+		assertThat(pendentes()).isEqualTo(1);
+
+		publicadorEventos.publicarPendentes();
+
+		assertThat(enviados).containsExactly(json("CRIACAO", "a"), json("CRIACAO", "a"));
+		assertThat(eventoPendenteRepository.count()).isZero();
+		assertThat(pendentes()).isZero();
+	}
+
+	@Test
+	void remocaoEsperaACriacaoRecusadaDoMesmoNome() {
+		registrar(new Evento("CRIACAO", "x"), new Evento("REMOCAO", "x"), new Evento("CRIACAO", "y"));
+		recusarUmaVez.add(json("CRIACAO", "x"));
+
+		publicadorEventos.publicarPendentes();
+
+		// A remoção de x não sai enquanto a criação de x não for confirmada; y segue normalmente.
+		assertThat(enviados).containsExactly(json("CRIACAO", "x"), json("CRIACAO", "y"));
+
+		publicadorEventos.publicarPendentes();
+		publicadorEventos.publicarPendentes();
+
+		assertThat(enviados).containsExactly(json("CRIACAO", "x"), json("CRIACAO", "y"),
+				json("CRIACAO", "x"), json("REMOCAO", "x"));
+		assertThat(eventoPendenteRepository.count()).isZero();
+	}
+
+	@Test
+	void eventoReservadoPorOutraInstanciaNaoEhEnviadoAteAReservaVencer() {
+		registrar(new Evento("CRIACAO", "a"));
+		reservarParaOutraInstancia(Instant.now().plusSeconds(60));
+
+		publicadorEventos.publicarPendentes();
+
+		assertThat(enviados).isEmpty();
+		assertThat(eventoPendenteRepository.count()).isEqualTo(1);
+
+		reservarParaOutraInstancia(Instant.now().minusSeconds(1));
+		publicadorEventos.publicarPendentes();
+
+		assertThat(enviados).containsExactly(json("CRIACAO", "a"));
+		assertThat(eventoPendenteRepository.count()).isZero();
+	}
+
+	@Test
+	void transacaoDesfeitaNaoContaComoPendente() {
+		transactionTemplate.executeWithoutResult(status -> {
+			outboxEventos.registrar(DESTINO, "a", new Evento("CRIACAO", "a"));
+			status.setRollbackOnly();
+		});
+
+		assertThat(eventoPendenteRepository.count()).isZero();
+		assertThat(pendentes()).isZero();
+	}
+
+	private void registrar(Evento... eventos) {
+		transactionTemplate.executeWithoutResult(status -> outboxEventos.registrarTodos(DESTINO, List.of(eventos), Evento::nome));
+	}
+
+	private void reservarParaOutraInstancia(Instant ate) {
+		jdbcTemplate.update("UPDATE evento_pendente SET reservado_por = 'outra', reservado_ate = ?", Timestamp.from(ate));
+	}
+
+	private double pendentes() {
+		return meterRegistry.get("teste.outbox.pendentes").gauge().value();
+	}
+
+	private static String json(String tipo, String nome) {
+		return "{\"tipo\":\"" + tipo + "\",\"nome\":\"" + nome + "\"}";
+	}
+
+}
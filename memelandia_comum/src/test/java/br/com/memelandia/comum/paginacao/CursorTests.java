@@ -0,0 +1,39 @@
+package br.com.memelandia.comum.paginacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTests {
+
+	@Test
+	void codificarEDecodificarPreservamDataEId() {
+		Cursor original = new Cursor(LocalDate.of(2024, 2, 29), UUID.randomUUID());
+
+		Cursor decodificado = Cursor.decodificar(original.codificar());
+
+		assertThat(decodificado.getDataCadastro()).isEqualTo(original.getDataCadastro());
+		assertThat(decodificado.getId()).isEqualTo(original.getId());
+	}
+
+	@Test
+	void cursorCodificadoPodeIrNaUrlSemEscape() {
+		String valor = new Cursor(LocalDate.of(2024, 1, 1), UUID.randomUUID()).codificar();
+
+		assertThat(valor).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void cursorMalformadoGeraIllegalArgumentException() {
+		assertThatThrownBy(() -> Cursor.decodificar("nao-e-um-cursor"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Cursor inválido");
+		assertThatThrownBy(() -> Cursor.decodificar("@@@"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,88 @@
+package br.com.memelandia.comum.persistencia;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = RemocaoComRetornoTests.Aplicacao.class, properties = {
+		"spring.datasource.url=jdbc:h2:mem:remocao-teste",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class RemocaoComRetornoTests {
+
+	@SpringBootConfiguration
+	@EnableAutoConfiguration
+	static class Aplicacao {
+	}
+
+	@Entity(name = "Registro")
+	static class Registro {
+
+		@Id
+		private Long id;
+
+		private String nome;
+
+		protected Registro() {
+		}
+
+		Registro(Long id, String nome) {
+			this.id = id;
+			this.nome = nome;
+		}
+
+		String getNome() {
+			return nome;
+		}
+	}
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void preparar() {
+		jdbcTemplate.update("DELETE FROM registro");
+		jdbcTemplate.update("INSERT INTO registro (id, nome) VALUES (1, 'humor'), (2, 'humor'), (3, 'gatos')");
+	}
+
+	@Test
+	void deleteDevolveSoAsLinhasQueApagou() {
+		RemocaoComRetorno remocao = new RemocaoComRetorno(entityManager);
+
+		List<Registro> apagados = transactionTemplate.execute(status ->
+				remocao.apagar(Registro.class, "DELETE FROM registro WHERE nome = :nome", Map.of("nome", "humor")));
+
+		assertThat(apagados).extracting(Registro::getNome).containsExactly("humor", "humor");
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM registro", Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	void deleteSemLinhaDevolveListaVazia() {
+		RemocaoComRetorno remocao = new RemocaoComRetorno(entityManager);
+
+		List<Registro> apagados = transactionTemplate.execute(status ->
+				remocao.apagar(Registro.class, "DELETE FROM registro WHERE nome = :nome", Map.of("nome", "esportes")));
+
+		assertThat(apagados).isEmpty();
+	}
+
+}
@@ -0,0 +1,57 @@
+package br.com.memelandia.comum.resposta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RespostasSerializadasTests {
+
+	private final RespostasSerializadas<Integer> respostas = new RespostasSerializadas<>(new ObjectMapper(),
+			new SimpleMeterRegistry(), "teste.resposta.cache", DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
+	@Test
+	void segundaLeituraSaiDoCacheAteODescarte() {
+		AtomicInteger cargas = new AtomicInteger();
+
+		for (int i = 0; i < 2; i++) {
+			respostas.obter(1, MediaType.APPLICATION_JSON, () -> Map.of("carga", cargas.incrementAndGet()));
+		}
+		assertThat(cargas).hasValue(1);
+
+		respostas.descartar(List.of(1));
+		byte[] json = respostas.obter(1, MediaType.APPLICATION_JSON, () -> Map.of("carga", cargas.incrementAndGet()));
+		assertThat(cargas).hasValue(2);
+		assertThat(new String(json)).isEqualTo("{\"carga\":2}");
+	}
+
+	@Test
+	void leituraAnteriorAoDescarteNaoEGuardada() {
+		respostas.buscar(1, MediaType.APPLICATION_JSON, () -> {
+			// O descarte chega enquanto a resposta é carregada.
+			respostas.descartar(List.of(1));
+			return Optional.of("antigo");
+		});
+
+		assertThat(new String(respostas.obter(1, MediaType.APPLICATION_JSON, () -> "novo"))).isEqualTo("\"novo\"");
+	}
+
+	@Test
+	void formatoSegueAPreferenciaDoCliente() {
+		assertThat(RespostasSerializadas.formato(MediaType.parseMediaTypes("application/xml, application/cbor, application/json")))
+				.contains(MediaType.APPLICATION_CBOR);
+		assertThat(RespostasSerializadas.formato(List.of(MediaType.ALL))).contains(MediaType.APPLICATION_JSON);
+		assertThat(RespostasSerializadas.formato(List.of(MediaType.APPLICATION_XML))).isEmpty();
+		assertThat(RespostasSerializadas.etag("v1", RespostasSerializadas.APPLICATION_SMILE)).isEqualTo("\"v1-x-jackson-smile\"");
+	}
+
+}
@@ -0,0 +1,61 @@
+package br.com.memelandia.comum.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixacaoThreadsVirtuaisAutoConfigurationTests {
+
+	private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(FixacaoThreadsVirtuaisAutoConfiguration.class))
+			// Como numa aplicação Spring Boot, para o @Value converter "10ms" em Duration.
+			.withInitializer(aplicacao -> aplicacao.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withPropertyValues("memelandia.threads.virtual.fixacao.metricas=teste.threads.virtual",
+					"memelandia.threads.virtual.fixacao.limite=10ms");
+
+	@Test
+	void semThreadsVirtuaisADeteccaoNaoEhCriada() {
+		contexto.withPropertyValues("spring.threads.virtual.enabled=false")
+				.run(aplicacao -> assertThat(aplicacao).doesNotHaveBean(FixacaoThreadsVirtuais.class));
+	}
+
+	@Test
+	void bloqueioDentroDeSynchronizedEhContadoComOPrefixoConfigurado() {
+		contexto.withPropertyValues("spring.threads.virtual.enabled=true").run(aplicacao -> {
+			assertThat(aplicacao).hasSingleBean(FixacaoThreadsVirtuais.class);
+			MeterRegistry meterRegistry = aplicacao.getBean(MeterRegistry.class);
+
+			Object monitor = new Object();
+			Thread.ofVirtual().start(() -> {
+				synchronized (monitor) {
+					dormir(Duration.ofMillis(50));
+				}
+			}).join();
+
+			// O RecordingStream entrega os eventos do JFR em lotes, cerca de uma vez por segundo.
+			long prazo = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+			while (meterRegistry.find("teste.threads.virtual.fixacao").counter() == null && System.nanoTime() < prazo) {
+				dormir(Duration.ofMillis(100));
+			}
+			assertThat(meterRegistry.get("teste.threads.virtual.fixacao").tag("motivo", "bloqueio").counter().count())
+					.isGreaterThanOrEqualTo(1);
+		});
+	}
+
+	private static void dormir(Duration duracao) {
+		try {
+			Thread.sleep(duracao);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -1,15 +1,23 @@
 package br.com.memelandia.usuario_service.controllers;
 
-import br.com.memelandia.usuario_service.domain.Usuario;
+import br.com.memelandia.usuario_service.dto.ItemLoteDTO;
 import br.com.memelandia.usuario_service.dto.UsuarioDTO;
+import br.com.memelandia.usuario_service.dto.UsuarioRespostaDTO;
 import br.com.memelandia.usuario_service.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Tag(name = "Usuários", description = "Endpoints referente a usuários")
@@ -17,9 +25,11 @@ import java.util.UUID;
 @RequestMapping("/usuario_service")
 public class UsuarioContoller {
     private final UsuarioService usuarioService;
+    private final ObjectMapper objectMapper;
 
-    public UsuarioContoller(UsuarioService usuarioService) {
+    public UsuarioContoller(UsuarioService usuarioService, ObjectMapper objectMapper) {
         this.usuarioService = usuarioService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Criar", description = "Método para criar um novo usuário")
@@ -30,16 +40,49 @@ public class UsuarioContoller {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body("Usuário com este nome já existe."));
     }
 
-    @Operation(summary = "Listar", description = "Método para listar odos os usuários")
+    @Operation(summary = "Criar em lote", description = "Método para criar vários usuários, com um resultado por item")
+    @PostMapping("/batch")
+    public ResponseEntity<?> criarUsuariosEmLote(@RequestBody List<UsuarioDTO> dtos) {
+        try {
+            List<ItemLoteDTO> resultados = usuarioService.criarUsuariosEmLote(dtos);
+            return ResponseEntity.ok(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Listar", description = "Método para listar usuários, paginados por cursor")
     @GetMapping
-    public ResponseEntity<List<Usuario>> listarTodosUsuarios(){
-        List<Usuario> usuarios = usuarioService.listarTodosUsuarios();
-        return ResponseEntity.ok(usuarios);
+    public ResponseEntity<?> listarTodosUsuarios(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "50") int limite){
+        try {
+            return ResponseEntity.ok(usuarioService.listarTodosUsuarios(cursor, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Transmitir", description = "Transmitir todos os usuários em NDJSON, um por linha")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirTodosUsuarios(){
+        StreamingResponseBody corpo = saida -> usuarioService.transmitirTodosUsuarios(item -> escreverLinha(saida, item));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+
+    @Operation(summary = "Verificar existência", description = "Método que recebe uma lista de nomes e devolve apenas os que existem")
+    @PostMapping("/exists")
+    public ResponseEntity<?> verificarUsuariosExistentes(@RequestBody List<String> nomes) {
+        try {
+            Set<String> existentes = usuarioService.verificarUsuariosExistentes(nomes);
+            return ResponseEntity.ok(existentes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @Operation(summary = "Buscar Por Id", description = "Método para buscar um usuário por ID")
     @GetMapping("/{id}")
-    public ResponseEntity<Usuario> buscarUsuarioPorId(@PathVariable UUID id) {
+    public ResponseEntity<UsuarioRespostaDTO> buscarUsuarioPorId(@PathVariable UUID id) {
         return usuarioService.buscarUsuarioPorId(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
@@ -47,7 +90,7 @@ public class UsuarioContoller {
 
     @Operation(summary = "Buscar Por Nome", description = "Método para buscar um usuário por Nome")
     @GetMapping("/nome/{nome}")
-    public ResponseEntity<Usuario> buscarUsuarioPorNome(@PathVariable String nome) {
+    public ResponseEntity<UsuarioRespostaDTO> buscarUsuarioPorNome(@PathVariable String nome) {
         return usuarioService.buscarUsuarioPorNome(nome)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
@@ -77,7 +120,12 @@ public class UsuarioContoller {
         }
     }
 
-
-
-
+    private void escreverLinha(OutputStream saida, Object item) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(item));
+            saida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -19,7 +19,7 @@ import java.util.UUID;
  */
 
 @Entity
-@Table
+@Table(indexes = @Index(name = "idx_usuario_data_cadastro_id", columnList = "data_cadastro, id"))
 public class Usuario {
 
     @Id
@@ -28,7 +28,7 @@ public class Usuario {
     private UUID id;
 
     @NotBlank(message = "Nome é obrigatório")
-    @Column(name = "nome", nullable = false)
+    @Column(name = "nome", nullable = false, unique = true)
     private String nome;
 
     @Email(message = "E-mail inválido")
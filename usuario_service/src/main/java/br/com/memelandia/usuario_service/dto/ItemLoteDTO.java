@@ -0,0 +1,42 @@
+package br.com.memelandia.usuario_service.dto;
+
+import java.util.UUID;
+
+/**
+ * Resultado de um item de uma criação em lote, na mesma posição em que foi enviado.
+ *
+ * @author rramirez
+ */
+
+public class ItemLoteDTO {
+
+    public enum Status { CRIADO, DUPLICADO, INVALIDO, ERRO }
+
+    private final int indice;
+    private final Status status;
+    private final UUID id;
+    private final String mensagem;
+
+    public ItemLoteDTO(int indice, Status status, UUID id, String mensagem) {
+        this.indice = indice;
+        this.status = status;
+        this.id = id;
+        this.mensagem = mensagem;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
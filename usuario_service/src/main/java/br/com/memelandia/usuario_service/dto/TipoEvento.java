@@ -0,0 +1,12 @@
+package br.com.memelandia.usuario_service.dto;
+
+/**
+ * Operação que originou um evento publicado pelo usuario_service.
+ *
+ * @author rramirez
+ */
+
+public enum TipoEvento {
+    CRIACAO,
+    REMOCAO
+}
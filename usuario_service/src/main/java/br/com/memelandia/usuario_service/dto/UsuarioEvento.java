@@ -0,0 +1,78 @@
+package br.com.memelandia.usuario_service.dto;
+
+import br.com.memelandia.usuario_service.domain.Usuario;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Evento publicado quando um usuário é criado ou removido.
+ *
+ * @author rramirez
+ */
+
+public class UsuarioEvento {
+    private TipoEvento tipo;
+    private UUID id;
+    private String nome;
+    private String email;
+    private LocalDate dataCadastro;
+
+    public UsuarioEvento(){}
+
+    public UsuarioEvento(TipoEvento tipo, Usuario usuario) {
+        this.tipo = tipo;
+        this.id = usuario.getId();
+        this.nome = usuario.getNome();
+        this.email = usuario.getEmail();
+        this.dataCadastro = usuario.getDataCadastro();
+    }
+
+    public static UsuarioEvento criacao(Usuario usuario) {
+        return new UsuarioEvento(TipoEvento.CRIACAO, usuario);
+    }
+
+    public static UsuarioEvento remocao(Usuario usuario) {
+        return new UsuarioEvento(TipoEvento.REMOCAO, usuario);
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoEvento tipo) {
+        this.tipo = tipo;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public LocalDate getDataCadastro() {
+        return dataCadastro;
+    }
+
+    public void setDataCadastro(LocalDate dataCadastro) {
+        this.dataCadastro = dataCadastro;
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.memelandia.usuario_service.dto;
+
+import br.com.memelandia.usuario_service.domain.Usuario;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Representação de um usuário devolvida pela API. As listagens a montam direto na consulta,
+ * sem carregar a entidade no contexto de persistência.
+ *
+ * @author rramirez
+ */
+
+public class UsuarioRespostaDTO {
+    private final UUID id;
+    private final String nome;
+    private final String email;
+    private final LocalDate dataCadastro;
+
+    public UsuarioRespostaDTO(UUID id, String nome, String email, LocalDate dataCadastro) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.dataCadastro = dataCadastro;
+    }
+
+    public static UsuarioRespostaDTO de(Usuario usuario) {
+        return new UsuarioRespostaDTO(usuario.getId(), usuario.getNome(), usuario.getEmail(), usuario.getDataCadastro());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public LocalDate getDataCadastro() {
+        return dataCadastro;
+    }
+}
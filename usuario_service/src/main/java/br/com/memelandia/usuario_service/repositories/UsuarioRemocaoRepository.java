@@ -0,0 +1,19 @@
+package br.com.memelandia.usuario_service.repositories;
+
+import br.com.memelandia.usuario_service.domain.Usuario;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Remoções que devolvem as linhas apagadas, para montar o evento de remoção sem consultar
+ * antes; a lista vazia indica que não havia linha.
+ *
+ * @author rramirez
+ */
+
+public interface UsuarioRemocaoRepository {
+    List<Usuario> removerPorId(UUID id);
+
+    List<Usuario> removerPorNome(String nome);
+}
@@ -0,0 +1,37 @@
+package br.com.memelandia.usuario_service.repositories;
+
+import br.com.memelandia.comum.persistencia.RemocaoComRetorno;
+import br.com.memelandia.usuario_service.domain.Usuario;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cada remoção é um único DELETE; o RemocaoComRetorno o completa conforme o dialeto para
+ * devolver as linhas apagadas.
+ *
+ * @author rramirez
+ */
+
+@Transactional
+public class UsuarioRemocaoRepositoryImpl implements UsuarioRemocaoRepository {
+
+    private final RemocaoComRetorno remocao;
+
+    public UsuarioRemocaoRepositoryImpl(EntityManager entityManager) {
+        this.remocao = new RemocaoComRetorno(entityManager);
+    }
+
+    @Override
+    public List<Usuario> removerPorId(UUID id) {
+        return remocao.apagar(Usuario.class, "DELETE FROM usuario WHERE id = :id", Map.of("id", id));
+    }
+
+    @Override
+    public List<Usuario> removerPorNome(String nome) {
+        return remocao.apagar(Usuario.class, "DELETE FROM usuario WHERE nome = :nome", Map.of("nome", nome));
+    }
+}
@@ -1,15 +1,42 @@
 package br.com.memelandia.usuario_service.repositories;
 
 import br.com.memelandia.usuario_service.domain.Usuario;
+import br.com.memelandia.usuario_service.dto.UsuarioRespostaDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * @author rramirez
  */
 
-public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
+public interface UsuarioRepository extends JpaRepository<Usuario, UUID>, UsuarioRemocaoRepository {
     Optional<Usuario> findByNome(String nome);
+
+    @Query("SELECT u.nome FROM Usuario u WHERE u.nome IN :nomes")
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    @Query("SELECT u.email FROM Usuario u WHERE u.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new br.com.memelandia.usuario_service.dto.UsuarioRespostaDTO(u.id, u.nome, u.email, u.dataCadastro) FROM Usuario u ORDER BY u.dataCadastro, u.id")
+    List<UsuarioRespostaDTO> findPagina(Limit limite);
+
+    @Query("SELECT new br.com.memelandia.usuario_service.dto.UsuarioRespostaDTO(u.id, u.nome, u.email, u.dataCadastro) FROM Usuario u WHERE u.dataCadastro > :data OR (u.dataCadastro = :data AND u.id > :id) ORDER BY u.dataCadastro, u.id")
+    List<UsuarioRespostaDTO> findPaginaApos(@Param("data") LocalDate data, @Param("id") UUID id, Limit limite);
+
+    @Query("SELECT new br.com.memelandia.usuario_service.dto.UsuarioRespostaDTO(u.id, u.nome, u.email, u.dataCadastro) FROM Usuario u ORDER BY u.dataCadastro, u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UsuarioRespostaDTO> streamTodos();
 }
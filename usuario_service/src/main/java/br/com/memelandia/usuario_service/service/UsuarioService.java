@@ -1,45 +1,155 @@
 package br.com.memelandia.usuario_service.service;
 
+import br.com.memelandia.comum.outbox.OutboxEventos;
+import br.com.memelandia.comum.paginacao.Cursor;
+import br.com.memelandia.comum.paginacao.Pagina;
 import br.com.memelandia.usuario_service.domain.Usuario;
+import br.com.memelandia.usuario_service.dto.ItemLoteDTO;
 import br.com.memelandia.usuario_service.dto.UsuarioDTO;
+import br.com.memelandia.usuario_service.dto.UsuarioEvento;
+import br.com.memelandia.usuario_service.dto.UsuarioRespostaDTO;
 import br.com.memelandia.usuario_service.repositories.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-
-import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 
 @Service
 public class UsuarioService {
     private static final Logger logger = LoggerFactory.getLogger(UsuarioService.class);
-    private final StreamBridge streamBridge;
+    private static final String DESTINO_EVENTOS = "usuarioEventos-out-0";
+    private static final int LIMITE_MAXIMO_PAGINA = 500;
+    private static final int LIMITE_MAXIMO_LOTE = 5000;
+    private static final int TAMANHO_MAXIMO_IN = 1000;
     private final UsuarioRepository usuarioRepository;
     private final MeterRegistry meterRegistry;
-
-    public UsuarioService(StreamBridge streamBridge, UsuarioRepository usuarioRepository, MeterRegistry meterRegistry) {
-        this.streamBridge = streamBridge;
+    private final OutboxEventos outboxEventos;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache usuarioPorId;
+    private final Cache usuarioPorNome;
+
+    private final Counter criarChamadas;
+    private final Counter criarDuplicado;
+    private final Counter criarSucesso;
+    private final Timer criarTempo;
+    private final Counter criarLoteChamadas;
+    private final DistributionSummary criarLoteQuantidade;
+    private final Counter criarLoteCriados;
+    private final Counter criarLoteDuplicados;
+    private final Counter criarLoteInvalidos;
+    private final Counter criarLoteConflito;
+    private final Timer criarLoteTempo;
+    private final Counter existeChamadas;
+    private final DistributionSummary existeQuantidade;
+    private final Timer existeTempo;
+    private final Counter listarTodasChamadas;
+    private final Timer listarTodasTempo;
+    private final Counter listarTodasVazio;
+    private final Counter listarTodasSucesso;
+    private final DistributionSummary listarTodasQuantidade;
+    private final Counter transmitirChamadas;
+    private final Timer transmitirTempo;
+    private final Counter buscarIdChamadas;
+    private final Timer buscarIdTempo;
+    private final Counter buscarIdSucesso;
+    private final Counter buscarIdNaoEncontrado;
+    private final Counter buscarNomeChamadas;
+    private final Timer buscarNomeTempo;
+    private final Counter buscarNomeSucesso;
+    private final Counter buscarNomeNaoEncontrado;
+    private final Counter deletarIdChamadas;
+    private final Counter deletarIdSucesso;
+    private final Timer deletarIdTempo;
+    private final Counter deletarIdNaoEncontrado;
+    private final Counter deletarNomeChamadas;
+    private final Counter deletarNomeSucesso;
+    private final Counter deletarNomeNaoEncontrado;
+    private final Timer deletarNomeTempo;
+
+    public UsuarioService(UsuarioRepository usuarioRepository, MeterRegistry meterRegistry,
+                          OutboxEventos outboxEventos, TransactionTemplate transactionTemplate, CacheManager cacheManager) {
         this.usuarioRepository = usuarioRepository;
         this.meterRegistry = meterRegistry;
+        this.outboxEventos = outboxEventos;
+        this.transactionTemplate = transactionTemplate;
+        // Descartes feitos dentro de uma transação só chegam ao cache depois do commit.
+        this.usuarioPorId = new TransactionAwareCacheDecorator(cacheManager.getCache("usuarioPorId"));
+        this.usuarioPorNome = new TransactionAwareCacheDecorator(cacheManager.getCache("usuarioPorNome"));
+
+        this.criarChamadas = meterRegistry.counter("usuario.criar.chamadas");
+        this.criarDuplicado = meterRegistry.counter("usuario.criar.duplicado");
+        this.criarSucesso = meterRegistry.counter("usuario.criar.sucesso");
+        this.criarTempo = meterRegistry.timer("usuario.criar.tempo");
+        this.criarLoteChamadas = meterRegistry.counter("usuario.criar.lote.chamadas");
+        this.criarLoteQuantidade = meterRegistry.summary("usuario.criar.lote.quantidade");
+        this.criarLoteCriados = meterRegistry.counter("usuario.criar.lote.criados");
+        this.criarLoteDuplicados = meterRegistry.counter("usuario.criar.lote.duplicados");
+        this.criarLoteInvalidos = meterRegistry.counter("usuario.criar.lote.invalidos");
+        this.criarLoteConflito = meterRegistry.counter("usuario.criar.lote.conflito");
+        this.criarLoteTempo = meterRegistry.timer("usuario.criar.lote.tempo");
+        this.existeChamadas = meterRegistry.counter("usuario.existe.chamadas");
+        this.existeQuantidade = meterRegistry.summary("usuario.existe.quantidade");
+        this.existeTempo = meterRegistry.timer("usuario.existe.tempo");
+        this.listarTodasChamadas = meterRegistry.counter("usuario.listar.todas.chamadas");
+        this.listarTodasTempo = meterRegistry.timer("usuario.listar.todas.tempo");
+        this.listarTodasVazio = meterRegistry.counter("usuario.listar.todas.vazio");
+        this.listarTodasSucesso = meterRegistry.counter("usuario.listar.todas.sucesso");
+        this.listarTodasQuantidade = meterRegistry.summary("usuario.listar.todas.quantidade");
+        this.transmitirChamadas = meterRegistry.counter("usuario.transmitir.chamadas");
+        this.transmitirTempo = meterRegistry.timer("usuario.transmitir.tempo");
+        this.buscarIdChamadas = meterRegistry.counter("usuario.buscar.id.chamadas");
+        this.buscarIdTempo = meterRegistry.timer("usuario.buscar.id.tempo");
+        this.buscarIdSucesso = meterRegistry.counter("usuario.buscar.id.sucesso");
+        this.buscarIdNaoEncontrado = meterRegistry.counter("usuario.buscar.id.naoencontrado");
+        this.buscarNomeChamadas = meterRegistry.counter("usuario.buscar.nome.chamadas");
+        this.buscarNomeTempo = meterRegistry.timer("usuario.buscar.nome.tempo");
+        this.buscarNomeSucesso = meterRegistry.counter("usuario.buscar.nome.sucesso");
+        this.buscarNomeNaoEncontrado = meterRegistry.counter("usuario.buscar.nome.naoencontrado");
+        this.deletarIdChamadas = meterRegistry.counter("usuario.deletar.id.chamadas");
+        this.deletarIdSucesso = meterRegistry.counter("usuario.deletar.id.sucesso");
+        this.deletarIdTempo = meterRegistry.timer("usuario.deletar.id.tempo");
+        this.deletarIdNaoEncontrado = meterRegistry.counter("usuario.deletar.id.naoencontrado");
+        this.deletarNomeChamadas = meterRegistry.counter("usuario.deletar.nome.chamadas");
+        this.deletarNomeSucesso = meterRegistry.counter("usuario.deletar.nome.sucesso");
+        this.deletarNomeNaoEncontrado = meterRegistry.counter("usuario.deletar.nome.naoencontrado");
+        this.deletarNomeTempo = meterRegistry.timer("usuario.deletar.nome.tempo");
     }
 
-    public Optional<Usuario> criarUsuario(UsuarioDTO dto) {
+    public Optional<UsuarioRespostaDTO> criarUsuario(UsuarioDTO dto) {
         logger.info("Recebido requisição para criar novo usuário: {}", dto);
-        meterRegistry.counter("usuario.criar.chamadas").increment();
+        criarChamadas.increment();
 
-        long start = System.currentTimeMillis();
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        Optional<Usuario> usuarioExiste = usuarioRepository.findByNome(dto.getNome());
-        if (usuarioExiste.isPresent()) {
+        if (consultar(usuarioPorNome, dto.getNome(), () -> usuarioRepository.findByNome(dto.getNome())).isPresent()) {
             logger.warn("Usuário com nome '{}' já existe. Encerrando a ação.", dto.getNome());
-            meterRegistry.counter("usuario.criar.duplicado").increment();
+            criarDuplicado.increment();
             return Optional.empty();
         }
 
@@ -47,129 +157,280 @@ public class UsuarioService {
         usuario.setNome(dto.getNome());
         usuario.setEmail(dto.getEmail());
         usuario.setDataCadastro(LocalDate.now());
-        Usuario salvo = usuarioRepository.save(usuario);
+        Usuario salvo;
+        try {
+            salvo = transactionTemplate.execute(status -> {
+                Usuario novo = usuarioRepository.save(usuario);
+                usuarioRepository.flush();
+                outboxEventos.registrar(DESTINO_EVENTOS, novo.getNome(), UsuarioEvento.criacao(novo));
+                // Consultas sem resultado também ficam em cache, então gravar um nome descarta a entrada dele.
+                usuarioPorNome.evict(novo.getNome());
+                return novo;
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Usuário com nome '{}' ou e-mail já cadastrado por outra requisição.", dto.getNome());
+            criarDuplicado.increment();
+            return Optional.empty();
+        }
 
 
-        meterRegistry.counter("usuario.criar.sucesso").increment();
+        criarSucesso.increment();
         logger.info("Usuário criado com sucesso: {}", salvo);
 
+        amostra.stop(criarTempo);
+
+        return Optional.of(UsuarioRespostaDTO.de(salvo));
+    }
+
+    public List<ItemLoteDTO> criarUsuariosEmLote(List<UsuarioDTO> dtos) {
+        logger.info("Recebida requisição para criar {} usuários em lote.", dtos.size());
+        if (dtos.size() > LIMITE_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Lote excede o limite de " + LIMITE_MAXIMO_LOTE + " itens.");
+        }
+        criarLoteChamadas.increment();
+        criarLoteQuantidade.record(dtos.size());
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+
+        Set<String> nomesExistentes = buscarExistentes(valoresDe(dtos, UsuarioDTO::getNome), usuarioRepository::findNomesExistentes);
+        Set<String> emailsExistentes = buscarExistentes(valoresDe(dtos, UsuarioDTO::getEmail), usuarioRepository::findEmailsExistentes);
+
+        ItemLoteDTO[] resultados = new ItemLoteDTO[dtos.size()];
+        Map<Integer, Usuario> novos = new LinkedHashMap<>();
+        Set<String> nomesDoLote = new HashSet<>();
+        Set<String> emailsDoLote = new HashSet<>();
+        LocalDate hoje = LocalDate.now();
+        for (int i = 0; i < dtos.size(); i++) {
+            UsuarioDTO dto = dtos.get(i);
+            if (dto == null || isBlank(dto.getNome()) || isBlank(dto.getEmail())) {
+                resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.INVALIDO, null, "Nome e e-mail são obrigatórios");
+                criarLoteInvalidos.increment();
+            } else if (nomesExistentes.contains(dto.getNome()) || !nomesDoLote.add(dto.getNome())) {
+                resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.DUPLICADO, null, "Usuário com este nome já existe.");
+                criarLoteDuplicados.increment();
+            } else if (emailsExistentes.contains(dto.getEmail()) || !emailsDoLote.add(dto.getEmail())) {
+                nomesDoLote.remove(dto.getNome());
+                resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.DUPLICADO, null, "Usuário com este e-mail já existe.");
+                criarLoteDuplicados.increment();
+            } else {
+                novos.put(i, new Usuario(null, dto.getNome(), dto.getEmail(), hoje));
+            }
+        }
+
         try {
-            streamBridge.send("usuarioEventos-out-0", salvo);
-            logger.info("Evento de criação enviado com sucesso via StreamBridge.");
-        } catch (Exception e) {
-            logger.error("Erro ao enviar evento de criação via StreamBridge: {}", e.getMessage());
-            meterRegistry.counter("usuario.criar.evento.falha").increment();
+            transactionTemplate.executeWithoutResult(status -> {
+                usuarioRepository.saveAll(novos.values());
+                usuarioRepository.flush();
+                outboxEventos.registrarTodos(DESTINO_EVENTOS, novos.values().stream().map(UsuarioEvento::criacao).toList(),
+                        UsuarioEvento::getNome);
+                novos.values().forEach(usuario -> usuarioPorNome.evict(usuario.getNome()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Lote de usuários conflitou com uma criação concorrente; nenhum usuário do lote foi salvo.");
+            criarLoteConflito.increment();
+            novos.keySet().forEach(i -> resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.ERRO, null, "Conflito com criação concorrente, reenvie o item"));
+            amostra.stop(criarLoteTempo);
+            return Arrays.asList(resultados);
         }
+        novos.forEach((i, usuario) -> resultados[i] = new ItemLoteDTO(i, ItemLoteDTO.Status.CRIADO, usuario.getId(), null));
+        criarLoteCriados.increment(novos.size());
+        logger.info("Lote processado: {} usuários criados de {} recebidos.", novos.size(), dtos.size());
 
-        long end = System.currentTimeMillis();
-        meterRegistry.timer("usuario.criar.tempo").record(end - start, TimeUnit.MILLISECONDS);
+        amostra.stop(criarLoteTempo);
 
-        return Optional.of(salvo);
+        return Arrays.asList(resultados);
     }
 
-    public List<Usuario> listarTodosUsuarios() {
-        logger.info("Recebida requisição para listar todos os usuários.");
-        meterRegistry.counter("usuario.listar.todas.chamadas").increment();
+    /**
+     * Responde quais dos nomes informados já existem, sem carregar as entidades.
+     */
+    public Set<String> verificarUsuariosExistentes(Collection<String> nomes) {
+        if (nomes.size() > LIMITE_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Consulta excede o limite de " + LIMITE_MAXIMO_LOTE + " nomes.");
+        }
+        existeChamadas.increment();
+        existeQuantidade.record(nomes.size());
 
-        long start = System.currentTimeMillis();
-        List<Usuario> usuarios = usuarioRepository.findAll();
-        long end = System.currentTimeMillis();
-        meterRegistry.timer("usuario.listar.todas.tempo").record(end - start, TimeUnit.MILLISECONDS);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Set<String> existentes = buscarExistentes(nomes, usuarioRepository::findNomesExistentes);
+        amostra.stop(existeTempo);
+
+        logger.debug("{} de {} usuários consultados existem.", existentes.size(), nomes.size());
+        return existentes;
+    }
+
+    private static List<String> valoresDe(List<UsuarioDTO> dtos, Function<UsuarioDTO, String> campo) {
+        return dtos.stream()
+                .filter(dto -> dto != null)
+                .map(campo)
+                .toList();
+    }
+
+    private Set<String> buscarExistentes(Collection<String> valores, Function<Collection<String>, List<String>> consulta) {
+        List<String> distintos = valores.stream()
+                .filter(valor -> valor != null)
+                .distinct()
+                .toList();
+        Set<String> existentes = new HashSet<>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_MAXIMO_IN) {
+            int fim = Math.min(inicio + TAMANHO_MAXIMO_IN, distintos.size());
+            existentes.addAll(consulta.apply(distintos.subList(inicio, fim)));
+        }
+        return existentes;
+    }
+
+    private static boolean isBlank(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    @Transactional(readOnly = true)
+    public Pagina<UsuarioRespostaDTO> listarTodosUsuarios(String cursor, int limite) {
+        logger.info("Recebida requisição para listar usuários (cursor: {}, limite: {}).", cursor, limite);
+        listarTodasChamadas.increment();
+
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_PAGINA));
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        List<UsuarioRespostaDTO> usuarios = buscarPagina(cursor, tamanho + 1);
+        amostra.stop(listarTodasTempo);
+
+        String proximoCursor = null;
+        if (usuarios.size() > tamanho) {
+            usuarios = usuarios.subList(0, tamanho);
+            UsuarioRespostaDTO ultimo = usuarios.get(tamanho - 1);
+            proximoCursor = new Cursor(ultimo.getDataCadastro(), ultimo.getId()).codificar();
+        }
 
         if (usuarios.isEmpty()) {
             logger.warn("Lista de usuários retornou vazia.");
-            meterRegistry.counter("usuario.listar.todas.vazio").increment();
+            listarTodasVazio.increment();
         } else {
             logger.info("Total de usuários encontrados: {}", usuarios.size());
-            meterRegistry.counter("usuario.listar.todas.sucesso").increment();
-            meterRegistry.gauge("usuario.listar.todas.quantidade", usuarios, List::size);
+            listarTodasSucesso.increment();
+            listarTodasQuantidade.record(usuarios.size());
         }
 
-        return usuarios;
+        return new Pagina<>(usuarios, proximoCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void transmitirTodosUsuarios(Consumer<UsuarioRespostaDTO> consumidor) {
+        logger.info("Recebida requisição para transmitir todos os usuários.");
+        transmitirChamadas.increment();
+
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try (Stream<UsuarioRespostaDTO> usuarios = usuarioRepository.streamTodos()) {
+            usuarios.forEach(consumidor);
+        }
+        amostra.stop(transmitirTempo);
     }
 
-    public Optional<Usuario> buscarUsuarioPorId(UUID id) {
+    private List<UsuarioRespostaDTO> buscarPagina(String cursor, int quantidade) {
+        if (cursor == null) {
+            return usuarioRepository.findPagina(Limit.of(quantidade));
+        }
+        Cursor posicao = Cursor.decodificar(cursor);
+        return usuarioRepository.findPaginaApos(posicao.getDataCadastro(), posicao.getId(), Limit.of(quantidade));
+    }
+
+    public Optional<UsuarioRespostaDTO> buscarUsuarioPorId(UUID id) {
         logger.info("Recebida requisição para buscar usuário com ID: {}", id);
-        meterRegistry.counter("usuario.buscar.id.chamadas").increment();
+        buscarIdChamadas.increment();
 
-        long start = System.currentTimeMillis();
-        Optional<Usuario> usuario = usuarioRepository.findById(id);
-        long end = System.currentTimeMillis();
-        meterRegistry.timer("usuario.buscar.id.tempo").record(end - start, TimeUnit.MILLISECONDS);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Optional<UsuarioRespostaDTO> usuario = consultar(usuarioPorId, id, () -> usuarioRepository.findById(id));
+        amostra.stop(buscarIdTempo);
 
         if (usuario.isPresent()) {
             logger.info("Usuário encontrado: {}", usuario.get());
-            meterRegistry.counter("usuario.buscar.id.sucesso").increment();
+            buscarIdSucesso.increment();
         } else {
             logger.warn("Usuário com ID {} não encontrado.", id);
-            meterRegistry.counter("usuario.buscar.id.naoencontrado").increment();
+            buscarIdNaoEncontrado.increment();
         }
 
         return usuario;
     }
 
-    public Optional<Usuario> buscarUsuarioPorNome(String nome) {
+    public Optional<UsuarioRespostaDTO> buscarUsuarioPorNome(String nome) {
         logger.info("Recebida requisição para buscar usuário com Nome: {}", nome);
-        meterRegistry.counter("usuario.buscar.nome.chamadas").increment();
+        buscarNomeChamadas.increment();
 
-        long start = System.currentTimeMillis();
-        Optional<Usuario> usuario = usuarioRepository.findByNome(nome);
-        long end = System.currentTimeMillis();
-        meterRegistry.timer("usuario.buscar.nome.tempo").record(end - start, TimeUnit.MILLISECONDS);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Optional<UsuarioRespostaDTO> usuario = consultar(usuarioPorNome, nome, () -> usuarioRepository.findByNome(nome));
+        amostra.stop(buscarNomeTempo);
 
         if (usuario.isPresent()) {
             logger.info("Usuário encontrado: {}", usuario.get());
-            meterRegistry.counter("usuario.buscar.nome.sucesso").increment();
+            buscarNomeSucesso.increment();
         } else {
             logger.warn("Usuário com nome {} não encontrado.", nome);
-            meterRegistry.counter("usuario.buscar.nome.naoencontrado").increment();
+            buscarNomeNaoEncontrado.increment();
         }
 
         return usuario;
     }
 
+    /**
+     * Lê do cache local ou, na falta, do banco. O cache guarda o DTO, nunca a entidade, e a
+     * ausência também fica guardada. A carga de uma chave segura o descarte da mesma chave até
+     * terminar, então um descarte feito depois do commit nunca é sobrescrito por uma leitura
+     * anterior a ele.
+     */
+    private static Optional<UsuarioRespostaDTO> consultar(Cache cache, Object chave, Supplier<Optional<Usuario>> carregar) {
+        return Optional.ofNullable(cache.get(chave, () -> carregar.get().map(UsuarioRespostaDTO::de).orElse(null)));
+    }
+
     public boolean deletarUsuarioPorId(UUID id) {
         logger.info("Recebida requisição para deletar usuário com ID: {}", id);
-        meterRegistry.counter("usuario.deletar.id.chamadas").increment();
+        deletarIdChamadas.increment();
 
-        long start = System.currentTimeMillis();
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        Optional<Usuario> usuarioExistente = usuarioRepository.findById(id);
-        if (usuarioExistente.isPresent()) {
-            usuarioRepository.deleteById(id);
+        int removidos = transactionTemplate.execute(status -> remover(usuarioRepository.removerPorId(id)));
+        if (removidos > 0) {
             logger.info("Usuário com ID {} deletado com sucesso.", id);
-            meterRegistry.counter("usuario.deletar.id.sucesso").increment();
-            meterRegistry.timer("usuario.deletar.id.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarIdSucesso.increment();
+            amostra.stop(deletarIdTempo);
             return true;
         } else {
             logger.warn("Usuário com ID {} não encontrado para exclusão.", id);
-            meterRegistry.counter("usuario.deletar.id.naoencontrado").increment();
-            meterRegistry.timer("usuario.deletar.id.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarIdNaoEncontrado.increment();
+            amostra.stop(deletarIdTempo);
             return false;
         }
     }
 
     public boolean deletarUsuarioPorNome(String nome) {
         logger.info("Recebida requisição para deletar usuário com nome: {}", nome);
-        meterRegistry.counter("usuario.deletar.nome.chamadas").increment();
+        deletarNomeChamadas.increment();
 
-        long start = System.currentTimeMillis();
+        Timer.Sample amostra = Timer.start(meterRegistry);
 
-        Optional<Usuario> usuarioExistente = usuarioRepository.findByNome(nome);
-        if (usuarioExistente.isPresent()) {
-            usuarioRepository.delete(usuarioExistente.get());
+        int removidos = transactionTemplate.execute(status -> remover(usuarioRepository.removerPorNome(nome)));
+        if (removidos > 0) {
             logger.info("Usuário com nome {} deletado com sucesso.", nome);
-            meterRegistry.counter("usuario.deletar.nome.sucesso").increment();
+            deletarNomeSucesso.increment();
         } else {
             logger.warn("Usuário com nome {} não encontrado para exclusão.", nome);
-            meterRegistry.counter("usuario.deletar.nome.naoencontrado").increment();
-            meterRegistry.timer("usuario.deletar.nome.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            deletarNomeNaoEncontrado.increment();
+            amostra.stop(deletarNomeTempo);
             return false;
         }
 
-        meterRegistry.timer("usuario.deletar.nome.tempo").record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        amostra.stop(deletarNomeTempo);
         return true;
     }
 
-
+    /**
+     * Recebe as linhas devolvidas pelo próprio DELETE: cada uma gera o evento de remoção e sai
+     * dos caches depois do commit, e a quantidade decide entre 204 e 404.
+     */
+    private int remover(List<Usuario> removidos) {
+        for (Usuario usuario : removidos) {
+            outboxEventos.registrar(DESTINO_EVENTOS, usuario.getNome(), UsuarioEvento.remocao(usuario));
+            usuarioPorId.evict(usuario.getId());
+            usuarioPorNome.evict(usuario.getNome());
+        }
+        return removidos.size();
+    }
 }
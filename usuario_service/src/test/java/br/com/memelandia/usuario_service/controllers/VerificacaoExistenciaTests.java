@@ -0,0 +1,91 @@
+package br.com.memelandia.usuario_service.controllers;
+
+import br.com.memelandia.usuario_service.domain.Usuario;
+import br.com.memelandia.usuario_service.repositories.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "memelandia.outbox.intervalo=1h")
+@AutoConfigureMockMvc
+class VerificacaoExistenciaTests {
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void limpar() {
+		usuarioRepository.deleteAllInBatch();
+		usuarioRepository.save(new Usuario(null, "ana", "ana@memes.com", LocalDate.now()));
+		usuarioRepository.save(new Usuario(null, "beto", "beto@memes.com", LocalDate.now()));
+	}
+
+	@Test
+	void devolveSoOsNomesQueExistem() throws Exception {
+		mockMvc.perform(post("/usuario_service/exists").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(List.of("ana", "inexistente", "ana", "beto"))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", containsInAnyOrder("ana", "beto")));
+	}
+
+	@Test
+	void consultaMaiorQueUmInEncontraNomesEmTodasAsPartes() throws Exception {
+		// Acima de 1000 nomes a consulta é dividida; os dois existentes ficam em partes diferentes.
+		List<String> nomes = new ArrayList<>(IntStream.range(0, 1500).mapToObj(i -> "inexistente-" + i).toList());
+		nomes.set(10, "ana");
+		nomes.set(1200, "beto");
+
+		mockMvc.perform(post("/usuario_service/exists").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(nomes)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", containsInAnyOrder("ana", "beto")));
+	}
+
+	@Test
+	void aceitaERespondeEmSmile() throws Exception {
+		ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+		byte[] resposta = mockMvc.perform(post("/usuario_service/exists").contentType(SMILE).accept(SMILE)
+						.content(smile.writeValueAsBytes(List.of("ana", "inexistente"))))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(SMILE))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertThat(smile.readValue(resposta, String[].class)).containsExactly("ana");
+	}
+
+	@Test
+	void consultaAcimaDoLimiteEhRecusada() throws Exception {
+		List<String> nomes = IntStream.range(0, 5001).mapToObj(i -> "nome-" + i).toList();
+
+		mockMvc.perform(post("/usuario_service/exists").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(nomes)))
+				.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,46 @@
+package br.com.memelandia.usuario_service.service;
+
+import br.com.memelandia.usuario_service.domain.Usuario;
+import br.com.memelandia.usuario_service.repositories.UsuarioRepository;
+import br.com.memelandia.comum.outbox.EventoPendente;
+import br.com.memelandia.comum.outbox.EventoPendenteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "memelandia.outbox.intervalo=1h")
+class RemocaoUsuarioTests {
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private EventoPendenteRepository eventoPendenteRepository;
+
+	@BeforeEach
+	void limpar() {
+		usuarioRepository.deleteAllInBatch();
+		eventoPendenteRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void remocaoPorNomeInexistenteNaoGravaEvento() {
+		usuarioRepository.save(new Usuario(null, "ana", "ana@memes.com", LocalDate.now()));
+
+		assertThat(usuarioService.deletarUsuarioPorNome("outra")).isFalse();
+		assertThat(eventoPendenteRepository.count()).isZero();
+
+		assertThat(usuarioService.deletarUsuarioPorNome("ana")).isTrue();
+		assertThat(usuarioService.buscarUsuarioPorNome("ana")).isEmpty();
+		assertThat(eventoPendenteRepository.findAll()).extracting(EventoPendente::getChave).containsExactly("ana");
+	}
+
+}